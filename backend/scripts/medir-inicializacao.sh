@@ -0,0 +1,70 @@
+#!/usr/bin/env bash
+# Mede a inicializacao da API em cada modo de build disponivel em target/:
+#   jvm     java -jar target/calculadora-emprestimo.jar              (./mvnw package)
+#   cds     jar extraido com Spring AOT e arquivo CDS em target/cds  (./mvnw -Pcds package)
+#   nativo  imagem nativa target/calculadora-emprestimo             (./mvnw -Pnative native:compile)
+# Para cada modo, sobe a aplicacao, dispara POST /calcular ate a primeira resposta 200 e reporta o tempo
+# ate essa resposta e a memoria residente (RSS) do processo naquele momento.
+#
+# Uso: scripts/medir-inicializacao.sh [execucoes por modo (padrao 5)] [porta (padrao 18080)]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+EXECUCOES="${1:-5}"
+PORTA="${2:-18080}"
+URL="http://localhost:${PORTA}/api/calculadora-emprestimo/calcular"
+CORPO='{"dataInicial":"2024-01-01","dataFinal":"2034-01-01","primeiroPagamento":"2024-02-01","valorEmprestimo":100000,"taxaJuros":12.5}'
+ARGUMENTOS=(--server.port="${PORTA}" --spring.main.banner-mode=off --logging.level.root=warn)
+
+agora_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+medir() {
+    local modo="$1"; shift
+    local total_ms=0 total_rss=0
+    for ((i = 1; i <= EXECUCOES; i++)); do
+        local inicio pid status="" ms rss
+        inicio=$(agora_ms)
+        "$@" "${ARGUMENTOS[@]}" > /dev/null 2>&1 &
+        pid=$!
+        until [ "${status}" = "200" ]; do
+            if ! kill -0 "${pid}" 2> /dev/null; then
+                echo "${modo}: a aplicacao terminou antes de responder" >&2
+                return 1
+            fi
+            status=$(curl -s -o /dev/null -w '%{http_code}' -H 'Content-Type: application/json' \
+                -d "${CORPO}" "${URL}" || true)
+            [ "${status}" = "200" ] || sleep 0.01
+        done
+        ms=$(( $(agora_ms) - inicio ))
+        rss=$(ps -o rss= -p "${pid}" | tr -d ' ')
+        kill "${pid}"
+        wait "${pid}" 2> /dev/null || true
+        total_ms=$(( total_ms + ms ))
+        total_rss=$(( total_rss + rss ))
+        printf '%-7s execucao %d: primeira resposta em %5d ms, RSS %6d MB\n' "${modo}" "${i}" "${ms}" $(( rss / 1024 ))
+    done
+    printf '%-7s media:      primeira resposta em %5d ms, RSS %6d MB\n\n' "${modo}" \
+        $(( total_ms / EXECUCOES )) $(( total_rss / EXECUCOES / 1024 ))
+}
+
+if [ -f target/calculadora-emprestimo.jar ]; then
+    medir jvm java -jar target/calculadora-emprestimo.jar
+else
+    echo "jvm: target/calculadora-emprestimo.jar nao encontrado (./mvnw package)"
+fi
+
+if [ -f target/cds/application.jsa ]; then
+    # O arquivo CDS so vale para o mesmo classpath do treino, por isso roda de dentro de target/cds.
+    (cd target/cds && medir cds java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+        -jar calculadora-emprestimo.jar)
+else
+    echo "cds: target/cds/application.jsa nao encontrado (./mvnw -Pcds package)"
+fi
+
+if [ -x target/calculadora-emprestimo ]; then
+    medir nativo target/calculadora-emprestimo
+else
+    echo "nativo: target/calculadora-emprestimo nao encontrado (./mvnw -Pnative native:compile)"
+fi
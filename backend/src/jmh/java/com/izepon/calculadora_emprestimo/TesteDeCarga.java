@@ -0,0 +1,190 @@
+package com.izepon.calculadora_emprestimo;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.ClassUtils;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga local: sobe a aplicação num servidor embarcado em porta aleatória, uma vez para cada modo
+ * disponível, e dispara simulações com muitos clientes simultâneos. Ao final de cada modo imprime a vazão,
+ * os percentis de latência e o pico de threads da JVM.
+ * <p>
+ * Modos: {@code plataforma} (Tomcat com o pool padrão), {@code virtual} (threads virtuais, só em Java 21+) e
+ * {@code reativo} (WebFlux sobre Netty, só quando compilado também com o perfil {@code webflux}).
+ * <p>
+ * Parâmetros (propriedades de sistema): {@code carga.clientes} (padrão 1000), {@code carga.segundos}
+ * (padrão 20), {@code carga.aquecimento} (padrão 5), {@code carga.prazo} em meses (padrão 120) e
+ * {@code carga.pausa} em milissegundos (padrão 0). Com pausa, cada cliente usa o {@code /calcular/stream}
+ * e lê a resposta devagar, 8 KB por vez com a pausa entre as leituras, simulando clientes lentos.
+ * O cache de simulações fica desligado para que toda requisição passe pelo motor de cálculo.
+ */
+public final class TesteDeCarga {
+
+    private static final String CAMINHO = "/api/calculadora-emprestimo/calcular";
+    private static final String CAMINHO_STREAM = "/api/calculadora-emprestimo/calcular/stream";
+    private static final int BLOCO_LEITURA_LENTA = 8 * 1024;
+
+    private TesteDeCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clientes = Integer.getInteger("carga.clientes", 1000);
+        int segundos = Integer.getInteger("carga.segundos", 20);
+        int aquecimento = Integer.getInteger("carga.aquecimento", 5);
+        int prazo = Integer.getInteger("carga.prazo", 120);
+        int pausa = Integer.getInteger("carga.pausa", 0);
+
+        executar("plataforma", clientes, segundos, aquecimento, prazo, pausa,
+                "--spring.main.web-application-type=servlet", "--spring.threads.virtual.enabled=false");
+        if (Runtime.version().feature() >= 21) {
+            executar("virtual", clientes, segundos, aquecimento, prazo, pausa,
+                    "--spring.main.web-application-type=servlet", "--spring.threads.virtual.enabled=true");
+        } else {
+            System.out.println("Modo virtual ignorado: requer Java 21 ou superior (atual: " + Runtime.version() + ").");
+        }
+        if (ClassUtils.isPresent("org.springframework.web.reactive.DispatcherHandler", null)) {
+            executar("reativo", clientes, segundos, aquecimento, prazo, pausa,
+                    "--spring.main.web-application-type=reactive");
+        } else {
+            System.out.println("Modo reativo ignorado: compile também com o perfil webflux.");
+        }
+    }
+
+    private static void executar(String modo, int clientes, int segundos, int aquecimento, int prazo, int pausa,
+                                 String... argumentos) throws Exception {
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(CalculadoraEmprestimoApplication.class)
+                .properties(
+                        "server.port=0",
+                        "calculadora.cache.simulacao.habilitado=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=warn")
+                .run(argumentos)) {
+            int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + porta + (pausa > 0 ? CAMINHO_STREAM : CAMINHO));
+
+            disparar(uri, clientes, aquecimento, prazo, pausa);
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            Resultado resultado = disparar(uri, clientes, segundos, prazo, pausa);
+            System.out.printf("%-10s clientes=%d  vazao=%.1f req/s  erros=%d  p50=%.1f ms  p99=%.1f ms  p999=%.1f ms  max=%.1f ms  pico de threads=%d%n",
+                    modo, clientes, resultado.respostas() / (double) segundos, resultado.erros(),
+                    resultado.percentil(0.50), resultado.percentil(0.99), resultado.percentil(0.999),
+                    resultado.percentil(1.0), threads.getPeakThreadCount());
+        }
+    }
+
+    private static Resultado disparar(URI uri, int clientes, int segundos, int prazo, int pausa) throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos);
+        ExecutorService executor = Executors.newFixedThreadPool(clientes);
+        try {
+            List<Future<Resultado>> tarefas = new ArrayList<>(clientes);
+            for (int i = 0; i < clientes; i++) {
+                int cliente = i;
+                tarefas.add(executor.submit(() -> cliente(http, uri, cliente, prazo, pausa, fim)));
+            }
+            List<Resultado> resultados = new ArrayList<>(clientes);
+            for (Future<Resultado> tarefa : tarefas) {
+                resultados.add(tarefa.get());
+            }
+            return Resultado.juntar(resultados);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Resultado cliente(HttpClient http, URI uri, int cliente, int prazo, int pausa, long fim) {
+        long[] latencias = new long[1024];
+        int respostas = 0;
+        int erros = 0;
+        LocalDate dataInicial = LocalDate.of(2024, 1, 1).plusDays(cliente % 28);
+        HttpRequest requisicao = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo(dataInicial, prazo, cliente)))
+                .build();
+        while (System.nanoTime() < fim) {
+            long inicio = System.nanoTime();
+            try {
+                HttpResponse<InputStream> resposta = http.send(requisicao, HttpResponse.BodyHandlers.ofInputStream());
+                boolean ok = resposta.statusCode() == 200;
+                ler(resposta.body(), pausa);
+                if (!ok) {
+                    erros++;
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                erros++;
+                continue;
+            }
+            if (respostas == latencias.length) {
+                latencias = Arrays.copyOf(latencias, latencias.length * 2);
+            }
+            latencias[respostas++] = System.nanoTime() - inicio;
+        }
+        return new Resultado(Arrays.copyOf(latencias, respostas), respostas, erros);
+    }
+
+    private static void ler(InputStream corpo, int pausa) throws Exception {
+        try (corpo) {
+            byte[] bloco = new byte[BLOCO_LEITURA_LENTA];
+            while (corpo.readNBytes(bloco, 0, bloco.length) > 0) {
+                if (pausa > 0) {
+                    Thread.sleep(pausa);
+                }
+            }
+        }
+    }
+
+    private static String corpo(LocalDate dataInicial, int prazo, int cliente) {
+        return "{\"dataInicial\":\"" + dataInicial
+                + "\",\"dataFinal\":\"" + dataInicial.plusMonths(prazo)
+                + "\",\"primeiroPagamento\":\"" + dataInicial.plusMonths(1)
+                + "\",\"valorEmprestimo\":" + (100000 + cliente)
+                + ",\"taxaJuros\":12.5}";
+    }
+
+    private record Resultado(long[] latencias, long respostas, long erros) {
+
+        /**
+         * Junta os resultados dos clientes, com as latências já ordenadas para o cálculo dos percentis.
+         */
+        static Resultado juntar(List<Resultado> resultados) {
+            long[] todas = resultados.stream().flatMapToLong(r -> Arrays.stream(r.latencias)).sorted().toArray();
+            return new Resultado(todas,
+                    resultados.stream().mapToLong(Resultado::respostas).sum(),
+                    resultados.stream().mapToLong(Resultado::erros).sum());
+        }
+
+        double percentil(double p) {
+            if (latencias.length == 0) {
+                return Double.NaN;
+            }
+            int indice = (int) Math.ceil(p * latencias.length) - 1;
+            return latencias[Math.max(indice, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.izepon.calculadora_emprestimo.dto;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.izepon.calculadora_emprestimo.service.impl.CalculadoraEmprestimoServiceImpl;
+import com.izepon.calculadora_emprestimo.service.impl.ExecutorLoteSimulacao;
+import com.izepon.calculadora_emprestimo.service.impl.FatorJurosCache;
+import com.izepon.calculadora_emprestimo.service.impl.LinhaDoTempoCache;
+import com.izepon.calculadora_emprestimo.service.impl.MetricasSimulacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Custo de escrever a resposta do {@code /calcular} (360 parcelas) em cada formato negociável, com e sem gzip.
+ * O tempo por operação é a CPU de serialização; os bytes de cada combinação são impressos no início do trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatoRespostaBenchmark {
+
+    @Param({"json", "smile", "cbor", "binario"})
+    private String formato;
+
+    @Param({"nenhuma", "gzip"})
+    private String compressao;
+
+    private List<SimulacaoResponse> linhas;
+    private ObjectWriter writer;
+    private ByteArrayOutputStream saida;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        ExecutorLoteSimulacao executorLote = new ExecutorLoteSimulacao(1, 1);
+        try {
+            CalculadoraEmprestimoServiceImpl service = new CalculadoraEmprestimoServiceImpl(
+                    new FatorJurosCache(16), new LinhaDoTempoCache(1024), executorLote,
+                    new MetricasSimulacao(new SimpleMeterRegistry()));
+            LocalDate dataInicial = LocalDate.of(2024, 1, 15);
+            linhas = service.calcular(new SimulacaoRequest(
+                    dataInicial,
+                    dataInicial.plusMonths(360),
+                    dataInicial.plusMonths(1),
+                    new BigDecimal("150000.00"),
+                    new BigDecimal("12.5")));
+        } finally {
+            executorLote.encerrar();
+        }
+        writer = switch (formato) {
+            case "json" -> mapper(new JsonFactory());
+            case "smile" -> mapper(new SmileFactory());
+            case "cbor" -> mapper(new CBORFactory());
+            default -> null;
+        };
+        saida = new ByteArrayOutputStream(256 * 1024);
+        escrever();
+        System.out.printf("%n%s/%s: %d linhas em %d bytes%n", formato, compressao, linhas.size(), saida.size());
+    }
+
+    @Benchmark
+    public int escrever() throws IOException {
+        saida.reset();
+        OutputStream destino = "gzip".equals(compressao) ? new GZIPOutputStream(saida, 8 * 1024) : saida;
+        if (writer == null) {
+            CronogramaBinario.escrever(linhas, destino);
+        } else {
+            writer.writeValue(destino, linhas);
+        }
+        destino.close();
+        return saida.size();
+    }
+
+    private static ObjectWriter mapper(JsonFactory factory) {
+        return new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writer();
+    }
+}
@@ -0,0 +1,82 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.service.CalculadoraEmprestimoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência que o arquivo de simulações acrescenta ao {@code /calcular}: o {@code calcular} de 120 meses sozinho e
+ * seguido do {@code registrar}, em tempo amostrado para comparar os percentis (p99 e p99,9), com quatro threads
+ * entregando ao mesmo escritor. O escritor grava e faz {@code fsync} num diretório temporário durante a medição,
+ * com a política de descarte para que um disco lento apareça na métrica e não como erro no benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class ArquivoSimulacoesBenchmark {
+
+    private ExecutorLoteSimulacao executorLote;
+    private CalculadoraEmprestimoService service;
+    private ArquivoSimulacoesServiceImpl arquivo;
+    private Path diretorio;
+    private SimulacaoRequest request;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        executorLote = new ExecutorLoteSimulacao(1, 1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        service = new CalculadoraEmprestimoServiceImpl(new FatorJurosCache(1024), new LinhaDoTempoCache(1024),
+                executorLote, new MetricasSimulacao(registry));
+        diretorio = Files.createTempDirectory("arquivo-simulacoes");
+        arquivo = new ArquivoSimulacoesServiceImpl(true, diretorio, 1024, 512, DataSize.ofMegabytes(256),
+                ArquivoSimulacoesServiceImpl.Sobrecarga.DESCARTAR, registry);
+        LocalDate dataInicial = LocalDate.of(2024, 1, 15);
+        request = new SimulacaoRequest(dataInicial, dataInicial.plusMonths(120), dataInicial.plusMonths(1),
+                new BigDecimal("150000.00"), new BigDecimal("12.5"));
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws IOException, InterruptedException {
+        arquivo.encerrar();
+        executorLote.encerrar();
+        FileSystemUtils.deleteRecursively(diretorio);
+    }
+
+    @Benchmark
+    public List<SimulacaoResponse> calcular() {
+        return service.calcular(request);
+    }
+
+    @Benchmark
+    public long calcularERegistrar() {
+        return arquivo.registrar(request, service.calcular(request));
+    }
+}
@@ -0,0 +1,90 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResumo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Linha de base do motor de cálculo: {@code calcular} de ponta a ponta para prazos curtos e longos
+ * (motor {@code BigDecimal} e motor em centavos), e o resumo somado direto do gerador comparado ao resumo
+ * derivado do cronograma completo. A geração de datas isolada fica em {@link LinhaDoTempoBenchmark}.
+ * Rodar com o perfil {@code benchmark} do pom, que já inclui o profiler de GC para reportar a taxa de alocação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculadoraEmprestimoBenchmark {
+
+    @Param({"3", "12", "120", "360", "600"})
+    private int prazoEmMeses;
+
+    private ExecutorLoteSimulacao executorLote;
+    private CalculadoraEmprestimoServiceImpl service;
+    private CalculadoraEmprestimoServiceCentavosImpl serviceCentavos;
+    private SimulacaoRequest request;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        FatorJurosCache fatorJurosCache = new FatorJurosCache(1024);
+        LinhaDoTempoCache linhaDoTempoCache = new LinhaDoTempoCache(4096);
+        executorLote = new ExecutorLoteSimulacao(1, 1);
+        MetricasSimulacao metricas = new MetricasSimulacao(new SimpleMeterRegistry());
+        service = new CalculadoraEmprestimoServiceImpl(fatorJurosCache, linhaDoTempoCache, executorLote, metricas);
+        serviceCentavos = new CalculadoraEmprestimoServiceCentavosImpl(fatorJurosCache, linhaDoTempoCache, executorLote,
+                service, metricas);
+        LocalDate dataInicial = LocalDate.of(2024, 1, 15);
+        request = new SimulacaoRequest(
+                dataInicial,
+                dataInicial.plusMonths(prazoEmMeses),
+                dataInicial.plusMonths(1),
+                new BigDecimal("150000.00"),
+                new BigDecimal("12.5"));
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        executorLote.encerrar();
+    }
+
+    @Benchmark
+    public List<SimulacaoResponse> calcular() {
+        return service.calcular(request);
+    }
+
+    @Benchmark
+    public List<SimulacaoResponse> calcularEmCentavos() {
+        return serviceCentavos.calcular(request);
+    }
+
+    @Benchmark
+    public SimulacaoResumo calcularResumo() {
+        return service.calcularResumo(request);
+    }
+
+    @Benchmark
+    public SimulacaoResumo calcularResumoPeloCronograma() {
+        return SimulacaoResumo.de(service.calcular(request));
+    }
+}
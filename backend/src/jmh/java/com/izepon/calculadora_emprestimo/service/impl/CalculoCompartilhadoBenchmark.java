@@ -0,0 +1,82 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResumo;
+import com.izepon.calculadora_emprestimo.service.CalculadoraEmprestimoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Oito threads pedindo sem parar a mesma oferta de 360 meses, sem cache: cada uma calculando o seu cronograma
+ * (ou resumo) e pelo {@link CalculoCompartilhadoService}, em que as que chegam durante um cálculo esperam o
+ * resultado dele.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class CalculoCompartilhadoBenchmark {
+
+    private ExecutorLoteSimulacao executorLote;
+    private CalculadoraEmprestimoService motor;
+    private CalculoCompartilhadoService compartilhado;
+    private SimulacaoRequest request;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        executorLote = new ExecutorLoteSimulacao(1, 1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        motor = new CalculadoraEmprestimoServiceImpl(new FatorJurosCache(1024), new LinhaDoTempoCache(1024),
+                executorLote, new MetricasSimulacao(registry));
+        compartilhado = new CalculoCompartilhadoService(motor, registry, true);
+        LocalDate dataInicial = LocalDate.of(2024, 1, 15);
+        request = new SimulacaoRequest(dataInicial, dataInicial.plusMonths(360), dataInicial.plusMonths(1),
+                new BigDecimal("150000.00"), new BigDecimal("12.5"));
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        executorLote.encerrar();
+    }
+
+    @Benchmark
+    public List<SimulacaoResponse> independente() {
+        return motor.calcular(request);
+    }
+
+    @Benchmark
+    public List<SimulacaoResponse> compartilhado() {
+        return compartilhado.calcular(request);
+    }
+
+    @Benchmark
+    public SimulacaoResumo resumoIndependente() {
+        return motor.calcularResumo(request);
+    }
+
+    @Benchmark
+    public SimulacaoResumo resumoCompartilhado() {
+        return compartilhado.calcularResumo(request);
+    }
+}
@@ -0,0 +1,89 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.CenariosRequest;
+import com.izepon.calculadora_emprestimo.dto.CenariosResponse;
+import com.izepon.calculadora_emprestimo.dto.MetricaCenario;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grade de 50 taxas × 40 datas finais (2.000 cenários, prazos de 12 a 90 meses): pela grade de cenários e
+ * por 2.000 chamadas ao resumo, uma por célula. As duas versões rodam com uma thread para comparar só o
+ * trabalho compartilhado entre as células, não o paralelismo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CenariosBenchmark {
+
+    private ExecutorLoteSimulacao executorLote;
+    private CalculadoraEmprestimoServiceImpl service;
+    private CenariosServiceImpl cenarios;
+    private CenariosRequest request;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        FatorJurosCache fatorJurosCache = new FatorJurosCache(1024);
+        LinhaDoTempoCache linhaDoTempoCache = new LinhaDoTempoCache(4096);
+        executorLote = new ExecutorLoteSimulacao(1, 1);
+        MetricasSimulacao metricas = new MetricasSimulacao(new SimpleMeterRegistry());
+        service = new CalculadoraEmprestimoServiceImpl(fatorJurosCache, linhaDoTempoCache, executorLote, metricas);
+        cenarios = new CenariosServiceImpl(fatorJurosCache, linhaDoTempoCache, executorLote, metricas, 10_000);
+        LocalDate dataInicial = LocalDate.of(2024, 1, 15);
+        List<BigDecimal> taxas = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            taxas.add(BigDecimal.valueOf(600 + i * 25L, 2));
+        }
+        List<LocalDate> datas = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            datas.add(dataInicial.plusMonths(12 + i * 2L));
+        }
+        request = new CenariosRequest(
+                new SimulacaoRequest(dataInicial, datas.get(0), dataInicial.plusMonths(1),
+                        new BigDecimal("150000.00"), taxas.get(0)),
+                taxas, datas, List.of(MetricaCenario.PRIMEIRA_PARCELA, MetricaCenario.TOTAL_JUROS));
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        executorLote.encerrar();
+    }
+
+    @Benchmark
+    public CenariosResponse grade() {
+        return cenarios.calcular(request);
+    }
+
+    @Benchmark
+    public void resumoPorCelula(Blackhole blackhole) {
+        SimulacaoRequest base = request.simulacao();
+        for (BigDecimal taxa : request.taxasJuros()) {
+            for (LocalDate dataFinal : request.datasFinais()) {
+                blackhole.consume(service.calcularResumo(new SimulacaoRequest(
+                        base.dataInicial(), dataFinal, base.primeiroPagamento(), base.valorEmprestimo(), taxa)));
+            }
+        }
+    }
+}
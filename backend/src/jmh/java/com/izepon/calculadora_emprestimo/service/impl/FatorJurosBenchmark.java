@@ -0,0 +1,82 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fatores de juros pelo caminho antigo, {@code BigDecimal.valueOf(Math.pow(...))}, e pela
+ * {@link PotenciaFracionaria}, que calcula a raiz uma vez e arredonda cada potência exatamente em 18 casas.
+ * {@code tabela*} preenche a tabela de uma taxa nova (0 a 31 dias), com a taxa mudando a cada chamada para que
+ * nada seja reaproveitado; {@code foraDaTabela*} é um fator de 45 dias de uma taxa já conhecida, que o cache
+ * calcula a cada consulta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FatorJurosBenchmark {
+
+    private static final int TAXAS = 1024;
+
+    private final BigDecimal[] bases = new BigDecimal[TAXAS];
+    private int proxima;
+    private double baseConhecida;
+    private PotenciaFracionaria potenciaConhecida;
+
+    @Setup
+    public void preparar() {
+        for (int i = 0; i < TAXAS; i++) {
+            bases[i] = BigDecimal.ONE.add(new BigDecimal("0.0050").add(BigDecimal.valueOf(i, 4)));
+        }
+        baseConhecida = bases[0].doubleValue();
+        potenciaConhecida = new PotenciaFracionaria(bases[0], 360, FatorJurosCache.ESCALA_PADRAO);
+    }
+
+    @Benchmark
+    public BigDecimal[] tabelaMathPow() {
+        double base = proximaBase().doubleValue();
+        BigDecimal[] fatores = new BigDecimal[FatorJurosCache.MAIOR_PERIODO_EM_DIAS + 1];
+        for (int dias = 0; dias < fatores.length; dias++) {
+            fatores[dias] = BigDecimal.valueOf(Math.pow(base, (double) dias / 360));
+        }
+        return fatores;
+    }
+
+    @Benchmark
+    public BigDecimal[] tabelaExata() {
+        PotenciaFracionaria potencia = new PotenciaFracionaria(proximaBase(), 360, FatorJurosCache.ESCALA_PADRAO);
+        BigDecimal[] fatores = new BigDecimal[FatorJurosCache.MAIOR_PERIODO_EM_DIAS + 1];
+        for (int dias = 0; dias < fatores.length; dias++) {
+            fatores[dias] = potencia.elevar(dias);
+        }
+        return fatores;
+    }
+
+    @Benchmark
+    public BigDecimal foraDaTabelaMathPow() {
+        return BigDecimal.valueOf(Math.pow(baseConhecida, 45.0 / 360));
+    }
+
+    @Benchmark
+    public BigDecimal foraDaTabelaExata() {
+        return potenciaConhecida.elevar(45);
+    }
+
+    private BigDecimal proximaBase() {
+        proxima = (proxima + 1) & (TAXAS - 1);
+        return bases[proxima];
+    }
+}
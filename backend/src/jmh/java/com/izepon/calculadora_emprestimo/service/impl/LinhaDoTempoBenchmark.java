@@ -0,0 +1,61 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração da {@link LinhaDoTempo} isolada, em tempo médio por operação: com a passada única, o tempo
+ * deve crescer na mesma proporção do prazo (cerca de 50x entre 12 e 600 meses). {@code obterDoCache} é a
+ * consulta ao {@link LinhaDoTempoCache} quando as datas já estão nele, que não deve depender do prazo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinhaDoTempoBenchmark {
+
+    @Param({"12", "60", "120", "360", "600"})
+    private int prazoEmMeses;
+
+    private LocalDate dataInicial;
+    private LocalDate primeiroPagamento;
+    private LocalDate dataFinal;
+    private LinhaDoTempoCache cache;
+    private SimulacaoRequest request;
+
+    @Setup
+    public void preparar() {
+        dataInicial = LocalDate.of(2024, 1, 15);
+        primeiroPagamento = dataInicial.plusMonths(1);
+        dataFinal = dataInicial.plusMonths(prazoEmMeses);
+        cache = new LinhaDoTempoCache(16);
+        request = new SimulacaoRequest(dataInicial, dataFinal, primeiroPagamento,
+                new BigDecimal("150000.00"), new BigDecimal("12.5"));
+    }
+
+    @Benchmark
+    public LinhaDoTempo gerar() {
+        return LinhaDoTempo.gerar(dataInicial, primeiroPagamento, dataFinal);
+    }
+
+    @Benchmark
+    public LinhaDoTempo obterDoCache() {
+        return cache.obter(request);
+    }
+}
@@ -0,0 +1,78 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.service.CalculadoraEmprestimoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do registro de latência: {@code calcular} de 12 meses com e sem o {@link MedicaoLatenciaService} em volta,
+ * e o {@code registrar} isolado. Tudo com quatro threads, para que as gravações concorram entre si como no servidor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class RegistroLatenciaBenchmark {
+
+    private static final long[] ETAPAS = {1_000, 2_000, 30_000};
+
+    private ExecutorLoteSimulacao executorLote;
+    private CalculadoraEmprestimoService semRegistro;
+    private CalculadoraEmprestimoService comRegistro;
+    private RegistroLatencia registro;
+    private SimulacaoRequest request;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        executorLote = new ExecutorLoteSimulacao(1, 1);
+        semRegistro = new CalculadoraEmprestimoServiceImpl(new FatorJurosCache(1024), new LinhaDoTempoCache(1024),
+                executorLote, new MetricasSimulacao(new SimpleMeterRegistry()));
+        registro = new RegistroLatencia(20, false);
+        comRegistro = new MedicaoLatenciaService(semRegistro, registro);
+        LocalDate dataInicial = LocalDate.of(2024, 1, 15);
+        request = new SimulacaoRequest(dataInicial, dataInicial.plusMonths(12), dataInicial.plusMonths(1),
+                new BigDecimal("150000.00"), new BigDecimal("12.5"));
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        executorLote.encerrar();
+    }
+
+    @Benchmark
+    public List<SimulacaoResponse> calcularSemRegistro() {
+        return semRegistro.calcular(request);
+    }
+
+    @Benchmark
+    public List<SimulacaoResponse> calcularComRegistro() {
+        return comRegistro.calcular(request);
+    }
+
+    @Benchmark
+    public void registrar() {
+        registro.registrar(request, 50_000, ETAPAS);
+    }
+}
@@ -0,0 +1,76 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResumo;
+import com.izepon.calculadora_emprestimo.dto.SistemaAmortizacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Os sistemas de amortização sobre o mesmo laço de datas e juros: o SAC é a referência, e o Price paga a mais
+ * só o planejamento da parcela fixa, uma passada pelas datas antes do cronograma.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SistemaAmortizacaoBenchmark {
+
+    @Param({"SAC", "PRICE", "BULLET"})
+    private SistemaAmortizacao sistema;
+
+    @Param({"12", "120", "360"})
+    private int prazoEmMeses;
+
+    private ExecutorLoteSimulacao executorLote;
+    private CalculadoraEmprestimoServiceCentavosImpl service;
+    private SimulacaoRequest request;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        FatorJurosCache fatorJurosCache = new FatorJurosCache(1024);
+        LinhaDoTempoCache linhaDoTempoCache = new LinhaDoTempoCache(4096);
+        executorLote = new ExecutorLoteSimulacao(1, 1);
+        MetricasSimulacao metricas = new MetricasSimulacao(new SimpleMeterRegistry());
+        service = new CalculadoraEmprestimoServiceCentavosImpl(fatorJurosCache, linhaDoTempoCache, executorLote,
+                new CalculadoraEmprestimoServiceImpl(fatorJurosCache, linhaDoTempoCache, executorLote, metricas), metricas);
+        LocalDate dataInicial = LocalDate.of(2024, 1, 15);
+        request = new SimulacaoRequest(dataInicial, dataInicial.plusMonths(prazoEmMeses), dataInicial.plusMonths(1),
+                new BigDecimal("150000.00"), new BigDecimal("12.5"), sistema);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        executorLote.encerrar();
+    }
+
+    @Benchmark
+    public List<SimulacaoResponse> calcular() {
+        return service.calcular(request);
+    }
+
+    @Benchmark
+    public SimulacaoResumo calcularResumo() {
+        return service.calcularResumo(request);
+    }
+}
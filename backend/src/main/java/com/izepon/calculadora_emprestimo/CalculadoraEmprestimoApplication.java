@@ -1,9 +1,12 @@
 package com.izepon.calculadora_emprestimo;
 
+import com.izepon.calculadora_emprestimo.config.HintsNativos;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(HintsNativos.class)
 public class CalculadoraEmprestimoApplication {
 
 	public static void main(String[] args) {
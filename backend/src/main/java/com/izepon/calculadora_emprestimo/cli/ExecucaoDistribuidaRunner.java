@@ -0,0 +1,69 @@
+package com.izepon.calculadora_emprestimo.cli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.izepon.calculadora_emprestimo.dto.CarteiraResponse;
+import com.izepon.calculadora_emprestimo.dto.DesempenhoNo;
+import com.izepon.calculadora_emprestimo.dto.ResultadoExecucaoDistribuida;
+import com.izepon.calculadora_emprestimo.service.ExecucaoDistribuidaService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Coordenador da execução distribuída, ativo quando {@code calculadora.distribuido.entrada} é informada:
+ * <pre>
+ * java -jar calculadora-emprestimo.jar --spring.main.web-application-type=none \
+ *      --calculadora.distribuido.entrada=contratos.bin \
+ *      --calculadora.distribuido.nos=http://localhost:8081,http://localhost:8082
+ * </pre>
+ * A entrada é a mesma do processamento em massa (um {@code .csv} é convertido antes). Grava a carteira somada
+ * em {@code calculadora.distribuido.saida} e registra a vazão total e a de cada nó.
+ */
+@Component
+@ConditionalOnProperty("calculadora.distribuido.entrada")
+public class ExecucaoDistribuidaRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecucaoDistribuidaRunner.class);
+
+    private final ExecucaoDistribuidaService service;
+    private final ObjectWriter writer;
+    private final Path entrada;
+    private final List<URI> nos;
+    private final Path saida;
+
+    public ExecucaoDistribuidaRunner(ExecucaoDistribuidaService service, ObjectMapper objectMapper,
+                                     @Value("${calculadora.distribuido.entrada}") Path entrada,
+                                     @Value("${calculadora.distribuido.nos}") String[] nos,
+                                     @Value("${calculadora.distribuido.saida:carteira.json}") Path saida) {
+        this.service = service;
+        this.writer = objectMapper.writerFor(CarteiraResponse.class).withDefaultPrettyPrinter();
+        this.entrada = entrada;
+        this.nos = Arrays.stream(nos).map(String::strip).filter(no -> !no.isEmpty()).map(URI::create).toList();
+        this.saida = saida;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        ResultadoExecucaoDistribuida resultado = service.executar(ProcessamentoEmMassaRunner.binario(entrada), nos);
+        writer.writeValue(saida.toFile(), resultado.carteira());
+        log.info("Execução distribuída concluída em {} ms: {} contratos ({} recusados) em {} shards, {} reenvios, "
+                        + "{} contratos/s; carteira em {}",
+                resultado.duracao().toMillis(), resultado.carteira().contratos(), resultado.carteira().falhas(),
+                resultado.shards(), resultado.reenvios(), String.format("%.0f", resultado.contratosPorSegundo()), saida);
+        for (DesempenhoNo no : resultado.nos()) {
+            log.info("Nó {}: {} shards, {} contratos, {} falhas{}, {} contratos/s", no.endereco(), no.shards(),
+                    no.contratos(), no.falhas(), no.descartado() ? " (descartado)" : "",
+                    String.format("%.0f", no.contratosPorSegundo()));
+        }
+    }
+}
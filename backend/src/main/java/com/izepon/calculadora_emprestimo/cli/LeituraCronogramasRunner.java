@@ -0,0 +1,50 @@
+package com.izepon.calculadora_emprestimo.cli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.izepon.calculadora_emprestimo.dto.Cronograma;
+import com.izepon.calculadora_emprestimo.service.impl.ArquivoCronogramas;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * Utilitário de leitura dos arquivos do processamento em massa, ativo quando {@code calculadora.massa.ler} é
+ * informada: escreve na saída padrão um JSON por contrato ({@code id}, {@code falha} e {@code cronograma},
+ * este no mesmo formato do {@code /calcular}).
+ */
+@Component
+@ConditionalOnProperty("calculadora.massa.ler")
+public class LeituraCronogramasRunner implements ApplicationRunner {
+
+    record ContratoLido(long id, String falha, Cronograma cronograma) {}
+
+    private final Path arquivo;
+    private final ObjectWriter writer;
+
+    public LeituraCronogramasRunner(@Value("${calculadora.massa.ler}") Path arquivo, ObjectMapper objectMapper) {
+        this.arquivo = arquivo;
+        this.writer = objectMapper.writerFor(ContratoLido.class);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        OutputStream saida = new BufferedOutputStream(System.out);
+        try (ArquivoCronogramas.Leitor leitor = ArquivoCronogramas.Leitor.abrir(arquivo)) {
+            while (leitor.proximo()) {
+                ContratoLido contrato = leitor.falha() == null
+                        ? new ContratoLido(leitor.id(), null, leitor.cronograma())
+                        : new ContratoLido(leitor.id(), leitor.falha().name(), null);
+                saida.write(writer.writeValueAsBytes(contrato));
+                saida.write('\n');
+            }
+        }
+        saida.flush();
+    }
+}
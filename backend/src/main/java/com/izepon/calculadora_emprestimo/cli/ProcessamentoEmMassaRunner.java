@@ -0,0 +1,73 @@
+package com.izepon.calculadora_emprestimo.cli;
+
+import com.izepon.calculadora_emprestimo.dto.ResultadoProcessamentoEmMassa;
+import com.izepon.calculadora_emprestimo.service.ProcessamentoEmMassaService;
+import com.izepon.calculadora_emprestimo.service.impl.ArquivoContratos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Modo de linha de comando do processamento em massa, ativo quando {@code calculadora.massa.entrada} é informada:
+ * <pre>
+ * java -jar calculadora-emprestimo.jar --spring.main.web-application-type=none \
+ *      --calculadora.massa.entrada=contratos.bin --calculadora.massa.saida=cronogramas
+ * </pre>
+ * Uma entrada {@code .csv} é convertida antes para o formato binário, num {@code .bin} ao lado dela.
+ * Ao final, registra a vazão em contratos por segundo.
+ */
+@Component
+@ConditionalOnProperty("calculadora.massa.entrada")
+public class ProcessamentoEmMassaRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ProcessamentoEmMassaRunner.class);
+
+    private final ProcessamentoEmMassaService service;
+    private final Path entrada;
+    private final Path saida;
+    private final int particoes;
+
+    public ProcessamentoEmMassaRunner(ProcessamentoEmMassaService service,
+                                      @Value("${calculadora.massa.entrada}") Path entrada,
+                                      @Value("${calculadora.massa.saida:cronogramas}") Path saida,
+                                      @Value("${calculadora.massa.particoes:64}") int particoes) {
+        this.service = service;
+        this.entrada = entrada;
+        this.saida = saida;
+        this.particoes = particoes;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        ResultadoProcessamentoEmMassa resultado = service.processar(binario(entrada), saida, particoes);
+        log.info("Processamento em massa concluído em {} ms: {} contratos ({} recusados), {} linhas, "
+                        + "{} de {} partições reaproveitadas, {} contratos/s",
+                resultado.duracao().toMillis(), resultado.contratos(), resultado.falhas(), resultado.linhas(),
+                resultado.particoesReaproveitadas(), resultado.particoes(),
+                String.format("%.0f", resultado.contratosPorSegundo()));
+    }
+
+    /**
+     * O arquivo binário de contratos para {@code entrada}. Um {@code .csv} é convertido para um {@code .bin} ao
+     * lado dele, de novo só quando o CSV for mais recente que o binário.
+     */
+    static Path binario(Path entrada) throws IOException {
+        if (!entrada.getFileName().toString().endsWith(".csv")) {
+            return entrada;
+        }
+        Path binario = entrada.resolveSibling(entrada.getFileName().toString().replaceFirst("\\.csv$", ".bin"));
+        if (!Files.exists(binario) || Files.getLastModifiedTime(binario).compareTo(Files.getLastModifiedTime(entrada)) < 0) {
+            long convertidos = ArquivoContratos.converterCsv(entrada, binario);
+            log.info("{} contratos convertidos de {} para {}", convertidos, entrada, binario);
+        }
+        return binario;
+    }
+}
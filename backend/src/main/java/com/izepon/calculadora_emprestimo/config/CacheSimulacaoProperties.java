@@ -0,0 +1,14 @@
+package com.izepon.calculadora_emprestimo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties("calculadora.cache.simulacao")
+public record CacheSimulacaoProperties(
+        @DefaultValue("true") boolean habilitado,
+        @DefaultValue("64MB") DataSize memoriaMaxima,
+        @DefaultValue("10m") Duration ttl
+) {}
@@ -0,0 +1,29 @@
+package com.izepon.calculadora_emprestimo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Conversor CBOR ({@code application/cbor}) com a mesma medição do {@link ConversorJsonMedido}.
+ */
+class ConversorCborMedido extends MappingJackson2CborHttpMessageConverter {
+
+    private final Timer serializacao;
+
+    ConversorCborMedido(ObjectMapper objectMapper, Timer serializacao) {
+        super(objectMapper);
+        this.serializacao = serializacao;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        MedicaoSerializacao.medir(serializacao, object, () -> super.writeInternal(object, type, outputMessage));
+    }
+}
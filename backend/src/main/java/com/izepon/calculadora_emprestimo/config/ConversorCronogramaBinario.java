@@ -0,0 +1,82 @@
+package com.izepon.calculadora_emprestimo.config;
+
+import com.izepon.calculadora_emprestimo.dto.Cronograma;
+import com.izepon.calculadora_emprestimo.dto.CronogramaBinario;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Escreve cronogramas (listas de {@link SimulacaoResponse} ou {@link Cronograma}) no formato
+ * {@link CronogramaBinario}, quando o cliente pede {@value CronogramaBinario#MEDIA_TYPE} no {@code Accept}.
+ * Só escreve: as requisições continuam em JSON.
+ */
+class ConversorCronogramaBinario extends AbstractGenericHttpMessageConverter<Object> {
+
+    static final MediaType MEDIA_TYPE = MediaType.parseMediaType(CronogramaBinario.MEDIA_TYPE);
+
+    private final Timer serializacao;
+
+    ConversorCronogramaBinario(Timer serializacao) {
+        super(MEDIA_TYPE);
+        this.serializacao = serializacao;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Cronograma.class.isAssignableFrom(clazz) || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (type == null || Cronograma.class.equals(type)) {
+            return Cronograma.class.isAssignableFrom(clazz);
+        }
+        ResolvableType tipo = ResolvableType.forType(type);
+        return List.class.isAssignableFrom(tipo.toClass())
+                && SimulacaoResponse.class.equals(tipo.asCollection().resolveGeneric(0));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        MedicaoSerializacao.medir(serializacao, object, () -> {
+            if (object instanceof Cronograma cronograma) {
+                CronogramaBinario.escrever(cronograma, outputMessage.getBody());
+            } else {
+                CronogramaBinario.escrever((List<SimulacaoResponse>) object, outputMessage.getBody());
+            }
+        });
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Cronograma binário é só um formato de resposta.", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+            throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Cronograma binário é só um formato de resposta.", inputMessage);
+    }
+}
@@ -0,0 +1,30 @@
+package com.izepon.calculadora_emprestimo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Conversor JSON padrão que mede, no timer de serialização, a escrita das respostas da calculadora
+ * (listas de linhas, lotes e cronogramas em colunas). As demais respostas passam sem medição.
+ */
+class ConversorJsonMedido extends MappingJackson2HttpMessageConverter {
+
+    private final Timer serializacao;
+
+    ConversorJsonMedido(ObjectMapper objectMapper, Timer serializacao) {
+        super(objectMapper);
+        this.serializacao = serializacao;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        MedicaoSerializacao.medir(serializacao, object, () -> super.writeInternal(object, type, outputMessage));
+    }
+}
@@ -0,0 +1,30 @@
+package com.izepon.calculadora_emprestimo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Conversor Smile ({@code application/x-jackson-smile}, JSON binário) com a mesma medição do
+ * {@link ConversorJsonMedido}.
+ */
+class ConversorSmileMedido extends MappingJackson2SmileHttpMessageConverter {
+
+    private final Timer serializacao;
+
+    ConversorSmileMedido(ObjectMapper objectMapper, Timer serializacao) {
+        super(objectMapper);
+        this.serializacao = serializacao;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        MedicaoSerializacao.medir(serializacao, object, () -> super.writeInternal(object, type, outputMessage));
+    }
+}
@@ -0,0 +1,57 @@
+package com.izepon.calculadora_emprestimo.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.izepon.calculadora_emprestimo.service.impl.MetricasSimulacao;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Formatos binários de resposta, escolhidos pelo {@code Accept}: Smile, CBOR e o
+ * {@link com.izepon.calculadora_emprestimo.dto.CronogramaBinario cronograma binário}. Sem {@code Accept}
+ * (ou com {@code *}{@code /*}) a resposta continua em JSON.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class FormatosRespostaConfig {
+
+    /**
+     * Substitui o conversor Smile padrão por um com a configuração Jackson do Spring Boot e medição.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter mappingJackson2SmileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder, MetricasSimulacao metricas) {
+        return new ConversorSmileMedido(builder.factory(new SmileFactory()).build(), metricas.serializacao());
+    }
+
+    /**
+     * Substitui o conversor CBOR padrão por um com a configuração Jackson do Spring Boot e medição.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter mappingJackson2CborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder, MetricasSimulacao metricas) {
+        return new ConversorCborMedido(builder.factory(new CBORFactory()).build(), metricas.serializacao());
+    }
+
+    /**
+     * O conversor do cronograma binário entra no fim da lista, e não como bean: os beans de conversor vão para
+     * o início, e com {@code Accept: *}{@code /*} o primeiro formato capaz de escrever a resposta é o escolhido.
+     */
+    @Bean
+    public WebMvcConfigurer cronogramaBinarioConfigurer(MetricasSimulacao metricas) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.add(new ConversorCronogramaBinario(metricas.serializacao()));
+            }
+        };
+    }
+}
@@ -13,7 +13,7 @@ public class GatewayConfig {
         return new WebMvcConfigurer() {
             @Override
             public void addCorsMappings(CorsRegistry registry) {
-                registry.addMapping("/api/calculadora-emprestimo/calcular")
+                registry.addMapping("/api/calculadora-emprestimo/**")
                         .allowedMethods("POST", "OPTIONS")
                         .allowedHeaders("*")
                         .allowedOrigins("*");
@@ -0,0 +1,52 @@
+package com.izepon.calculadora_emprestimo.config;
+
+import com.izepon.calculadora_emprestimo.dto.CarteiraMesResponse;
+import com.izepon.calculadora_emprestimo.dto.CarteiraResponse;
+import com.izepon.calculadora_emprestimo.dto.CenariosRequest;
+import com.izepon.calculadora_emprestimo.dto.CenariosResponse;
+import com.izepon.calculadora_emprestimo.dto.Cronograma;
+import com.izepon.calculadora_emprestimo.dto.CronogramaSerializer;
+import com.izepon.calculadora_emprestimo.dto.EventoContrato;
+import com.izepon.calculadora_emprestimo.dto.MetricaCenario;
+import com.izepon.calculadora_emprestimo.dto.ResultadoProcessamentoEmMassa;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoEventosRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoLoteResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResumo;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Hints de reflexão para a imagem nativa (perfil {@code native}). O Spring AOT já registra os tipos de
+ * entrada e saída dos controllers, mas os DTOs também são lidos e escritos fora deles (NDJSON do
+ * {@code /calcular/stream} e da carteira, linha de comando do processamento em massa), por um
+ * {@code ObjectReader}/{@code ObjectWriter} criado direto do {@code ObjectMapper}.
+ */
+public class HintsNativos implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] DTOS = {
+            SimulacaoRequest.class,
+            SimulacaoResponse.class,
+            SimulacaoLoteResponse.class,
+            SimulacaoResumo.class,
+            SimulacaoEventosRequest.class,
+            EventoContrato.class,
+            CarteiraResponse.class,
+            CarteiraMesResponse.class,
+            CenariosRequest.class,
+            CenariosResponse.class,
+            MetricaCenario.class,
+            ResultadoProcessamentoEmMassa.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), DTOS);
+        // O Cronograma é escrito pelo serializador da anotação @JsonSerialize, instanciado pelo Jackson.
+        hints.reflection().registerType(Cronograma.class);
+        hints.reflection().registerType(CronogramaSerializer.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+    }
+}
@@ -0,0 +1,36 @@
+package com.izepon.calculadora_emprestimo.config;
+
+import com.izepon.calculadora_emprestimo.dto.Cronograma;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Medição comum aos conversores de resposta: só as respostas da calculadora (listas de linhas, lotes e
+ * cronogramas em colunas) entram no timer de serialização, independente do formato negociado.
+ */
+final class MedicaoSerializacao {
+
+    @FunctionalInterface
+    interface Escrita {
+        void escrever() throws IOException;
+    }
+
+    private MedicaoSerializacao() {
+    }
+
+    static void medir(Timer serializacao, Object objeto, Escrita escrita) throws IOException {
+        if (!(objeto instanceof Collection<?>) && !(objeto instanceof Cronograma)) {
+            escrita.escrever();
+            return;
+        }
+        long inicio = System.nanoTime();
+        try {
+            escrita.escrever();
+        } finally {
+            serializacao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.izepon.calculadora_emprestimo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.izepon.calculadora_emprestimo.service.impl.MetricasSimulacao;
+import com.izepon.calculadora_emprestimo.service.impl.SimulacaoInvalidaException.Regra;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Configuration
+public class MetricasConfig {
+
+    /**
+     * Substitui o conversor JSON do Spring Boot pelo que mede a serialização das respostas.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   MetricasSimulacao metricas) {
+        return new ConversorJsonMedido(objectMapper, metricas.serializacao());
+    }
+
+    /**
+     * Conta por regra as requisições recusadas pelas anotações de {@code SimulacaoRequest}, que não chegam
+     * ao serviço. Só observa a exceção: a resposta continua sendo montada pelos resolvers padrão.
+     */
+    @Bean
+    public WebMvcConfigurer metricasValidacaoConfigurer(MetricasSimulacao metricas) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendHandlerExceptionResolvers(List<HandlerExceptionResolver> resolvers) {
+                resolvers.add(0, (request, response, handler, ex) -> {
+                    if (ex instanceof MethodArgumentNotValidException invalida) {
+                        regrasVioladas(invalida).forEach(metricas::registrarFalhaValidacao);
+                    }
+                    return null;
+                });
+            }
+        };
+    }
+
+    private static Set<Regra> regrasVioladas(MethodArgumentNotValidException ex) {
+        Set<Regra> regras = EnumSet.noneOf(Regra.class);
+        for (FieldError erro : ex.getBindingResult().getFieldErrors()) {
+            if ("NotNull".equals(erro.getCode())) {
+                regras.add(Regra.CAMPOS_OBRIGATORIOS);
+            } else if ("valorEmprestimo".equals(erro.getField())) {
+                regras.add(Regra.VALOR_EMPRESTIMO);
+            } else if ("taxaJuros".equals(erro.getField())) {
+                regras.add(Regra.TAXA_JUROS);
+            }
+        }
+        return regras;
+    }
+}
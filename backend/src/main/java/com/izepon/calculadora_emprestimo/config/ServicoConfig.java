@@ -0,0 +1,77 @@
+package com.izepon.calculadora_emprestimo.config;
+
+import com.izepon.calculadora_emprestimo.service.CalculadoraEmprestimoService;
+import com.izepon.calculadora_emprestimo.service.impl.CacheSimulacaoService;
+import com.izepon.calculadora_emprestimo.service.impl.CalculadoraEmprestimoServiceCentavosImpl;
+import com.izepon.calculadora_emprestimo.service.impl.CalculadoraEmprestimoServiceImpl;
+import com.izepon.calculadora_emprestimo.service.impl.CalculoCompartilhadoService;
+import com.izepon.calculadora_emprestimo.service.impl.ExecutorLoteSimulacao;
+import com.izepon.calculadora_emprestimo.service.impl.LoteSimulacaoService;
+import com.izepon.calculadora_emprestimo.service.impl.MedicaoLatenciaService;
+import com.izepon.calculadora_emprestimo.service.impl.RegistroLatencia;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+@EnableConfigurationProperties(CacheSimulacaoProperties.class)
+public class ServicoConfig {
+
+    @Bean
+    @Primary
+    public CalculadoraEmprestimoService calculadoraEmprestimoService(@Value("${calculadora.motor:bigdecimal}") String tipoMotor,
+                                                                     CalculadoraEmprestimoServiceImpl motorBigDecimal,
+                                                                     CalculadoraEmprestimoServiceCentavosImpl motorCentavos,
+                                                                     @Value("${calculadora.calculo-compartilhado.habilitado:true}") boolean calculoCompartilhado,
+                                                                     CacheSimulacaoProperties cacheProperties,
+                                                                     MeterRegistry meterRegistry,
+                                                                     @Value("${calculadora.latencia.habilitado:true}") boolean latenciaHabilitada,
+                                                                     RegistroLatencia registroLatencia,
+                                                                     ExecutorLoteSimulacao executorLote) {
+        CalculadoraEmprestimoService motor = switch (tipoMotor) {
+            case "bigdecimal" -> motorBigDecimal;
+            case "centavos" -> motorCentavos;
+            default -> throw new IllegalStateException("Motor de cálculo desconhecido: " + tipoMotor);
+        };
+        if (calculoCompartilhado) {
+            // Com o cache ligado, o carregamento dele já junta os calcular iguais; sem ele, esta camada junta.
+            motor = compartilhado(motor, meterRegistry, !cacheProperties.habilitado());
+        }
+        CalculadoraEmprestimoService servico = cacheProperties.habilitado()
+                ? comCache(motor, cacheProperties, meterRegistry) : motor;
+        if (latenciaHabilitada) {
+            servico = new MedicaoLatenciaService(servico, registroLatencia);
+        }
+        return new LoteSimulacaoService(servico, executorLote);
+    }
+
+    private static CalculadoraEmprestimoService compartilhado(CalculadoraEmprestimoService motor,
+                                                              MeterRegistry meterRegistry,
+                                                              boolean compartilharCalcular) {
+        CalculoCompartilhadoService compartilhado = new CalculoCompartilhadoService(
+                motor, meterRegistry, compartilharCalcular);
+        Gauge.builder("calculadora.simulacao.compartilhamento.em-andamento", compartilhado,
+                        CalculoCompartilhadoService::emAndamento)
+                .description("Cálculos em andamento que chamadas iguais podem aproveitar")
+                .register(meterRegistry);
+        return compartilhado;
+    }
+
+    private static CalculadoraEmprestimoService comCache(CalculadoraEmprestimoService motor,
+                                                         CacheSimulacaoProperties cacheProperties,
+                                                         MeterRegistry meterRegistry) {
+        CacheSimulacaoService cacheSimulacao = new CacheSimulacaoService(
+                motor, cacheProperties.memoriaMaxima().toBytes(), cacheProperties.ttl(), meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cacheSimulacao.cache(), "simulacao");
+        Gauge.builder("calculadora.cache.simulacao.taxa-acerto", cacheSimulacao.cache(),
+                        cache -> cache.stats().hitRate())
+                .description("Fração das simulações atendidas pelo cache")
+                .register(meterRegistry);
+        return cacheSimulacao;
+    }
+}
@@ -1,30 +1,152 @@
 package com.izepon.calculadora_emprestimo.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.izepon.calculadora_emprestimo.dto.CarteiraResponse;
+import com.izepon.calculadora_emprestimo.dto.CenariosRequest;
+import com.izepon.calculadora_emprestimo.dto.CenariosResponse;
+import com.izepon.calculadora_emprestimo.dto.Cronograma;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoArquivada;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoEventosRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoLoteResponse;
 import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
 import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResumo;
+import com.izepon.calculadora_emprestimo.service.AgregacaoCarteiraService;
+import com.izepon.calculadora_emprestimo.service.ArquivoSimulacoesService;
 import com.izepon.calculadora_emprestimo.service.CalculadoraEmprestimoService;
+import com.izepon.calculadora_emprestimo.service.CenariosService;
+import com.izepon.calculadora_emprestimo.service.SimulacaoEventosService;
 import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/calculadora-emprestimo")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class CalculadoraEmprestimoController {
 
+    static final String CABECALHO_ID_SIMULACAO = "X-Simulacao-Id";
+    private static final int LINHAS_POR_FLUSH = 64;
+
     private final CalculadoraEmprestimoService service;
+    private final SimulacaoEventosService eventosService;
+    private final AgregacaoCarteiraService carteiraService;
+    private final CenariosService cenariosService;
+    private final ArquivoSimulacoesService arquivoSimulacoes;
+    private final ObjectWriter linhaWriter;
+    private final ObjectReader requestReader;
 
-    public CalculadoraEmprestimoController(CalculadoraEmprestimoService service) {
+    public CalculadoraEmprestimoController(CalculadoraEmprestimoService service, SimulacaoEventosService eventosService,
+                                           AgregacaoCarteiraService carteiraService, CenariosService cenariosService,
+                                           ArquivoSimulacoesService arquivoSimulacoes, ObjectMapper objectMapper) {
         this.service = service;
+        this.eventosService = eventosService;
+        this.carteiraService = carteiraService;
+        this.cenariosService = cenariosService;
+        this.arquivoSimulacoes = arquivoSimulacoes;
+        this.linhaWriter = objectMapper.writerFor(SimulacaoResponse.class);
+        this.requestReader = objectMapper.readerFor(SimulacaoRequest.class);
     }
 
     @PostMapping("/calcular")
     public ResponseEntity<List<SimulacaoResponse>> calcular(@Valid @RequestBody SimulacaoRequest request) {
         List<SimulacaoResponse> resultado = service.calcular(request);
+        long id = arquivoSimulacoes.registrar(request, resultado);
+        if (id == ArquivoSimulacoesService.SEM_ID) {
+            return ResponseEntity.ok(resultado);
+        }
+        return ResponseEntity.ok().header(CABECALHO_ID_SIMULACAO, Long.toString(id)).body(resultado);
+    }
+
+    @GetMapping("/simulacoes/{id}")
+    public ResponseEntity<SimulacaoArquivada> buscarSimulacao(@PathVariable long id) {
+        return ResponseEntity.of(arquivoSimulacoes.buscar(id));
+    }
+
+    @PostMapping(value = "/calcular/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> calcularEmStream(@Valid @RequestBody SimulacaoRequest request) {
+        // A validação das regras acontece aqui, antes de a resposta começar a ser escrita.
+        Stream<SimulacaoResponse> linhas = service.calcularEmStream(request);
+        StreamingResponseBody corpo = saida -> escreverLinhas(linhas, saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(corpo);
+    }
+
+    @PostMapping("/calcular/colunar")
+    public ResponseEntity<Cronograma> calcularCronograma(@Valid @RequestBody SimulacaoRequest request) {
+        Cronograma resultado = service.calcularCronograma(request);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @PostMapping("/calcular/resumo")
+    public ResponseEntity<SimulacaoResumo> calcularResumo(@Valid @RequestBody SimulacaoRequest request) {
+        SimulacaoResumo resultado = service.calcularResumo(request);
         return ResponseEntity.ok(resultado);
     }
+
+    @PostMapping("/calcular/eventos")
+    public ResponseEntity<List<SimulacaoResponse>> calcularComEventos(@Valid @RequestBody SimulacaoEventosRequest request) {
+        List<SimulacaoResponse> resultado = eventosService.calcular(request.simulacao(), request.eventos());
+        return ResponseEntity.ok(resultado);
+    }
+
+    @PostMapping("/calcular/cenarios")
+    public ResponseEntity<CenariosResponse> calcularCenarios(@Valid @RequestBody CenariosRequest request) {
+        CenariosResponse resultado = cenariosService.calcular(request);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @PostMapping("/lote")
+    public ResponseEntity<List<SimulacaoLoteResponse>> calcularLote(@RequestBody List<SimulacaoRequest> requests) {
+        List<SimulacaoLoteResponse> resultado = service.calcularLote(requests);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @PostMapping(value = "/carteira", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<CarteiraResponse> agregarCarteira(InputStream corpo) throws IOException {
+        // Uma simulação por linha, lida à medida que a agregação consome: o corpo nunca fica inteiro em memória.
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8))) {
+            CarteiraResponse resultado = carteiraService.agregar(
+                    new SimulacoesNdjson(leitor.lines().iterator(), requestReader));
+            return ResponseEntity.ok(resultado);
+        }
+    }
+
+    private void escreverLinhas(Stream<SimulacaoResponse> linhas, OutputStream saida) throws IOException {
+        try (linhas) {
+            OutputStream buffer = new BufferedOutputStream(saida);
+            Iterator<SimulacaoResponse> iterator = linhas.iterator();
+            int linhasEscritas = 0;
+            while (iterator.hasNext()) {
+                buffer.write(linhaWriter.writeValueAsBytes(iterator.next()));
+                buffer.write('\n');
+                if (++linhasEscritas % LINHAS_POR_FLUSH == 0) {
+                    buffer.flush();
+                }
+            }
+            buffer.flush();
+        }
+    }
 }
@@ -0,0 +1,36 @@
+package com.izepon.calculadora_emprestimo.controller;
+
+import com.izepon.calculadora_emprestimo.dto.LatenciaResumo;
+import com.izepon.calculadora_emprestimo.service.impl.RegistroLatencia;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint administrativo {@code /actuator/latencia}: percentis de latência do {@code calcular} e as
+ * requisições mais lentas. {@code DELETE} zera os dois, para observar só o período seguinte.
+ * <p>
+ * Fica fora da exposição padrão e, quando exposto, só para leitura ({@code management.endpoint.latencia.access});
+ * o {@code DELETE} exige liberar o acesso completo.
+ */
+@Component
+@Endpoint(id = "latencia")
+public class LatenciaEndpoint {
+
+    private final RegistroLatencia registro;
+
+    public LatenciaEndpoint(RegistroLatencia registro) {
+        this.registro = registro;
+    }
+
+    @ReadOperation
+    public LatenciaResumo latencia() {
+        return registro.resumo();
+    }
+
+    @DeleteOperation
+    public void limpar() {
+        registro.limpar();
+    }
+}
@@ -0,0 +1,50 @@
+package com.izepon.calculadora_emprestimo.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lê uma simulação por linha de um corpo NDJSON, à medida que a agregação pede. Linhas em branco são
+ * ignoradas; uma linha que não é uma simulação em JSON vira {@code null}, que a agregação conta como falha,
+ * em vez de interromper a leitura das demais.
+ */
+final class SimulacoesNdjson implements Iterator<SimulacaoRequest> {
+
+    private final Iterator<String> linhas;
+    private final ObjectReader requestReader;
+    private String proxima;
+
+    SimulacoesNdjson(Iterator<String> linhas, ObjectReader requestReader) {
+        this.linhas = linhas;
+        this.requestReader = requestReader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (proxima == null && linhas.hasNext()) {
+            String linha = linhas.next();
+            if (!linha.isBlank()) {
+                proxima = linha;
+            }
+        }
+        return proxima != null;
+    }
+
+    @Override
+    public SimulacaoRequest next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String linha = proxima;
+        proxima = null;
+        try {
+            return requestReader.readValue(linha);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.izepon.calculadora_emprestimo.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Totais de uma carteira num mês: juros provisionados, amortização e valor pago no mês, e o saldo
+ * devedor somado dos contratos ao fim do mês.
+ */
+public record CarteiraMesResponse(
+        YearMonth mes,
+        BigDecimal juros,
+        BigDecimal amortizacao,
+        BigDecimal pago,
+        BigDecimal saldoDevedor
+) {}
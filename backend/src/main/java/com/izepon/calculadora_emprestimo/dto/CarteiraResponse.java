@@ -0,0 +1,18 @@
+package com.izepon.calculadora_emprestimo.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Resumo de uma carteira de simulações: totais gerais e a evolução mês a mês.
+ * {@code falhas} conta as simulações recusadas pela validação, que ficam fora dos totais.
+ */
+public record CarteiraResponse(
+        long contratos,
+        long falhas,
+        BigDecimal valorEmprestado,
+        BigDecimal juros,
+        BigDecimal amortizacao,
+        BigDecimal pago,
+        List<CarteiraMesResponse> meses
+) {}
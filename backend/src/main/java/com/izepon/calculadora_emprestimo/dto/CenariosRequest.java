@@ -0,0 +1,20 @@
+package com.izepon.calculadora_emprestimo.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Grade de cenários de uma simulação: cada célula é a {@code simulacao} base com uma das {@code taxasJuros}
+ * e uma das {@code datasFinais} no lugar das suas. Sem {@code metricas}, todas são calculadas.
+ */
+public record CenariosRequest(
+        @NotNull @Valid SimulacaoRequest simulacao,
+        @NotEmpty List<@NotNull BigDecimal> taxasJuros,
+        @NotEmpty List<@NotNull LocalDate> datasFinais,
+        List<@NotNull MetricaCenario> metricas
+) {}
@@ -0,0 +1,16 @@
+package com.izepon.calculadora_emprestimo.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado da grade de cenários: para cada métrica pedida, uma linha por taxa de juros (na ordem de
+ * {@code taxasJuros}) com um valor por data final (na ordem de {@code datasFinais}).
+ */
+public record CenariosResponse(
+        List<BigDecimal> taxasJuros,
+        List<LocalDate> datasFinais,
+        Map<MetricaCenario, List<List<BigDecimal>>> metricas
+) {}
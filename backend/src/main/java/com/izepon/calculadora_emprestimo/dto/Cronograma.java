@@ -0,0 +1,208 @@
+package com.izepon.calculadora_emprestimo.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cronograma em colunas: cada coluna é um array primitivo e os valores ficam em centavos.
+ * Serializa no mesmo formato JSON de {@code List<SimulacaoResponse>} (mesmos campos, na mesma ordem),
+ * com os valores sempre em duas casas decimais.
+ * <p>
+ * O saldo devedor exibido ({@code saldo + acumulado}), o total da parcela ({@code pago}) e o texto
+ * da parcela consolidada são derivados das colunas, não armazenados.
+ */
+@JsonSerialize(using = CronogramaSerializer.class)
+public final class Cronograma {
+
+    private final long valorEmprestimo;
+    private int tamanho;
+    private int totalParcelas;
+    private int[] diasEpoca;
+    private int[] parcelas;
+    private long[] saldos;
+    private long[] amortizacoes;
+    private long[] juros;
+    private long[] acumulados;
+    private long[] pagos;
+
+    public Cronograma(long valorEmprestimoEmCentavos, int capacidade) {
+        this.valorEmprestimo = valorEmprestimoEmCentavos;
+        int capacidadeInicial = Math.max(capacidade, 1);
+        this.diasEpoca = new int[capacidadeInicial];
+        this.parcelas = new int[capacidadeInicial];
+        this.saldos = new long[capacidadeInicial];
+        this.amortizacoes = new long[capacidadeInicial];
+        this.juros = new long[capacidadeInicial];
+        this.acumulados = new long[capacidadeInicial];
+        this.pagos = new long[capacidadeInicial];
+    }
+
+    /**
+     * Converte um cronograma em linhas. Valores com mais de duas casas (o {@code valorEmprestimo} da requisição, por
+     * exemplo) são arredondados para centavos em {@code HALF_EVEN}, como nos demais cronogramas em centavos.
+     */
+    public static Cronograma de(List<SimulacaoResponse> linhas) {
+        Cronograma cronograma = new Cronograma(
+                linhas.isEmpty() ? 0 : centavos(linhas.get(0).valorEmprestimo()), linhas.size());
+        for (SimulacaoResponse linha : linhas) {
+            int parcela = linha.consolidada().isEmpty() ? 0 : cronograma.totalParcelas + 1;
+            cronograma.adicionarLinha(
+                    linha.data(),
+                    parcela,
+                    centavos(linha.saldo()),
+                    centavos(linha.amortizacao()),
+                    centavos(linha.provisao()),
+                    centavos(linha.acumulado()),
+                    centavos(linha.pago()));
+        }
+        return cronograma;
+    }
+
+    /**
+     * Acrescenta uma linha. {@code parcela} é o número da parcela paga na data (1, 2, ...) ou 0 se não houver.
+     */
+    public void adicionarLinha(LocalDate data, int parcela, long saldo, long amortizacao, long jurosDoPeriodo,
+                               long acumulado, long pago) {
+        adicionarLinha((int) data.toEpochDay(), parcela, saldo, amortizacao, jurosDoPeriodo, acumulado, pago);
+    }
+
+    /**
+     * Mesmo que {@link #adicionarLinha(LocalDate, int, long, long, long, long, long)}, com a data em dias desde a época.
+     */
+    public void adicionarLinha(int diaEpoca, int parcela, long saldo, long amortizacao, long jurosDoPeriodo,
+                               long acumulado, long pago) {
+        if (tamanho == diasEpoca.length) {
+            crescer();
+        }
+        diasEpoca[tamanho] = diaEpoca;
+        parcelas[tamanho] = parcela;
+        saldos[tamanho] = saldo;
+        amortizacoes[tamanho] = amortizacao;
+        juros[tamanho] = jurosDoPeriodo;
+        acumulados[tamanho] = acumulado;
+        pagos[tamanho] = pago;
+        if (parcela > 0) {
+            totalParcelas++;
+        }
+        tamanho++;
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public int totalParcelas() {
+        return totalParcelas;
+    }
+
+    public long valorEmprestimo() {
+        return valorEmprestimo;
+    }
+
+    public LocalDate data(int linha) {
+        return LocalDate.ofEpochDay(diasEpoca[linha]);
+    }
+
+    public int diaEpoca(int linha) {
+        return diasEpoca[linha];
+    }
+
+    public int parcela(int linha) {
+        return parcelas[linha];
+    }
+
+    public long saldo(int linha) {
+        return saldos[linha];
+    }
+
+    public long amortizacao(int linha) {
+        return amortizacoes[linha];
+    }
+
+    public long juros(int linha) {
+        return juros[linha];
+    }
+
+    public long acumulado(int linha) {
+        return acumulados[linha];
+    }
+
+    public long pago(int linha) {
+        return pagos[linha];
+    }
+
+    public long saldoDevedor(int linha) {
+        return saldos[linha] + acumulados[linha];
+    }
+
+    public long totalPago() {
+        long total = 0;
+        for (int i = 0; i < tamanho; i++) {
+            total += pagos[i];
+        }
+        return total;
+    }
+
+    public long totalJuros() {
+        long total = 0;
+        for (int i = 0; i < tamanho; i++) {
+            total += juros[i];
+        }
+        return total;
+    }
+
+    public long totalAmortizacao() {
+        long total = 0;
+        for (int i = 0; i < tamanho; i++) {
+            total += amortizacoes[i];
+        }
+        return total;
+    }
+
+    /**
+     * Reconstrói as linhas no formato de {@link SimulacaoResponse}, com valores em duas casas decimais.
+     */
+    public List<SimulacaoResponse> paraLinhas() {
+        List<SimulacaoResponse> linhas = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            BigDecimal pago = BigDecimal.valueOf(pagos[i], 2);
+            linhas.add(new SimulacaoResponse(
+                    data(i),
+                    BigDecimal.valueOf(i == 0 ? valorEmprestimo : 0, 2),
+                    BigDecimal.valueOf(saldoDevedor(i), 2),
+                    consolidada(i),
+                    pago,
+                    BigDecimal.valueOf(amortizacoes[i], 2),
+                    BigDecimal.valueOf(saldos[i], 2),
+                    BigDecimal.valueOf(juros[i], 2),
+                    BigDecimal.valueOf(acumulados[i], 2),
+                    pago));
+        }
+        return linhas;
+    }
+
+    String consolidada(int linha) {
+        return parcelas[linha] == 0 ? "" : parcelas[linha] + "/" + totalParcelas;
+    }
+
+    private void crescer() {
+        int novaCapacidade = diasEpoca.length * 2;
+        diasEpoca = Arrays.copyOf(diasEpoca, novaCapacidade);
+        parcelas = Arrays.copyOf(parcelas, novaCapacidade);
+        saldos = Arrays.copyOf(saldos, novaCapacidade);
+        amortizacoes = Arrays.copyOf(amortizacoes, novaCapacidade);
+        juros = Arrays.copyOf(juros, novaCapacidade);
+        acumulados = Arrays.copyOf(acumulados, novaCapacidade);
+        pagos = Arrays.copyOf(pagos, novaCapacidade);
+    }
+
+    private static long centavos(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+}
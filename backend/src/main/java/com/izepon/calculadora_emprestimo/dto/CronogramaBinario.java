@@ -0,0 +1,220 @@
+package com.izepon.calculadora_emprestimo.dto;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Formato binário colunar do cronograma ({@value #MEDIA_TYPE}), para clientes que preferem menos bytes ao JSON:
+ * <pre>
+ * byte versão | byte escala | varint linhas | varint total de parcelas
+ * datas:    dias desde 1970-01-01 da primeira linha e, nas seguintes, a diferença para a anterior
+ * parcelas: número da parcela paga em cada linha (0 sem pagamento)
+ * valores:  uma coluna por campo de {@link SimulacaoResponse} (valorEmprestimo, saldoDevedor, total, amortizacao,
+ *           saldo, provisao, acumulado, pago), cada valor como inteiro na escala do cabeçalho; os saldos
+ *           (saldoDevedor, saldo e acumulado) são codificados pela diferença para o valor da linha anterior
+ * </pre>
+ * Todos os inteiros são varints (7 bits por byte); os com sinal usam zigzag. Como as datas andam pouco e os
+ * saldos mudam de forma regular, as diferenças cabem em poucos bytes. As demais colunas vão sem diferença:
+ * são zero nas linhas sem pagamento, e a diferença alternaria entre o valor e o seu negativo.
+ */
+public final class CronogramaBinario {
+
+    public static final String MEDIA_TYPE = "application/x-calculadora-cronograma";
+
+    static final int VERSAO = 1;
+    private static final int COLUNAS_VALORES = 8;
+    private static final int ESCALA_CENTAVOS = 2;
+    private static final boolean[] COLUNA_DE_SALDO = {false, true, false, false, true, false, true, false};
+
+    private CronogramaBinario() {
+    }
+
+    public static void escrever(List<SimulacaoResponse> linhas, OutputStream saida) throws IOException {
+        int escala = ESCALA_CENTAVOS;
+        for (SimulacaoResponse linha : linhas) {
+            for (BigDecimal valor : valores(linha)) {
+                escala = Math.max(escala, valor.scale());
+            }
+        }
+        int quantidade = linhas.size();
+        int[] dias = new int[quantidade];
+        int[] parcelas = new int[quantidade];
+        long[][] colunas = new long[COLUNAS_VALORES][quantidade];
+        int totalParcelas = 0;
+        for (int i = 0; i < quantidade; i++) {
+            SimulacaoResponse linha = linhas.get(i);
+            dias[i] = (int) linha.data().toEpochDay();
+            String consolidada = linha.consolidada();
+            if (!consolidada.isEmpty()) {
+                int barra = consolidada.indexOf('/');
+                parcelas[i] = Integer.parseInt(consolidada, 0, barra, 10);
+                totalParcelas = Integer.parseInt(consolidada, barra + 1, consolidada.length(), 10);
+            }
+            BigDecimal[] valores = valores(linha);
+            for (int coluna = 0; coluna < COLUNAS_VALORES; coluna++) {
+                colunas[coluna][i] = valores[coluna].setScale(escala).unscaledValue().longValueExact();
+            }
+        }
+        escrever(saida, escala, totalParcelas, dias, parcelas, colunas);
+    }
+
+    public static void escrever(Cronograma cronograma, OutputStream saida) throws IOException {
+        int quantidade = cronograma.tamanho();
+        int[] dias = new int[quantidade];
+        int[] parcelas = new int[quantidade];
+        long[][] colunas = new long[COLUNAS_VALORES][quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            dias[i] = cronograma.diaEpoca(i);
+            parcelas[i] = cronograma.parcela(i);
+            colunas[0][i] = i == 0 ? cronograma.valorEmprestimo() : 0;
+            colunas[1][i] = cronograma.saldoDevedor(i);
+            colunas[2][i] = cronograma.pago(i);
+            colunas[3][i] = cronograma.amortizacao(i);
+            colunas[4][i] = cronograma.saldo(i);
+            colunas[5][i] = cronograma.juros(i);
+            colunas[6][i] = cronograma.acumulado(i);
+            colunas[7][i] = cronograma.pago(i);
+        }
+        escrever(saida, ESCALA_CENTAVOS, cronograma.totalParcelas(), dias, parcelas, colunas);
+    }
+
+    /**
+     * Lê um cronograma nesse formato. Os valores voltam todos na escala do cabeçalho.
+     */
+    public static List<SimulacaoResponse> ler(InputStream entrada) throws IOException {
+        int versao = lerByte(entrada);
+        if (versao != VERSAO) {
+            throw new IOException("Versão de cronograma binário não suportada: " + versao);
+        }
+        int escala = lerByte(entrada);
+        int quantidade = (int) lerVarint(entrada);
+        int totalParcelas = (int) lerVarint(entrada);
+        int[] dias = new int[quantidade];
+        int dia = 0;
+        for (int i = 0; i < quantidade; i++) {
+            dia += (int) zigzagParaLong(lerVarint(entrada));
+            dias[i] = dia;
+        }
+        int[] parcelas = new int[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            parcelas[i] = (int) lerVarint(entrada);
+        }
+        long[][] colunas = new long[COLUNAS_VALORES][quantidade];
+        for (int coluna = 0; coluna < COLUNAS_VALORES; coluna++) {
+            long anterior = 0;
+            for (int i = 0; i < quantidade; i++) {
+                long valor = zigzagParaLong(lerVarint(entrada));
+                colunas[coluna][i] = COLUNA_DE_SALDO[coluna] ? anterior + valor : valor;
+                anterior = colunas[coluna][i];
+            }
+        }
+        List<SimulacaoResponse> linhas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            linhas.add(new SimulacaoResponse(
+                    LocalDate.ofEpochDay(dias[i]),
+                    BigDecimal.valueOf(colunas[0][i], escala),
+                    BigDecimal.valueOf(colunas[1][i], escala),
+                    parcelas[i] == 0 ? "" : parcelas[i] + "/" + totalParcelas,
+                    BigDecimal.valueOf(colunas[2][i], escala),
+                    BigDecimal.valueOf(colunas[3][i], escala),
+                    BigDecimal.valueOf(colunas[4][i], escala),
+                    BigDecimal.valueOf(colunas[5][i], escala),
+                    BigDecimal.valueOf(colunas[6][i], escala),
+                    BigDecimal.valueOf(colunas[7][i], escala)));
+        }
+        return linhas;
+    }
+
+    private static BigDecimal[] valores(SimulacaoResponse linha) {
+        return new BigDecimal[]{linha.valorEmprestimo(), linha.saldoDevedor(), linha.total(), linha.amortizacao(),
+                linha.saldo(), linha.provisao(), linha.acumulado(), linha.pago()};
+    }
+
+    private static void escrever(OutputStream saida, int escala, int totalParcelas, int[] dias, int[] parcelas,
+                                 long[][] colunas) throws IOException {
+        Buffer buffer = new Buffer(16 + dias.length * 24);
+        buffer.escreverByte(VERSAO);
+        buffer.escreverByte(escala);
+        buffer.escreverVarint(dias.length);
+        buffer.escreverVarint(totalParcelas);
+        int diaAnterior = 0;
+        for (int dia : dias) {
+            buffer.escreverVarint(longParaZigzag(dia - diaAnterior));
+            diaAnterior = dia;
+        }
+        for (int parcela : parcelas) {
+            buffer.escreverVarint(parcela);
+        }
+        for (int coluna = 0; coluna < COLUNAS_VALORES; coluna++) {
+            long anterior = 0;
+            for (long valor : colunas[coluna]) {
+                buffer.escreverVarint(longParaZigzag(COLUNA_DE_SALDO[coluna] ? valor - anterior : valor));
+                anterior = valor;
+            }
+        }
+        saida.write(buffer.bytes, 0, buffer.tamanho);
+    }
+
+    private static long lerVarint(InputStream entrada) throws IOException {
+        long valor = 0;
+        for (int deslocamento = 0; deslocamento < 64; deslocamento += 7) {
+            int b = lerByte(entrada);
+            valor |= (long) (b & 0x7F) << deslocamento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IOException("Varint inválido no cronograma binário.");
+    }
+
+    private static int lerByte(InputStream entrada) throws IOException {
+        int b = entrada.read();
+        if (b < 0) {
+            throw new EOFException("Cronograma binário incompleto.");
+        }
+        return b;
+    }
+
+    private static long longParaZigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    private static long zigzagParaLong(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    /**
+     * Buffer de escrita sem sincronização (o {@code ByteArrayOutputStream} sincroniza cada byte).
+     */
+    private static final class Buffer {
+
+        private byte[] bytes;
+        private int tamanho;
+
+        Buffer(int capacidade) {
+            this.bytes = new byte[capacidade];
+        }
+
+        void escreverByte(int valor) {
+            if (tamanho == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[tamanho++] = (byte) valor;
+        }
+
+        void escreverVarint(long valor) {
+            while ((valor & ~0x7FL) != 0) {
+                escreverByte((int) ((valor & 0x7F) | 0x80));
+                valor >>>= 7;
+            }
+            escreverByte((int) valor);
+        }
+    }
+}
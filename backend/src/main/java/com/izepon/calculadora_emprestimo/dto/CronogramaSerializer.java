@@ -0,0 +1,69 @@
+package com.izepon.calculadora_emprestimo.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Escreve o {@link Cronograma} como um array de objetos com os mesmos campos de {@link SimulacaoResponse},
+ * percorrendo as colunas e formatando os centavos direto no gerador, sem criar {@code BigDecimal}.
+ */
+public class CronogramaSerializer extends StdSerializer<Cronograma> {
+
+    public CronogramaSerializer() {
+        super(Cronograma.class);
+    }
+
+    @Override
+    public void serialize(Cronograma cronograma, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+        char[] buffer = new char[24];
+        gerador.writeStartArray(cronograma, cronograma.tamanho());
+        for (int i = 0; i < cronograma.tamanho(); i++) {
+            gerador.writeStartObject();
+            gerador.writeStringField("data", cronograma.data(i).toString());
+            escreverCentavos(gerador, "valorEmprestimo", i == 0 ? cronograma.valorEmprestimo() : 0, buffer);
+            escreverCentavos(gerador, "saldoDevedor", cronograma.saldoDevedor(i), buffer);
+            gerador.writeStringField("consolidada", cronograma.consolidada(i));
+            escreverCentavos(gerador, "total", cronograma.pago(i), buffer);
+            escreverCentavos(gerador, "amortizacao", cronograma.amortizacao(i), buffer);
+            escreverCentavos(gerador, "saldo", cronograma.saldo(i), buffer);
+            escreverCentavos(gerador, "provisao", cronograma.juros(i), buffer);
+            escreverCentavos(gerador, "acumulado", cronograma.acumulado(i), buffer);
+            escreverCentavos(gerador, "pago", cronograma.pago(i), buffer);
+            gerador.writeEndObject();
+        }
+        gerador.writeEndArray();
+    }
+
+    private static void escreverCentavos(JsonGenerator gerador, String campo, long centavos, char[] buffer)
+            throws IOException {
+        gerador.writeFieldName(campo);
+        int tamanho = formatarCentavos(centavos, buffer);
+        gerador.writeNumber(buffer, buffer.length - tamanho, tamanho);
+    }
+
+    /**
+     * Formata os centavos como decimal com duas casas, preenchendo o buffer a partir do final.
+     */
+    static int formatarCentavos(long centavos, char[] buffer) {
+        boolean negativo = centavos < 0;
+        // Trabalha com o valor negativo para não estourar em Long.MIN_VALUE.
+        long restante = negativo ? centavos : -centavos;
+        int posicao = buffer.length;
+        for (int casa = 0; casa < 2; casa++) {
+            buffer[--posicao] = (char) ('0' - (restante % 10));
+            restante /= 10;
+        }
+        buffer[--posicao] = '.';
+        do {
+            buffer[--posicao] = (char) ('0' - (restante % 10));
+            restante /= 10;
+        } while (restante != 0);
+        if (negativo) {
+            buffer[--posicao] = '-';
+        }
+        return buffer.length - posicao;
+    }
+}
@@ -0,0 +1,15 @@
+package com.izepon.calculadora_emprestimo.dto;
+
+/**
+ * O que um nó processou numa execução distribuída: shards concluídos, contratos calculados (os recusados pela
+ * validação incluídos) e requisições que falharam e foram reenviadas a outro nó. {@code descartado} indica que
+ * o nó parou de receber shards depois de falhas seguidas.
+ */
+public record DesempenhoNo(
+        String endereco,
+        int shards,
+        long contratos,
+        int falhas,
+        boolean descartado,
+        double contratosPorSegundo
+) {}
@@ -0,0 +1,30 @@
+package com.izepon.calculadora_emprestimo.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Evento no meio do contrato, aplicado na {@code data} informada:
+ * <ul>
+ *     <li>{@code AMORTIZACAO_EXTRAORDINARIA}: pagamento extra de {@code valor}, abatido do saldo devedor;</li>
+ *     <li>{@code NOVA_TAXA}: {@code taxaJuros} anual passa a valer para os períodos seguintes;</li>
+ *     <li>{@code PARCELA_SUSPENSA}: a parcela da data não é paga e os juros seguem acumulando até a próxima.</li>
+ * </ul>
+ * Depois de uma amortização extraordinária ou de uma parcela suspensa, a amortização das parcelas
+ * restantes é recalculada sobre o novo saldo, mantendo o prazo.
+ */
+public record EventoContrato(
+        @NotNull Tipo tipo,
+        @NotNull LocalDate data,
+        BigDecimal valor,
+        BigDecimal taxaJuros
+) {
+
+    public enum Tipo {
+        AMORTIZACAO_EXTRAORDINARIA,
+        NOVA_TAXA,
+        PARCELA_SUSPENSA
+    }
+}
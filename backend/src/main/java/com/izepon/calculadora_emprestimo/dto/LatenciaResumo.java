@@ -0,0 +1,18 @@
+package com.izepon.calculadora_emprestimo.dto;
+
+import java.util.List;
+
+/**
+ * Distribuição das latências do {@code calcular} desde o início (ou a última limpeza), em milissegundos,
+ * e as requisições mais lentas do mesmo período, da mais lenta para a mais rápida.
+ */
+public record LatenciaResumo(
+        long requisicoes,
+        double mediaMs,
+        double p50Ms,
+        double p90Ms,
+        double p99Ms,
+        double p999Ms,
+        double maximoMs,
+        List<RequisicaoLenta> maisLentas
+) {}
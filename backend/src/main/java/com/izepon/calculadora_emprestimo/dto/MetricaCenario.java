@@ -0,0 +1,11 @@
+package com.izepon.calculadora_emprestimo.dto;
+
+/**
+ * Valores que podem ser pedidos para cada célula de uma grade de cenários.
+ */
+public enum MetricaCenario {
+    PRIMEIRA_PARCELA,
+    ULTIMA_PARCELA,
+    TOTAL_PAGO,
+    TOTAL_JUROS
+}
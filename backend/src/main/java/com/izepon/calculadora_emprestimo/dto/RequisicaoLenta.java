@@ -0,0 +1,17 @@
+package com.izepon.calculadora_emprestimo.dto;
+
+import java.time.Instant;
+
+/**
+ * Uma das requisições mais lentas do {@code calcular}, com o tempo total e o de cada etapa em milissegundos.
+ * Atendida pelo cache, as etapas ficam zeradas. {@code request} vem nulo a menos que
+ * {@code calculadora.latencia.incluir-requisicao} esteja ligado.
+ */
+public record RequisicaoLenta(
+        SimulacaoRequest request,
+        Instant instante,
+        double totalMs,
+        double validacaoMs,
+        double datasMs,
+        double cronogramaMs
+) {}
@@ -0,0 +1,22 @@
+package com.izepon.calculadora_emprestimo.dto;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Resultado de uma execução distribuída: a carteira somada de todos os shards e o desempenho de cada nó.
+ * {@code reenvios} conta os shards mandados de novo depois de uma falha.
+ */
+public record ResultadoExecucaoDistribuida(
+        CarteiraResponse carteira,
+        int shards,
+        int reenvios,
+        Duration duracao,
+        List<DesempenhoNo> nos
+) {
+
+    public double contratosPorSegundo() {
+        long contratos = carteira.contratos() + carteira.falhas();
+        return duracao.isZero() ? 0 : contratos / (duracao.toNanos() / 1_000_000_000.0);
+    }
+}
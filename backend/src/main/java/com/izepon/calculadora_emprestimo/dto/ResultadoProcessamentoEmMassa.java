@@ -0,0 +1,21 @@
+package com.izepon.calculadora_emprestimo.dto;
+
+import java.time.Duration;
+
+/**
+ * Resumo de uma execução do processamento em massa. Partições já concluídas numa execução anterior são
+ * reaproveitadas e não entram nas contagens de contratos, falhas e linhas.
+ */
+public record ResultadoProcessamentoEmMassa(
+        int particoes,
+        int particoesReaproveitadas,
+        long contratos,
+        long falhas,
+        long linhas,
+        Duration duracao
+) {
+
+    public double contratosPorSegundo() {
+        return duracao.isZero() ? 0 : contratos / (duracao.toNanos() / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,16 @@
+package com.izepon.calculadora_emprestimo.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Simulação devolvida por {@code /calcular} e gravada no arquivo de simulações, como foi respondida.
+ * Os valores do cronograma voltam todos com a mesma escala (duas casas, ou mais se algum valor tinha mais).
+ */
+public record SimulacaoArquivada(
+        long id,
+        Instant instante,
+        SimulacaoRequest request,
+        List<SimulacaoResponse> cronograma
+) {
+}
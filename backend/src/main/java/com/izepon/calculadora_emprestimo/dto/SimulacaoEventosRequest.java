@@ -0,0 +1,14 @@
+package com.izepon.calculadora_emprestimo.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Simulação base e os eventos a aplicar sobre ela, em qualquer ordem.
+ */
+public record SimulacaoEventosRequest(
+        @NotNull @Valid SimulacaoRequest simulacao,
+        @NotNull List<@NotNull @Valid EventoContrato> eventos
+) {}
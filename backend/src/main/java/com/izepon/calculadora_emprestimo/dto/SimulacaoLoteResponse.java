@@ -0,0 +1,9 @@
+package com.izepon.calculadora_emprestimo.dto;
+
+import java.util.List;
+
+public record SimulacaoLoteResponse(
+        int indice,
+        List<SimulacaoResponse> resultado,
+        String erro
+) {}
@@ -11,5 +11,21 @@ public record SimulacaoRequest(
         @NotNull LocalDate dataFinal,
         @NotNull LocalDate primeiroPagamento,
         @NotNull @DecimalMin(value = "0.0", inclusive = false) BigDecimal valorEmprestimo,
-        @NotNull @DecimalMin(value = "0.0", inclusive = false) BigDecimal taxaJuros
-) {}
+        @NotNull @DecimalMin(value = "0.0", inclusive = false) BigDecimal taxaJuros,
+        SistemaAmortizacao sistemaAmortizacao
+) {
+
+    /**
+     * Sem o sistema de amortização informado, a simulação usa o {@link SistemaAmortizacao#SAC}.
+     */
+    public SimulacaoRequest {
+        if (sistemaAmortizacao == null) {
+            sistemaAmortizacao = SistemaAmortizacao.SAC;
+        }
+    }
+
+    public SimulacaoRequest(LocalDate dataInicial, LocalDate dataFinal, LocalDate primeiroPagamento,
+                            BigDecimal valorEmprestimo, BigDecimal taxaJuros) {
+        this(dataInicial, dataFinal, primeiroPagamento, valorEmprestimo, taxaJuros, SistemaAmortizacao.SAC);
+    }
+}
@@ -0,0 +1,61 @@
+package com.izepon.calculadora_emprestimo.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Totais de uma simulação, sem as linhas: quantidade de parcelas, valores pagos, juros e amortização,
+ * a primeira e a última parcela. Os totais têm sempre duas casas decimais.
+ */
+public record SimulacaoResumo(
+        int parcelas,
+        BigDecimal valorEmprestimo,
+        BigDecimal totalPago,
+        BigDecimal totalJuros,
+        BigDecimal totalAmortizado,
+        BigDecimal primeiraParcela,
+        BigDecimal ultimaParcela,
+        LocalDate dataUltimaParcela
+) {
+
+    /**
+     * Deriva o resumo de um cronograma completo.
+     */
+    public static SimulacaoResumo de(List<SimulacaoResponse> linhas) {
+        int parcelas = 0;
+        BigDecimal totalPago = BigDecimal.ZERO;
+        BigDecimal totalJuros = BigDecimal.ZERO;
+        BigDecimal totalAmortizado = BigDecimal.ZERO;
+        BigDecimal primeiraParcela = BigDecimal.ZERO;
+        BigDecimal ultimaParcela = BigDecimal.ZERO;
+        LocalDate dataUltimaParcela = null;
+        for (SimulacaoResponse linha : linhas) {
+            totalJuros = totalJuros.add(linha.provisao());
+            if (linha.consolidada().isEmpty()) {
+                continue;
+            }
+            if (parcelas++ == 0) {
+                primeiraParcela = linha.pago();
+            }
+            totalPago = totalPago.add(linha.pago());
+            totalAmortizado = totalAmortizado.add(linha.amortizacao());
+            ultimaParcela = linha.pago();
+            dataUltimaParcela = linha.data();
+        }
+        return new SimulacaoResumo(
+                parcelas,
+                linhas.isEmpty() ? BigDecimal.ZERO : linhas.get(0).valorEmprestimo(),
+                emCentavos(totalPago),
+                emCentavos(totalJuros),
+                emCentavos(totalAmortizado),
+                emCentavos(primeiraParcela),
+                emCentavos(ultimaParcela),
+                dataUltimaParcela);
+    }
+
+    private static BigDecimal emCentavos(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.HALF_EVEN);
+    }
+}
@@ -0,0 +1,19 @@
+package com.izepon.calculadora_emprestimo.dto;
+
+/**
+ * Como o principal é devolvido ao longo das parcelas. Os juros de cada período são sempre pagos na parcela.
+ */
+public enum SistemaAmortizacao {
+    /**
+     * Amortização constante: o principal dividido igualmente entre as parcelas.
+     */
+    SAC,
+    /**
+     * Tabela Price: parcelas (amortização mais juros) iguais, com a última acertando o saldo que sobrar.
+     */
+    PRICE,
+    /**
+     * Só juros nas parcelas e o principal inteiro na última.
+     */
+    BULLET
+}
@@ -0,0 +1,20 @@
+package com.izepon.calculadora_emprestimo.service;
+
+import com.izepon.calculadora_emprestimo.dto.CarteiraResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+
+import java.util.Iterator;
+
+/**
+ * Soma os cronogramas de uma carteira inteira sem guardar as linhas de cada simulação.
+ */
+public interface AgregacaoCarteiraService {
+
+    /**
+     * Consome as simulações à medida que o {@code iterator} as entrega (de um arquivo ou do corpo da
+     * requisição, por exemplo). Simulações inválidas ou com valores que não cabem em centavos num {@code long}
+     * são contadas em {@link CarteiraResponse#falhas()}, assim como os elementos {@code null}, que representam
+     * linhas da entrada que não puderam ser lidas.
+     */
+    CarteiraResponse agregar(Iterator<SimulacaoRequest> requests);
+}
@@ -0,0 +1,28 @@
+package com.izepon.calculadora_emprestimo.service;
+
+import com.izepon.calculadora_emprestimo.dto.SimulacaoArquivada;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Guarda as simulações devolvidas aos clientes num arquivo só de acréscimo, gravado em segundo plano.
+ */
+public interface ArquivoSimulacoesService {
+
+    /**
+     * Devolvido por {@link #registrar} quando a simulação não vai ser gravada: arquivo desligado ou fila cheia
+     * com a política de descarte.
+     */
+    long SEM_ID = -1;
+
+    /**
+     * Entrega a simulação para gravação e devolve o id com que ela poderá ser consultada. Não espera a gravação:
+     * a simulação só aparece em {@link #buscar} depois que o lote dela for gravado em disco.
+     */
+    long registrar(SimulacaoRequest request, List<SimulacaoResponse> cronograma);
+
+    Optional<SimulacaoArquivada> buscar(long id);
+}
@@ -1,9 +1,33 @@
 package com.izepon.calculadora_emprestimo.service;
 
+import com.izepon.calculadora_emprestimo.dto.Cronograma;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoLoteResponse;
 import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
 import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResumo;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CalculadoraEmprestimoService {
     List<SimulacaoResponse> calcular(SimulacaoRequest request);
+
+    Stream<SimulacaoResponse> calcularEmStream(SimulacaoRequest request);
+
+    /**
+     * Cronograma em colunas. Por padrão converte o resultado de {@link #calcular}; os motores preenchem as
+     * colunas diretamente, conforme as linhas são geradas.
+     */
+    default Cronograma calcularCronograma(SimulacaoRequest request) {
+        return Cronograma.de(calcular(request));
+    }
+
+    /**
+     * Totais da simulação. Por padrão derivados do resultado de {@link #calcular}; os motores somam as linhas
+     * em centavos conforme são geradas, sem montar o cronograma.
+     */
+    default SimulacaoResumo calcularResumo(SimulacaoRequest request) {
+        return SimulacaoResumo.de(calcular(request));
+    }
+
+    List<SimulacaoLoteResponse> calcularLote(List<SimulacaoRequest> requests);
 }
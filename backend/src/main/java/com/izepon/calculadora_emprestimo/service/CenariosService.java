@@ -0,0 +1,16 @@
+package com.izepon.calculadora_emprestimo.service;
+
+import com.izepon.calculadora_emprestimo.dto.CenariosRequest;
+import com.izepon.calculadora_emprestimo.dto.CenariosResponse;
+
+/**
+ * Avalia uma simulação numa grade de taxas de juros × datas finais de uma só vez, devolvendo só os totais
+ * pedidos de cada célula.
+ */
+public interface CenariosService {
+
+    /**
+     * Calcula todas as células da grade. Se alguma combinação for inválida, a grade inteira é recusada.
+     */
+    CenariosResponse calcular(CenariosRequest request);
+}
@@ -0,0 +1,23 @@
+package com.izepon.calculadora_emprestimo.service;
+
+import com.izepon.calculadora_emprestimo.dto.ResultadoExecucaoDistribuida;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Agregação de uma carteira grande dividida entre várias instâncias desta aplicação.
+ */
+public interface ExecucaoDistribuidaService {
+
+    /**
+     * Divide os contratos de {@code entrada} (formato de {@code ArquivoContratos}) em shards, manda cada shard ao
+     * {@code /carteira} de um dos {@code nos} e soma as carteiras devolvidas. Um shard que falha é reenviado a
+     * outro nó.
+     *
+     * @throws IllegalStateException se um shard esgotar as tentativas ou nenhum nó continuar disponível
+     */
+    ResultadoExecucaoDistribuida executar(Path entrada, List<URI> nos) throws IOException;
+}
@@ -0,0 +1,19 @@
+package com.izepon.calculadora_emprestimo.service;
+
+import com.izepon.calculadora_emprestimo.dto.ResultadoProcessamentoEmMassa;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Processamento offline de uma carteira inteira, de arquivo binário para arquivo binário.
+ */
+public interface ProcessamentoEmMassaService {
+
+    /**
+     * Calcula os contratos de {@code entrada} (formato de {@code ArquivoContratos}) em {@code particoes} partições
+     * paralelas, gravando um arquivo de cronogramas por partição em {@code diretorioSaida}. Pode ser executado
+     * de novo sobre o mesmo diretório após uma falha: as partições concluídas não são recalculadas.
+     */
+    ResultadoProcessamentoEmMassa processar(Path entrada, Path diretorioSaida, int particoes) throws IOException;
+}
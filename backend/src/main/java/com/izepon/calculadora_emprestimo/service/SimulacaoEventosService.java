@@ -0,0 +1,19 @@
+package com.izepon.calculadora_emprestimo.service;
+
+import com.izepon.calculadora_emprestimo.dto.EventoContrato;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+
+import java.util.List;
+
+/**
+ * Simulações "e se": o cronograma de uma simulação base com eventos aplicados no meio do contrato.
+ */
+public interface SimulacaoEventosService {
+
+    /**
+     * Cronograma da simulação {@code base} com os {@code eventos} aplicados nas suas datas. Sem eventos,
+     * devolve o mesmo cronograma de {@link CalculadoraEmprestimoService#calcular}.
+     */
+    List<SimulacaoResponse> calcular(SimulacaoRequest base, List<EventoContrato> eventos);
+}
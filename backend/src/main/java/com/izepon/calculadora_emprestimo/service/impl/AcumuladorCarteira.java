@@ -0,0 +1,179 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.CarteiraMesResponse;
+import com.izepon.calculadora_emprestimo.dto.CarteiraResponse;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Acumula, em centavos, os cronogramas de vários contratos por mês de competência. Cada linha é somada
+ * assim que chega e descartada, então a memória cresce com a quantidade de meses, não de contratos.
+ * <p>
+ * Não é thread-safe: cada bloco da agregação usa o seu e os resultados são combinados com {@link #juntar}.
+ */
+final class AcumuladorCarteira implements ConsumidorDeLinhas {
+
+    private static final int CAPACIDADE_INICIAL = 64;
+
+    private long contratos;
+    private long falhas;
+    private long valorEmprestado;
+
+    // Meses contados desde janeiro do ano 0; o índice nos arrays é a distância até primeiroMes.
+    private int primeiroMes;
+    private int quantidadeMeses;
+    private long[] juros = new long[CAPACIDADE_INICIAL];
+    private long[] amortizacoes = new long[CAPACIDADE_INICIAL];
+    private long[] pagos = new long[CAPACIDADE_INICIAL];
+    private long[] saldos = new long[CAPACIDADE_INICIAL];
+
+    // Estado do contrato em andamento: o mês da última linha e o saldo ao fim dela.
+    private int indiceMesAtual = -1;
+    private int inicioMesAtual;
+    private int fimMesAtual;
+    private long saldoAtual;
+
+    void iniciarContrato(long valorEmprestimoEmCentavos) {
+        contratos++;
+        valorEmprestado += valorEmprestimoEmCentavos;
+        indiceMesAtual = -1;
+    }
+
+    void encerrarContrato() {
+        fecharMes();
+    }
+
+    void registrarFalha() {
+        falhas++;
+    }
+
+    @Override
+    public void aceitar(int diaEpoca, int parcela, long saldo, long amortizacao, long jurosDoPeriodo,
+                        long acumulado, long pago) {
+        if (indiceMesAtual < 0 || diaEpoca < inicioMesAtual || diaEpoca > fimMesAtual) {
+            fecharMes();
+            // Só converte a data quando a linha muda de mês.
+            LocalDate data = LocalDate.ofEpochDay(diaEpoca);
+            inicioMesAtual = diaEpoca - data.getDayOfMonth() + 1;
+            fimMesAtual = inicioMesAtual + data.lengthOfMonth() - 1;
+            indiceMesAtual = indiceDoMes(mesDesdeAnoZero(data.getYear(), data.getMonthValue()));
+        }
+        juros[indiceMesAtual] += jurosDoPeriodo;
+        amortizacoes[indiceMesAtual] += amortizacao;
+        pagos[indiceMesAtual] += pago;
+        saldoAtual = saldo;
+    }
+
+    /**
+     * Soma os totais de {@code outro} neste acumulador.
+     */
+    void juntar(AcumuladorCarteira outro) {
+        contratos += outro.contratos;
+        falhas += outro.falhas;
+        valorEmprestado += outro.valorEmprestado;
+        for (int i = 0; i < outro.quantidadeMeses; i++) {
+            int indice = indiceDoMes(outro.primeiroMes + i);
+            juros[indice] += outro.juros[i];
+            amortizacoes[indice] += outro.amortizacoes[i];
+            pagos[indice] += outro.pagos[i];
+            saldos[indice] += outro.saldos[i];
+        }
+    }
+
+    /**
+     * Soma uma carteira já resumida, como a devolvida por outro nó. Os valores vêm em centavos exatos.
+     */
+    void juntar(CarteiraResponse outra) {
+        contratos += outra.contratos();
+        falhas += outra.falhas();
+        valorEmprestado += centavos(outra.valorEmprestado());
+        for (CarteiraMesResponse mes : outra.meses()) {
+            int indice = indiceDoMes(mesDesdeAnoZero(mes.mes().getYear(), mes.mes().getMonthValue()));
+            juros[indice] += centavos(mes.juros());
+            amortizacoes[indice] += centavos(mes.amortizacao());
+            pagos[indice] += centavos(mes.pago());
+            saldos[indice] += centavos(mes.saldoDevedor());
+        }
+    }
+
+    CarteiraResponse resumo() {
+        List<CarteiraMesResponse> meses = new ArrayList<>(quantidadeMeses);
+        long totalJuros = 0;
+        long totalAmortizacao = 0;
+        long totalPago = 0;
+        for (int i = 0; i < quantidadeMeses; i++) {
+            int mes = primeiroMes + i;
+            meses.add(new CarteiraMesResponse(
+                    YearMonth.of(Math.floorDiv(mes, 12), Math.floorMod(mes, 12) + 1),
+                    BigDecimal.valueOf(juros[i], 2),
+                    BigDecimal.valueOf(amortizacoes[i], 2),
+                    BigDecimal.valueOf(pagos[i], 2),
+                    BigDecimal.valueOf(saldos[i], 2)));
+            totalJuros += juros[i];
+            totalAmortizacao += amortizacoes[i];
+            totalPago += pagos[i];
+        }
+        return new CarteiraResponse(contratos, falhas, BigDecimal.valueOf(valorEmprestado, 2),
+                BigDecimal.valueOf(totalJuros, 2), BigDecimal.valueOf(totalAmortizacao, 2),
+                BigDecimal.valueOf(totalPago, 2), meses);
+    }
+
+    /**
+     * O saldo de um contrato num mês é o da sua última linha naquele mês.
+     */
+    private void fecharMes() {
+        if (indiceMesAtual >= 0) {
+            saldos[indiceMesAtual] += saldoAtual;
+            indiceMesAtual = -1;
+        }
+    }
+
+    private int indiceDoMes(int mes) {
+        if (quantidadeMeses == 0) {
+            primeiroMes = mes;
+        } else if (mes < primeiroMes) {
+            int deslocamento = primeiroMes - mes;
+            realocar(Math.max(juros.length, quantidadeMeses + deslocamento), deslocamento);
+            primeiroMes = mes;
+            quantidadeMeses += deslocamento;
+            if (indiceMesAtual >= 0) {
+                indiceMesAtual += deslocamento;
+            }
+        }
+        int indice = mes - primeiroMes;
+        if (indice >= juros.length) {
+            realocar(Math.max(juros.length * 2, indice + 1), 0);
+        }
+        quantidadeMeses = Math.max(quantidadeMeses, indice + 1);
+        return indice;
+    }
+
+    private void realocar(int capacidade, int deslocamento) {
+        juros = deslocar(juros, capacidade, deslocamento);
+        amortizacoes = deslocar(amortizacoes, capacidade, deslocamento);
+        pagos = deslocar(pagos, capacidade, deslocamento);
+        saldos = deslocar(saldos, capacidade, deslocamento);
+    }
+
+    private long[] deslocar(long[] valores, int capacidade, int deslocamento) {
+        if (deslocamento == 0) {
+            return Arrays.copyOf(valores, capacidade);
+        }
+        long[] novos = new long[capacidade];
+        System.arraycopy(valores, 0, novos, deslocamento, quantidadeMeses);
+        return novos;
+    }
+
+    private static long centavos(BigDecimal valor) {
+        return valor.movePointRight(2).longValueExact();
+    }
+
+    private static int mesDesdeAnoZero(int ano, int mes) {
+        return ano * 12 + mes - 1;
+    }
+}
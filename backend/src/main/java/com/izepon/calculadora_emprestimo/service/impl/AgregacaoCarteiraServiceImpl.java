@@ -0,0 +1,109 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.CarteiraResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.service.AgregacaoCarteiraService;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Agrega a carteira em blocos de {@value #TAMANHO_BLOCO} simulações, calculados em paralelo no pool do lote.
+ * Cada bloco soma as linhas num {@link AcumuladorCarteira} próprio, direto do gerador em centavos, e no máximo
+ * dois blocos por thread ficam em andamento: a leitura da entrada espera quando o cálculo não acompanha.
+ * <p>
+ * Simulações que não cabem no motor em centavos usam o motor {@code BigDecimal}, com cada valor arredondado
+ * para centavos antes de somar. As que nem assim cabem em {@code long} contam como falha, como as inválidas.
+ */
+@Service
+public class AgregacaoCarteiraServiceImpl implements AgregacaoCarteiraService {
+
+    static final int TAMANHO_BLOCO = 1024;
+
+    private final FatorJurosCache fatorJurosCache;
+    private final LinhaDoTempoCache linhaDoTempoCache;
+    private final ExecutorLoteSimulacao executorLote;
+    private final MetricasSimulacao metricas;
+
+    public AgregacaoCarteiraServiceImpl(FatorJurosCache fatorJurosCache, LinhaDoTempoCache linhaDoTempoCache,
+                                        ExecutorLoteSimulacao executorLote, MetricasSimulacao metricas) {
+        this.fatorJurosCache = fatorJurosCache;
+        this.linhaDoTempoCache = linhaDoTempoCache;
+        this.executorLote = executorLote;
+        this.metricas = metricas;
+    }
+
+    @Override
+    public CarteiraResponse agregar(Iterator<SimulacaoRequest> requests) {
+        int blocosEmAndamento = executorLote.paralelismo() * 2;
+        Deque<ForkJoinTask<AcumuladorCarteira>> pendentes = new ArrayDeque<>(blocosEmAndamento);
+        AcumuladorCarteira total = new AcumuladorCarteira();
+        try {
+            while (requests.hasNext()) {
+                List<SimulacaoRequest> bloco = new ArrayList<>(TAMANHO_BLOCO);
+                while (bloco.size() < TAMANHO_BLOCO && requests.hasNext()) {
+                    bloco.add(requests.next());
+                }
+                if (pendentes.size() == blocosEmAndamento) {
+                    total.juntar(pendentes.removeFirst().join());
+                }
+                pendentes.addLast(executorLote.submeter(() -> agregarBloco(bloco)));
+            }
+            while (!pendentes.isEmpty()) {
+                total.juntar(pendentes.removeFirst().join());
+            }
+        } finally {
+            pendentes.forEach(bloco -> bloco.cancel(true));
+        }
+        return total.resumo();
+    }
+
+    private AcumuladorCarteira agregarBloco(List<SimulacaoRequest> bloco) {
+        AcumuladorCarteira acumulador = new AcumuladorCarteira();
+        for (SimulacaoRequest request : bloco) {
+            if (request == null) {
+                acumulador.registrarFalha();
+                continue;
+            }
+            try {
+                metricas.validar(request);
+            } catch (IllegalArgumentException e) {
+                acumulador.registrarFalha();
+                continue;
+            }
+            LinhaDoTempo linhaDoTempo = metricas.medirDatas(() -> linhaDoTempoCache.obter(request));
+            if (GeradorCronogramaCentavos.suporta(request)) {
+                somarContrato(acumulador, request, linhaDoTempo);
+                continue;
+            }
+            // Fora do motor em centavos algum valor pode não caber em long. O contrato é somado à parte e só
+            // entra no bloco inteiro; se não couber, conta como falha em vez de interromper a agregação.
+            AcumuladorCarteira contrato = new AcumuladorCarteira();
+            try {
+                somarContrato(contrato, request, linhaDoTempo);
+            } catch (ArithmeticException e) {
+                acumulador.registrarFalha();
+                continue;
+            }
+            acumulador.juntar(contrato);
+        }
+        return acumulador;
+    }
+
+    private void somarContrato(AcumuladorCarteira acumulador, SimulacaoRequest request, LinhaDoTempo linhaDoTempo) {
+        acumulador.iniciarContrato(centavos(request.valorEmprestimo()));
+        GeradorCronogramaCentavos.percorrer(request, linhaDoTempo, fatorJurosCache, acumulador);
+        acumulador.encerrarContrato();
+    }
+
+    private static long centavos(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,33 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import java.math.BigDecimal;
+
+/**
+ * Bullet: as parcelas pagam só os juros e a última devolve o saldo inteiro.
+ */
+final class AmortizacaoBullet implements EstrategiaAmortizacao {
+
+    static final AmortizacaoBullet INSTANCIA = new AmortizacaoBullet();
+
+    private static final BigDecimal ZERO_CENTAVOS = BigDecimal.valueOf(0, 2);
+
+    private AmortizacaoBullet() {
+    }
+
+    @Override
+    public BigDecimal planejar(BigDecimal saldoDevedor, int parcelasRestantes, LinhaDoTempo linhaDoTempo, int inicio,
+                               int diaBase, FatorJurosCache.TabelaFatores fatoresJuros) {
+        return ZERO_CENTAVOS;
+    }
+
+    @Override
+    public long amortizacao(long planejado, long saldoDevedor, long juros, boolean ultimaParcela) {
+        return ultimaParcela ? saldoDevedor : 0;
+    }
+
+    @Override
+    public BigDecimal amortizacao(BigDecimal planejado, BigDecimal saldoDevedor, BigDecimal juros,
+                                  boolean ultimaParcela) {
+        return ultimaParcela ? EstrategiaAmortizacao.quitacao(saldoDevedor) : ZERO_CENTAVOS;
+    }
+}
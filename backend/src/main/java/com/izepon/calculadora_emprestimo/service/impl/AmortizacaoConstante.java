@@ -0,0 +1,33 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * SAC: o saldo dividido igualmente entre as parcelas restantes. O arredondamento da divisão não é acertado na
+ * última parcela, como no cálculo original; o saldo final pode ficar alguns centavos diferente de zero.
+ */
+final class AmortizacaoConstante implements EstrategiaAmortizacao {
+
+    static final AmortizacaoConstante INSTANCIA = new AmortizacaoConstante();
+
+    private AmortizacaoConstante() {
+    }
+
+    @Override
+    public BigDecimal planejar(BigDecimal saldoDevedor, int parcelasRestantes, LinhaDoTempo linhaDoTempo, int inicio,
+                               int diaBase, FatorJurosCache.TabelaFatores fatoresJuros) {
+        return saldoDevedor.divide(BigDecimal.valueOf(parcelasRestantes), 2, RoundingMode.HALF_EVEN);
+    }
+
+    @Override
+    public long amortizacao(long planejado, long saldoDevedor, long juros, boolean ultimaParcela) {
+        return planejado;
+    }
+
+    @Override
+    public BigDecimal amortizacao(BigDecimal planejado, BigDecimal saldoDevedor, BigDecimal juros,
+                                  boolean ultimaParcela) {
+        return planejado;
+    }
+}
@@ -0,0 +1,81 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Tabela Price com juros diários: a parcela fixa é o saldo dividido pela soma dos fatores de desconto de cada
+ * data de pagamento, descontando pelas mesmas datas e fatores que o cronograma usa. Primeiro período mais curto
+ * ou mais longo e meses de 28 a 31 dias entram no valor da parcela.
+ * <p>
+ * Entre dois pagamentos os juros das linhas intermediárias (fim de mês) se somam sem capitalizar, como no
+ * gerador, então o crescimento de um período é {@code 1 + Σ (fator(dias) - 1)} e não o produto dos fatores.
+ * A soma é feita em {@code double}: os termos são todos positivos e a parcela é arredondada para centavos, e
+ * os juros de cada linha também são, então a última parcela quita o saldo que sobrar e pode ficar alguns
+ * centavos diferente das demais.
+ */
+final class AmortizacaoPrice implements EstrategiaAmortizacao {
+
+    static final AmortizacaoPrice INSTANCIA = new AmortizacaoPrice();
+
+    private AmortizacaoPrice() {
+    }
+
+    @Override
+    public BigDecimal planejar(BigDecimal saldoDevedor, int parcelasRestantes, LinhaDoTempo linhaDoTempo, int inicio,
+                               int diaBase, FatorJurosCache.TabelaFatores fatoresJuros) {
+        // Entre duas datas há no máximo 31 dias, então os mesmos fatores se repetem em quase todas as linhas.
+        double[] taxasDoPeriodo = new double[FatorJurosCache.MAIOR_PERIODO_EM_DIAS + 1];
+        double desconto = 1;
+        double crescimento = 1;
+        double soma = 0;
+        int diaAnterior = diaBase;
+        for (int posicao = inicio; posicao < linhaDoTempo.tamanho(); posicao++) {
+            int dia = linhaDoTempo.diaEpoca(posicao);
+            crescimento += taxaDoPeriodo(taxasDoPeriodo, dia - diaAnterior, fatoresJuros);
+            diaAnterior = dia;
+            if (linhaDoTempo.pagamento(posicao)) {
+                desconto /= crescimento;
+                soma += desconto;
+                crescimento = 1;
+            }
+        }
+        return saldoDevedor.divide(new BigDecimal(soma), 2, RoundingMode.HALF_EVEN);
+    }
+
+    private static double taxaDoPeriodo(double[] taxas, int dias, FatorJurosCache.TabelaFatores fatoresJuros) {
+        if (dias < 0 || dias >= taxas.length) {
+            return fatoresJuros.fator(dias).doubleValue() - 1;
+        }
+        if (taxas[dias] == 0 && dias > 0) {
+            taxas[dias] = fatoresJuros.fator(dias).subtract(BigDecimal.ONE).doubleValue();
+        }
+        return taxas[dias];
+    }
+
+    @Override
+    public long amortizacao(long planejado, long saldoDevedor, long juros, boolean ultimaParcela) {
+        if (ultimaParcela) {
+            return saldoDevedor;
+        }
+        return Math.min(Math.max(planejado - juros, 0), saldoDevedor);
+    }
+
+    @Override
+    public BigDecimal amortizacao(BigDecimal planejado, BigDecimal saldoDevedor, BigDecimal juros,
+                                  boolean ultimaParcela) {
+        if (ultimaParcela) {
+            return EstrategiaAmortizacao.quitacao(saldoDevedor);
+        }
+        BigDecimal amortizacao = planejado.subtract(juros);
+        if (amortizacao.signum() < 0) {
+            return BigDecimal.valueOf(0, 2);
+        }
+        return amortizacao.compareTo(saldoDevedor) > 0 ? EstrategiaAmortizacao.quitacao(saldoDevedor) : amortizacao;
+    }
+
+    @Override
+    public boolean dependeDaTaxa() {
+        return true;
+    }
+}
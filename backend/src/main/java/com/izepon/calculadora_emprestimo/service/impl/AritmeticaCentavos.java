@@ -0,0 +1,124 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+/**
+ * Aritmética de ponto fixo em {@code long} usada pelo motor em centavos.
+ * <p>
+ * O produto de um valor em centavos por um fator escalado pode passar de 64 bits, então a
+ * multiplicação é feita em 128 bits e dividida de volta com arredondamento HALF_EVEN, reproduzindo
+ * exatamente o {@code setScale(2, RoundingMode.HALF_EVEN)} do cálculo com {@code BigDecimal}.
+ */
+final class AritmeticaCentavos {
+
+    /** Indica que o resultado não cabe em um {@code long}; quem chama deve usar {@code BigDecimal}. */
+    static final long FORA_DO_INTERVALO = Long.MIN_VALUE;
+
+    static final int MAIOR_ESCALA = 18;
+
+    private static final long[] POTENCIAS_DE_DEZ = new long[MAIOR_ESCALA + 1];
+
+    private static final long BASE_32 = 1L << 32;
+    private static final long MASCARA_32 = 0xFFFFFFFFL;
+
+    static {
+        long potencia = 1;
+        for (int i = 0; i <= MAIOR_ESCALA; i++) {
+            POTENCIAS_DE_DEZ[i] = potencia;
+            potencia *= 10;
+        }
+    }
+
+    private AritmeticaCentavos() {
+    }
+
+    static long potenciaDeDez(int expoente) {
+        return POTENCIAS_DE_DEZ[expoente];
+    }
+
+    /**
+     * Calcula {@code valor * fator / 10^escala} arredondado HALF_EVEN.
+     *
+     * @param valor   valor com sinal (ex.: saldo em centavos)
+     * @param fator   fator não negativo, já multiplicado por {@code 10^escala}
+     * @param escala  casas decimais do fator, de 0 a {@link #MAIOR_ESCALA}
+     * @return o resultado, ou {@link #FORA_DO_INTERVALO} se ele não couber em um {@code long}
+     */
+    static long multiplicarArredondando(long valor, long fator, int escala) {
+        if (valor == Long.MIN_VALUE || fator < 0) {
+            return FORA_DO_INTERVALO;
+        }
+        boolean negativo = valor < 0;
+        long modulo = negativo ? -valor : valor;
+        long divisor = POTENCIAS_DE_DEZ[escala];
+
+        long alto = Math.multiplyHigh(modulo, fator);
+        long baixo = modulo * fator;
+
+        long quociente;
+        long resto;
+        if (alto == 0 && baixo >= 0) {
+            quociente = baixo / divisor;
+            resto = baixo - quociente * divisor;
+        } else {
+            if (Long.compareUnsigned(alto, divisor) >= 0) {
+                return FORA_DO_INTERVALO;
+            }
+            long[] restoDivisao = new long[1];
+            quociente = dividir128(alto, baixo, divisor, restoDivisao);
+            resto = restoDivisao[0];
+            if (quociente < 0) {
+                return FORA_DO_INTERVALO;
+            }
+        }
+
+        // divisor <= 10^18, então 2 * resto ainda cabe em um long
+        long dobroDoResto = resto << 1;
+        if (dobroDoResto > divisor || (dobroDoResto == divisor && (quociente & 1) == 1)) {
+            quociente++;
+        }
+        return negativo ? -quociente : quociente;
+    }
+
+    /**
+     * Divide, sem sinal, o número de 128 bits {@code (alto, baixo)} por {@code divisor}.
+     * Exige {@code alto < divisor} para que o quociente caiba em 64 bits
+     * (algoritmo divlu de Hacker's Delight, com dígitos de 32 bits).
+     */
+    private static long dividir128(long alto, long baixo, long divisor, long[] resto) {
+        int deslocamento = Long.numberOfLeadingZeros(divisor);
+        long v = divisor << deslocamento;
+        long vn1 = v >>> 32;
+        long vn0 = v & MASCARA_32;
+
+        long un32 = deslocamento == 0 ? alto : (alto << deslocamento) | (baixo >>> (64 - deslocamento));
+        long un10 = baixo << deslocamento;
+        long un1 = un10 >>> 32;
+        long un0 = un10 & MASCARA_32;
+
+        long q1 = Long.divideUnsigned(un32, vn1);
+        long rhat = un32 - q1 * vn1;
+        while (Long.compareUnsigned(q1, BASE_32) >= 0
+                || Long.compareUnsigned(q1 * vn0, (rhat << 32) + un1) > 0) {
+            q1--;
+            rhat += vn1;
+            if (Long.compareUnsigned(rhat, BASE_32) >= 0) {
+                break;
+            }
+        }
+
+        long un21 = (un32 << 32) + un1 - q1 * v;
+
+        long q0 = Long.divideUnsigned(un21, vn1);
+        rhat = un21 - q0 * vn1;
+        while (Long.compareUnsigned(q0, BASE_32) >= 0
+                || Long.compareUnsigned(q0 * vn0, (rhat << 32) + un0) > 0) {
+            q0--;
+            rhat += vn1;
+            if (Long.compareUnsigned(rhat, BASE_32) >= 0) {
+                break;
+            }
+        }
+
+        resto[0] = ((un21 << 32) + un0 - q0 * v) >>> deslocamento;
+        return (q1 << 32) + q0;
+    }
+}
@@ -0,0 +1,158 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+/**
+ * Arquivo binário de contratos para o processamento em massa, com registros de largura fixa:
+ * <pre>
+ * cabeçalho (16 bytes): int mágico "CEMC" | int versão | long quantidade de contratos
+ * registro  (36 bytes): long id | int dataInicial | int dataFinal | int primeiroPagamento (dias desde 1970-01-01)
+ *                       | long valorEmprestimo (centavos) | long taxaJuros (percentual anual × 10^8)
+ * </pre>
+ * A largura fixa permite começar a leitura de cada partição direto na posição do seu primeiro contrato.
+ */
+public final class ArquivoContratos {
+
+    static final int MAGICO = 0x43454D43;
+    static final int VERSAO = 1;
+    static final int TAMANHO_CABECALHO = 16;
+    static final int TAMANHO_REGISTRO = 36;
+    static final int ESCALA_TAXA = 8;
+
+    public record Contrato(long id, SimulacaoRequest simulacao) {}
+
+    private ArquivoContratos() {
+    }
+
+    /**
+     * Lê o cabeçalho e devolve a quantidade de contratos, conferindo que o tamanho do arquivo bate com ela.
+     */
+    public static long quantidade(FileChannel canal) throws IOException {
+        ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO);
+        canal.read(cabecalho, 0);
+        cabecalho.flip();
+        if (cabecalho.remaining() < TAMANHO_CABECALHO || cabecalho.getInt() != MAGICO) {
+            throw new IllegalArgumentException("Não é um arquivo de contratos.");
+        }
+        int versao = cabecalho.getInt();
+        if (versao != VERSAO) {
+            throw new IllegalArgumentException("Versão de arquivo de contratos não suportada: " + versao);
+        }
+        long quantidade = cabecalho.getLong();
+        if (canal.size() != TAMANHO_CABECALHO + quantidade * TAMANHO_REGISTRO) {
+            throw new IllegalArgumentException("Tamanho do arquivo de contratos não corresponde a " + quantidade + " registros.");
+        }
+        return quantidade;
+    }
+
+    /**
+     * Abre a leitura sequencial dos registros a partir do registro {@code primeiro}, em janelas mapeadas: o
+     * trecho lido pode passar de 2 GB, o limite de um único {@code MappedByteBuffer}.
+     */
+    static ArquivoMapeado abrir(FileChannel canal, long primeiro) {
+        return new ArquivoMapeado(canal, FileChannel.MapMode.READ_ONLY, TAMANHO_CABECALHO + primeiro * TAMANHO_REGISTRO);
+    }
+
+    /**
+     * Lê o próximo registro de {@code registros}.
+     */
+    static Contrato ler(ArquivoMapeado registros) {
+        ByteBuffer registro = registros.reservar(TAMANHO_REGISTRO);
+        long id = registro.getLong();
+        LocalDate dataInicial = LocalDate.ofEpochDay(registro.getInt());
+        LocalDate dataFinal = LocalDate.ofEpochDay(registro.getInt());
+        LocalDate primeiroPagamento = LocalDate.ofEpochDay(registro.getInt());
+        BigDecimal valorEmprestimo = BigDecimal.valueOf(registro.getLong(), 2);
+        BigDecimal taxaJuros = BigDecimal.valueOf(registro.getLong(), ESCALA_TAXA).stripTrailingZeros();
+        return new Contrato(id, new SimulacaoRequest(dataInicial, dataFinal, primeiroPagamento, valorEmprestimo, taxaJuros));
+    }
+
+    /**
+     * Converte um CSV com cabeçalho {@code id,dataInicial,dataFinal,primeiroPagamento,valorEmprestimo,taxaJuros}
+     * (datas ISO, valor com até duas casas e taxa com até oito) no formato binário. Devolve a quantidade de contratos.
+     */
+    public static long converterCsv(Path csv, Path binario) throws IOException {
+        try (BufferedReader leitor = Files.newBufferedReader(csv, StandardCharsets.UTF_8);
+             FileChannel canal = FileChannel.open(binario, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ArquivoMapeado saida = new ArquivoMapeado(canal, FileChannel.MapMode.READ_WRITE, TAMANHO_CABECALHO);
+            long quantidade = 0;
+            String linha = leitor.readLine();
+            int numeroLinha = 1;
+            while ((linha = leitor.readLine()) != null) {
+                numeroLinha++;
+                if (linha.isBlank()) {
+                    continue;
+                }
+                escrever(saida.reservar(TAMANHO_REGISTRO), linha, numeroLinha);
+                quantidade++;
+            }
+            saida.forcar();
+            canal.truncate(TAMANHO_CABECALHO + quantidade * TAMANHO_REGISTRO);
+            escreverCabecalho(canal, quantidade);
+            return quantidade;
+        }
+    }
+
+    /**
+     * Grava os contratos informados num arquivo binário novo.
+     */
+    public static void escrever(Path binario, Iterable<Contrato> contratos) throws IOException {
+        try (FileChannel canal = FileChannel.open(binario, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ArquivoMapeado saida = new ArquivoMapeado(canal, FileChannel.MapMode.READ_WRITE, TAMANHO_CABECALHO);
+            long quantidade = 0;
+            for (Contrato contrato : contratos) {
+                escrever(saida.reservar(TAMANHO_REGISTRO), contrato);
+                quantidade++;
+            }
+            saida.forcar();
+            canal.truncate(TAMANHO_CABECALHO + quantidade * TAMANHO_REGISTRO);
+            escreverCabecalho(canal, quantidade);
+        }
+    }
+
+    private static void escrever(ByteBuffer saida, String linha, int numeroLinha) {
+        String[] campos = linha.split(",", -1);
+        if (campos.length != 6) {
+            throw new IllegalArgumentException("Linha " + numeroLinha + " do CSV deve ter 6 campos.");
+        }
+        try {
+            escrever(saida, new Contrato(
+                    Long.parseLong(campos[0].trim()),
+                    new SimulacaoRequest(
+                            LocalDate.parse(campos[1].trim()),
+                            LocalDate.parse(campos[2].trim()),
+                            LocalDate.parse(campos[3].trim()),
+                            new BigDecimal(campos[4].trim()),
+                            new BigDecimal(campos[5].trim()))));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Linha " + numeroLinha + " do CSV inválida: " + e.getMessage(), e);
+        }
+    }
+
+    private static void escrever(ByteBuffer saida, Contrato contrato) {
+        SimulacaoRequest simulacao = contrato.simulacao();
+        saida.putLong(contrato.id())
+                .putInt((int) simulacao.dataInicial().toEpochDay())
+                .putInt((int) simulacao.dataFinal().toEpochDay())
+                .putInt((int) simulacao.primeiroPagamento().toEpochDay())
+                .putLong(simulacao.valorEmprestimo().movePointRight(2).longValueExact())
+                .putLong(simulacao.taxaJuros().movePointRight(ESCALA_TAXA).longValueExact());
+    }
+
+    private static void escreverCabecalho(FileChannel canal, long quantidade) throws IOException {
+        canal.write(ByteBuffer.allocate(TAMANHO_CABECALHO).putInt(MAGICO).putInt(VERSAO).putLong(quantidade).flip(), 0);
+    }
+}
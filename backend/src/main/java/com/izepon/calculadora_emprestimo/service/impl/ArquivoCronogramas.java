@@ -0,0 +1,207 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.Cronograma;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Arquivo binário com os cronogramas de uma partição do processamento em massa, em centavos:
+ * <pre>
+ * cabeçalho (24 bytes): int mágico "CECR" | int versão | long quantidade de contratos | long quantidade de linhas
+ * contrato  (16 bytes): long id | int linhas | int situação (0 = calculado; n = falha na regra de ordinal n - 1)
+ * linha     (48 bytes): int dia (desde 1970-01-01) | int parcela (0 sem pagamento) | long saldo | long amortização
+ *                       | long juros do período | long juros acumulados | long valor pago
+ * </pre>
+ * O {@link Leitor} percorre o arquivo por janelas mapeadas e devolve cada contrato como {@link Cronograma}.
+ */
+public final class ArquivoCronogramas {
+
+    static final int MAGICO = 0x43454352;
+    static final int VERSAO = 1;
+    static final int TAMANHO_CABECALHO = 24;
+    static final int TAMANHO_CONTRATO = 16;
+    static final int TAMANHO_LINHA = 48;
+
+    private ArquivoCronogramas() {
+    }
+
+    /**
+     * Grava contratos em sequência: {@link #iniciarContrato} com a quantidade de linhas e, em seguida,
+     * exatamente essas linhas pelo {@link #aceitar}. O cabeçalho é gravado no {@link #close}.
+     */
+    static final class Escritor implements ConsumidorDeLinhas, AutoCloseable {
+
+        private final FileChannel canal;
+        private final ArquivoMapeado saida;
+        private long contratos;
+        private long linhas;
+
+        Escritor(Path arquivo) throws IOException {
+            this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.saida = new ArquivoMapeado(canal, FileChannel.MapMode.READ_WRITE, TAMANHO_CABECALHO);
+        }
+
+        void iniciarContrato(long id, int quantidadeLinhas) {
+            saida.reservar(TAMANHO_CONTRATO).putLong(id).putInt(quantidadeLinhas).putInt(0);
+            contratos++;
+            linhas += quantidadeLinhas;
+        }
+
+        void registrarFalha(long id, SimulacaoInvalidaException.Regra regra) {
+            saida.reservar(TAMANHO_CONTRATO).putLong(id).putInt(0).putInt(regra.ordinal() + 1);
+            contratos++;
+        }
+
+        @Override
+        public void aceitar(int diaEpoca, int parcela, long saldo, long amortizacao, long jurosDoPeriodo,
+                            long acumulado, long pago) {
+            saida.reservar(TAMANHO_LINHA)
+                    .putInt(diaEpoca)
+                    .putInt(parcela)
+                    .putLong(saldo)
+                    .putLong(amortizacao)
+                    .putLong(jurosDoPeriodo)
+                    .putLong(acumulado)
+                    .putLong(pago);
+        }
+
+        long contratos() {
+            return contratos;
+        }
+
+        long linhas() {
+            return linhas;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (canal) {
+                saida.forcar();
+                canal.truncate(saida.posicao());
+                canal.write(ByteBuffer.allocate(TAMANHO_CABECALHO)
+                        .putInt(MAGICO).putInt(VERSAO).putLong(contratos).putLong(linhas).flip(), 0);
+                canal.force(true);
+            }
+        }
+    }
+
+    /**
+     * Lê um arquivo de cronogramas contrato a contrato:
+     * <pre>
+     * try (Leitor leitor = Leitor.abrir(arquivo)) {
+     *     while (leitor.proximo()) { ... leitor.id(), leitor.falha(), leitor.cronograma() ... }
+     * }
+     * </pre>
+     */
+    public static final class Leitor implements AutoCloseable {
+
+        private final FileChannel canal;
+        private final ArquivoMapeado entrada;
+        private final long contratos;
+        private final long linhas;
+
+        private long lidos;
+        private long id;
+        private int linhasDoContrato;
+        private int situacao;
+        private boolean linhasPendentes;
+
+        private Leitor(FileChannel canal) throws IOException {
+            this.canal = canal;
+            ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO);
+            canal.read(cabecalho, 0);
+            cabecalho.flip();
+            if (cabecalho.remaining() < TAMANHO_CABECALHO || cabecalho.getInt() != MAGICO) {
+                throw new IllegalArgumentException("Não é um arquivo de cronogramas.");
+            }
+            int versao = cabecalho.getInt();
+            if (versao != VERSAO) {
+                throw new IllegalArgumentException("Versão de arquivo de cronogramas não suportada: " + versao);
+            }
+            this.contratos = cabecalho.getLong();
+            this.linhas = cabecalho.getLong();
+            this.entrada = new ArquivoMapeado(canal, FileChannel.MapMode.READ_ONLY, TAMANHO_CABECALHO);
+        }
+
+        public static Leitor abrir(Path arquivo) throws IOException {
+            FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+            try {
+                return new Leitor(canal);
+            } catch (RuntimeException | IOException e) {
+                canal.close();
+                throw e;
+            }
+        }
+
+        public long contratos() {
+            return contratos;
+        }
+
+        public long linhas() {
+            return linhas;
+        }
+
+        /**
+         * Avança para o próximo contrato, pulando as linhas do atual se elas não foram lidas.
+         */
+        public boolean proximo() {
+            if (linhasPendentes) {
+                entrada.pular((long) linhasDoContrato * TAMANHO_LINHA);
+            }
+            if (lidos == contratos) {
+                return false;
+            }
+            ByteBuffer buffer = entrada.reservar(TAMANHO_CONTRATO);
+            id = buffer.getLong();
+            linhasDoContrato = buffer.getInt();
+            situacao = buffer.getInt();
+            linhasPendentes = true;
+            lidos++;
+            return true;
+        }
+
+        public long id() {
+            return id;
+        }
+
+        /**
+         * Regra que recusou o contrato, ou {@code null} se ele foi calculado.
+         */
+        public SimulacaoInvalidaException.Regra falha() {
+            return situacao == 0 ? null : SimulacaoInvalidaException.Regra.values()[situacao - 1];
+        }
+
+        /**
+         * Linhas do contrato atual. O valor do empréstimo vem do saldo da primeira linha, a da data inicial.
+         */
+        public Cronograma cronograma() {
+            if (!linhasPendentes) {
+                throw new IllegalStateException("As linhas deste contrato já foram lidas.");
+            }
+            linhasPendentes = false;
+            Cronograma cronograma = null;
+            for (int i = 0; i < linhasDoContrato; i++) {
+                ByteBuffer buffer = entrada.reservar(TAMANHO_LINHA);
+                int dia = buffer.getInt();
+                int parcela = buffer.getInt();
+                long saldo = buffer.getLong();
+                if (cronograma == null) {
+                    cronograma = new Cronograma(saldo, linhasDoContrato);
+                }
+                cronograma.adicionarLinha(dia, parcela, saldo, buffer.getLong(), buffer.getLong(),
+                        buffer.getLong(), buffer.getLong());
+            }
+            return cronograma != null ? cronograma : new Cronograma(0, 0);
+        }
+
+        @Override
+        public void close() throws IOException {
+            canal.close();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Acesso sequencial a um arquivo por janelas mapeadas em memória. Um {@link MappedByteBuffer} cobre no máximo
+ * 2 GB, então o arquivo é percorrido em janelas de {@value #TAMANHO_JANELA} bytes, remapeadas quando o próximo
+ * registro não cabe no que resta da janela atual. Na escrita, mapear além do fim faz o arquivo crescer.
+ */
+final class ArquivoMapeado {
+
+    static final int TAMANHO_JANELA = 64 << 20;
+
+    private final FileChannel canal;
+    private final FileChannel.MapMode modo;
+    private MappedByteBuffer janela;
+    private long inicioJanela;
+
+    ArquivoMapeado(FileChannel canal, FileChannel.MapMode modo, long inicio) {
+        this.canal = canal;
+        this.modo = modo;
+        mapear(inicio, 0);
+    }
+
+    /**
+     * Devolve a janela posicionada onde cabem os próximos {@code bytes}.
+     */
+    ByteBuffer reservar(int bytes) {
+        if (janela.remaining() < bytes) {
+            mapear(posicao(), bytes);
+        }
+        return janela;
+    }
+
+    void pular(long bytes) {
+        if (bytes <= janela.remaining()) {
+            janela.position(janela.position() + (int) bytes);
+        } else {
+            mapear(posicao() + bytes, 0);
+        }
+    }
+
+    long posicao() {
+        return inicioJanela + janela.position();
+    }
+
+    void forcar() {
+        janela.force();
+    }
+
+    private void mapear(long inicio, int minimo) {
+        try {
+            long tamanho = modo == FileChannel.MapMode.READ_ONLY
+                    ? Math.min(TAMANHO_JANELA, canal.size() - inicio)
+                    : TAMANHO_JANELA;
+            if (tamanho < minimo) {
+                throw new IllegalStateException("Arquivo truncado: faltam " + (minimo - tamanho) + " bytes na posição " + inicio + ".");
+            }
+            if (janela != null && modo != FileChannel.MapMode.READ_ONLY) {
+                janela.force();
+            }
+            janela = canal.map(modo, inicio, Math.max(tamanho, 0));
+            inicioJanela = inicio;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
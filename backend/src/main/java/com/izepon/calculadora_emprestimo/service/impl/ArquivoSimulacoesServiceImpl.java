@@ -0,0 +1,292 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.SimulacaoArquivada;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.service.ArquivoSimulacoesService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Arquivo de simulações com gravação em segundo plano. O {@link #registrar} só reserva um id e põe a simulação
+ * numa fila sem trava; uma única thread escritora tira da fila lotes de até {@code calculadora.arquivo.lote}
+ * simulações, codifica cada uma (formato em {@link SegmentoSimulacoes}), grava o lote de uma vez e faz um só
+ * {@code fsync} por lote. Sob carga os lotes crescem e o custo do {@code fsync} se divide entre mais simulações;
+ * com pouca carga cada simulação vai sozinha e chega ao disco logo.
+ * <p>
+ * A fila é limitada em {@code calculadora.arquivo.fila} simulações pendentes. Cheia, a política
+ * {@link Sobrecarga#RECUSAR} faz a requisição falhar com 503 ({@link ArquivoSobrecarregadoException}) e a
+ * {@link Sobrecarga#DESCARTAR} responde sem guardar (sem id), contando o descarte na métrica.
+ * <p>
+ * Os arquivos passam para o seguinte ao chegar em {@code calculadora.arquivo.tamanho-segmento}. Na subida todos
+ * são abertos, o fim de um registro interrompido por uma queda é descartado e os ids continuam do maior gravado.
+ * Simulações ainda na fila durante uma queda se perdem; no encerramento normal a fila é esvaziada antes.
+ */
+@Service
+public class ArquivoSimulacoesServiceImpl implements ArquivoSimulacoesService, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ArquivoSimulacoesServiceImpl.class);
+
+    /**
+     * O escritor também acorda sozinho de tempos em tempos, para não depender só do aviso de quem enfileira.
+     */
+    private static final long ESPERA_MAXIMA_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    public enum Sobrecarga { RECUSAR, DESCARTAR }
+
+    private final boolean habilitado;
+    private final Path diretorio;
+    private final int capacidadeFila;
+    private final int tamanhoLote;
+    private final long tamanhoSegmento;
+    private final Sobrecarga sobrecarga;
+
+    private final ConcurrentLinkedQueue<Pendente> fila = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendentes = new AtomicInteger();
+    private final AtomicLong proximoId = new AtomicLong();
+    private final List<SegmentoSimulacoes> segmentos = new CopyOnWriteArrayList<>();
+    private final SegmentoSimulacoes.Registros registros = new SegmentoSimulacoes.Registros();
+    private final Thread escritor;
+    private volatile boolean aguardando;
+    private volatile boolean encerrando;
+
+    private final Counter gravadas;
+    private final Counter descartadas;
+    private final Counter recusadas;
+    private final Counter falhas;
+    private final Timer gravacao;
+    private final DistributionSummary lotes;
+
+    public ArquivoSimulacoesServiceImpl(
+            @Value("${calculadora.arquivo.habilitado:false}") boolean habilitado,
+            @Value("${calculadora.arquivo.diretorio:simulacoes}") Path diretorio,
+            @Value("${calculadora.arquivo.fila:1024}") int capacidadeFila,
+            @Value("${calculadora.arquivo.lote:512}") int tamanhoLote,
+            @Value("${calculadora.arquivo.tamanho-segmento:256MB}") DataSize tamanhoSegmento,
+            @Value("${calculadora.arquivo.sobrecarga:RECUSAR}") Sobrecarga sobrecarga,
+            MeterRegistry registry) throws IOException {
+        if (capacidadeFila < 1 || tamanhoLote < 1) {
+            throw new IllegalArgumentException("A fila e o lote do arquivo de simulações devem ser positivos.");
+        }
+        if (tamanhoSegmento.toBytes() < 1 || tamanhoSegmento.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("O tamanho do segmento do arquivo de simulações deve ficar entre 1 byte e 2 GB.");
+        }
+        this.habilitado = habilitado;
+        this.diretorio = diretorio;
+        this.capacidadeFila = capacidadeFila;
+        this.tamanhoLote = tamanhoLote;
+        this.tamanhoSegmento = tamanhoSegmento.toBytes();
+        this.sobrecarga = sobrecarga;
+        this.gravadas = resultado(registry, "gravada");
+        this.descartadas = resultado(registry, "descartada");
+        this.recusadas = resultado(registry, "recusada");
+        this.falhas = resultado(registry, "falha");
+        this.gravacao = Timer.builder("calculadora.arquivo.gravacao")
+                .description("Escrita e fsync de um lote de simulações")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.lotes = DistributionSummary.builder("calculadora.arquivo.lote")
+                .description("Simulações gravadas por fsync")
+                .baseUnit("simulacoes")
+                .register(registry);
+        if (!habilitado) {
+            this.escritor = null;
+            return;
+        }
+        abrirSegmentos();
+        this.escritor = new Thread(this::escrever, "arquivo-simulacoes");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    /**
+     * Registra o tamanho da fila. O gauge guarda esta instância, então fica fora do construtor: o Spring Boot
+     * liga o bean ao registro uma vez, e instâncias avulsas no mesmo registro não disputam o nome.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("calculadora.arquivo.fila", pendentes, AtomicInteger::get)
+                .description("Simulações aguardando gravação no arquivo")
+                .register(registry);
+    }
+
+    private static Counter resultado(MeterRegistry registry, String resultado) {
+        return Counter.builder("calculadora.arquivo.simulacoes")
+                .description("Simulações entregues ao arquivo, por resultado")
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    private void abrirSegmentos() throws IOException {
+        Files.createDirectories(diretorio);
+        List<Long> sequencias;
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            sequencias = arquivos.map(arquivo -> arquivo.getFileName().toString())
+                    .filter(nome -> nome.startsWith(SegmentoSimulacoes.PREFIXO) && nome.endsWith(SegmentoSimulacoes.SUFIXO))
+                    .map(nome -> Long.parseLong(nome.substring(SegmentoSimulacoes.PREFIXO.length(),
+                            nome.length() - SegmentoSimulacoes.SUFIXO.length())))
+                    .sorted()
+                    .toList();
+        }
+        long maiorId = -1;
+        for (long sequencia : sequencias) {
+            SegmentoSimulacoes segmento = SegmentoSimulacoes.abrir(diretorio, sequencia);
+            segmentos.add(segmento);
+            maiorId = Math.max(maiorId, segmento.maiorId());
+        }
+        if (segmentos.isEmpty()) {
+            segmentos.add(SegmentoSimulacoes.abrir(diretorio, 0));
+        }
+        proximoId.set(maiorId + 1);
+    }
+
+    @Override
+    public long registrar(SimulacaoRequest request, List<SimulacaoResponse> cronograma) {
+        if (!habilitado) {
+            return SEM_ID;
+        }
+        if (pendentes.incrementAndGet() > capacidadeFila) {
+            pendentes.decrementAndGet();
+            if (sobrecarga == Sobrecarga.RECUSAR) {
+                recusadas.increment();
+                throw new ArquivoSobrecarregadoException(capacidadeFila);
+            }
+            descartadas.increment();
+            return SEM_ID;
+        }
+        long id = proximoId.getAndIncrement();
+        fila.offer(new Pendente(id, System.currentTimeMillis(), request, cronograma));
+        if (aguardando) {
+            LockSupport.unpark(escritor);
+        }
+        return id;
+    }
+
+    @Override
+    public Optional<SimulacaoArquivada> buscar(long id) {
+        if (!habilitado || id < 0) {
+            return Optional.empty();
+        }
+        try {
+            // Os ids chegam ao escritor fora de ordem, então os intervalos de segmentos vizinhos podem se sobrepor:
+            // um segmento que cobre o id mas não o tem não encerra a busca.
+            for (int i = segmentos.size() - 1; i >= 0; i--) {
+                SegmentoSimulacoes segmento = segmentos.get(i);
+                if (segmento.contem(id)) {
+                    Optional<SimulacaoArquivada> simulacao = segmento.ler(id);
+                    if (simulacao.isPresent()) {
+                        return simulacao;
+                    }
+                }
+            }
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Quantas simulações ainda esperam gravação.
+     */
+    public int pendentes() {
+        return pendentes.get();
+    }
+
+    private void escrever() {
+        while (true) {
+            Pendente primeira = fila.poll();
+            if (primeira != null) {
+                gravarLote(primeira);
+            } else if (encerrando) {
+                return;
+            } else {
+                // Quem enfileira depois de "aguardando" ficar verdadeiro acorda o escritor; quem enfileirou antes
+                // é visto pela conferência da fila, então nenhuma simulação espera a próxima volta.
+                aguardando = true;
+                if (fila.isEmpty() && !encerrando) {
+                    LockSupport.parkNanos(this, ESPERA_MAXIMA_NANOS);
+                }
+                aguardando = false;
+            }
+        }
+    }
+
+    private void gravarLote(Pendente primeira) {
+        registros.reset();
+        int retiradas = 0;
+        Pendente pendente = primeira;
+        do {
+            retiradas++;
+            try {
+                registros.adicionar(pendente.id(), pendente.instante(), pendente.request(), pendente.cronograma());
+            } catch (IOException | RuntimeException e) {
+                falhas.increment();
+                log.error("Simulação {} não pôde ser codificada para o arquivo", pendente.id(), e);
+            }
+        } while (retiradas < tamanhoLote && (pendente = fila.poll()) != null);
+        pendentes.addAndGet(-retiradas);
+        if (registros.quantidade() == 0) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        try {
+            segmentoParaGravar().anexar(registros);
+            gravadas.increment(registros.quantidade());
+            lotes.record(registros.quantidade());
+        } catch (IOException | RuntimeException e) {
+            // Qualquer falha fica no lote: se escapasse, a única thread escritora pararia e a fila lotaria.
+            falhas.increment(registros.quantidade());
+            log.error("Lote de {} simulações não pôde ser gravado em {}", registros.quantidade(), diretorio, e);
+        }
+        gravacao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+    }
+
+    private SegmentoSimulacoes segmentoParaGravar() throws IOException {
+        SegmentoSimulacoes atual = segmentos.get(segmentos.size() - 1);
+        if (atual.tamanho() > 0 && atual.tamanho() + registros.size() > tamanhoSegmento) {
+            atual = SegmentoSimulacoes.abrir(diretorio, atual.sequencia() + 1);
+            segmentos.add(atual);
+        }
+        return atual;
+    }
+
+    @PreDestroy
+    public void encerrar() throws IOException, InterruptedException {
+        if (escritor == null) {
+            return;
+        }
+        encerrando = true;
+        LockSupport.unpark(escritor);
+        escritor.join();
+        for (SegmentoSimulacoes segmento : segmentos) {
+            segmento.close();
+        }
+    }
+
+    private record Pendente(long id, long instante, SimulacaoRequest request, List<SimulacaoResponse> cronograma) {
+    }
+}
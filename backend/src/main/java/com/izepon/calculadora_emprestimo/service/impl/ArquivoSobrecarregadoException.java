@@ -0,0 +1,16 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A fila de gravação do arquivo de simulações está cheia e a política é recusar: a simulação não é devolvida
+ * sem ter como ser guardada, e o cliente pode tentar de novo.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ArquivoSobrecarregadoException extends IllegalStateException {
+
+    public ArquivoSobrecarregadoException(int capacidade) {
+        super("A fila de gravação de simulações está cheia (" + capacidade + " pendentes).");
+    }
+}
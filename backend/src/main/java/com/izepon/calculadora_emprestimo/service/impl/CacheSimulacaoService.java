@@ -0,0 +1,72 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.service.CalculadoraEmprestimoService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cache em memória dos cronogramas já calculados, chaveado pela requisição exata.
+ * Uma requisição repetida devolve a lista guardada sem gerar o cronograma novamente.
+ * <p>
+ * A chave não ignora a escala dos valores: o cronograma repete a escala de {@code valorEmprestimo}, então
+ * {@code 10000} e {@code 10000.00} têm respostas diferentes e ocupam entradas separadas.
+ * <p>
+ * O limite de memória é aplicado pelo peso estimado de cada cronograma (bytes por linha),
+ * e as entradas também expiram após o TTL configurado.
+ * <p>
+ * Chamadas iguais que chegam enquanto a primeira ainda calcula esperam o carregamento dela. Elas entram na métrica
+ * do {@link CalculoCompartilhadoService} com {@code operacao=calcular}: {@code calculada} quando o carregamento
+ * roda e {@code compartilhada} quando a chamada não achou a entrada e recebeu o resultado de outra.
+ */
+public class CacheSimulacaoService extends CalculadoraEmprestimoServiceDecorator {
+
+    static final int BYTES_POR_LINHA = 400;
+    static final int BYTES_POR_ENTRADA = 256;
+
+    private final Cache<SimulacaoRequest, List<SimulacaoResponse>> cache;
+    private final Counter calculadas;
+    private final Counter compartilhadas;
+
+    public CacheSimulacaoService(CalculadoraEmprestimoService delegate, long memoriaMaximaEmBytes, Duration ttl,
+                                 MeterRegistry registry) {
+        super(delegate);
+        this.calculadas = CalculoCompartilhadoService.contador(registry, "calcular", "calculada");
+        this.compartilhadas = CalculoCompartilhadoService.contador(registry, "calcular", "compartilhada");
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(memoriaMaximaEmBytes)
+                .weigher((SimulacaoRequest chave, List<SimulacaoResponse> linhas) ->
+                        BYTES_POR_ENTRADA + linhas.size() * BYTES_POR_LINHA)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public List<SimulacaoResponse> calcular(SimulacaoRequest request) {
+        // A consulta silenciosa não conta nas estatísticas do cache; o get abaixo conta o acerto ou a falta.
+        boolean ausente = cache.policy().getIfPresentQuietly(request) == null;
+        AtomicBoolean calculou = new AtomicBoolean();
+        // Exceções de validação não são guardadas: o Caffeine só armazena quando o cálculo termina.
+        List<SimulacaoResponse> linhas = cache.get(request, chave -> {
+            calculou.set(true);
+            calculadas.increment();
+            return List.copyOf(delegate.calcular(chave));
+        });
+        if (ausente && !calculou.get()) {
+            compartilhadas.increment();
+        }
+        return linhas;
+    }
+
+    public Cache<SimulacaoRequest, List<SimulacaoResponse>> cache() {
+        return cache;
+    }
+}
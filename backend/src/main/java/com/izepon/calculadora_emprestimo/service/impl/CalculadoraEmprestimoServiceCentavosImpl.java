@@ -0,0 +1,99 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.Cronograma;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoLoteResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResumo;
+import com.izepon.calculadora_emprestimo.service.CalculadoraEmprestimoService;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Motor de cálculo em centavos ({@code long}), com os mesmos resultados do
+ * {@link CalculadoraEmprestimoServiceImpl}. Requisições que não cabem em centavos
+ * (valor com mais de duas casas decimais, por exemplo) são repassadas ao motor {@code BigDecimal}.
+ */
+@Service
+public class CalculadoraEmprestimoServiceCentavosImpl implements CalculadoraEmprestimoService {
+
+    private final FatorJurosCache fatorJurosCache;
+    private final LinhaDoTempoCache linhaDoTempoCache;
+    private final ExecutorLoteSimulacao executorLote;
+    private final CalculadoraEmprestimoServiceImpl motorBigDecimal;
+    private final MetricasSimulacao metricas;
+
+    public CalculadoraEmprestimoServiceCentavosImpl(FatorJurosCache fatorJurosCache,
+                                                   LinhaDoTempoCache linhaDoTempoCache,
+                                                   ExecutorLoteSimulacao executorLote,
+                                                   CalculadoraEmprestimoServiceImpl motorBigDecimal,
+                                                   MetricasSimulacao metricas) {
+        this.fatorJurosCache = fatorJurosCache;
+        this.linhaDoTempoCache = linhaDoTempoCache;
+        this.executorLote = executorLote;
+        this.motorBigDecimal = motorBigDecimal;
+        this.metricas = metricas;
+    }
+
+    @Override
+    public List<SimulacaoResponse> calcular(SimulacaoRequest request) {
+        metricas.validar(request);
+        if (!GeradorCronogramaCentavos.suporta(request)) {
+            return motorBigDecimal.gerarSimulacao(request);
+        }
+        GeradorCronogramaCentavos gerador = criarGerador(request);
+        List<SimulacaoResponse> resultados = metricas.medirCronograma(() -> {
+            List<SimulacaoResponse> linhas = new ArrayList<>();
+            gerador.forEachRemaining(linhas::add);
+            return linhas;
+        });
+        metricas.registrarLinhas(resultados.size());
+        return resultados;
+    }
+
+    @Override
+    public Stream<SimulacaoResponse> calcularEmStream(SimulacaoRequest request) {
+        metricas.validar(request);
+        if (!GeradorCronogramaCentavos.suporta(request)) {
+            return motorBigDecimal.gerarStream(request);
+        }
+        GeradorCronogramaCentavos gerador = criarGerador(request);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                        gerador, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> metricas.registrarLinhas(gerador.linhasGeradas()));
+    }
+
+    @Override
+    public Cronograma calcularCronograma(SimulacaoRequest request) {
+        metricas.validar(request);
+        if (!GeradorCronogramaCentavos.suporta(request)) {
+            return motorBigDecimal.gerarCronograma(request);
+        }
+        GeradorCronogramaCentavos gerador = criarGerador(request);
+        Cronograma cronograma = metricas.medirCronograma(gerador::preencher);
+        metricas.registrarLinhas(cronograma.tamanho());
+        return cronograma;
+    }
+
+    @Override
+    public SimulacaoResumo calcularResumo(SimulacaoRequest request) {
+        metricas.validar(request);
+        return motorBigDecimal.gerarResumo(request);
+    }
+
+    @Override
+    public List<SimulacaoLoteResponse> calcularLote(List<SimulacaoRequest> requests) {
+        return executorLote.executar(requests, this::calcular);
+    }
+
+    private GeradorCronogramaCentavos criarGerador(SimulacaoRequest request) {
+        LinhaDoTempo linhaDoTempo = metricas.medirDatas(() -> linhaDoTempoCache.obter(request));
+        return new GeradorCronogramaCentavos(request, linhaDoTempo, fatorJurosCache);
+    }
+}
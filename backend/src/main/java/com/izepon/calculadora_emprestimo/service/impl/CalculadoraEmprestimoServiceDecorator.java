@@ -0,0 +1,49 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.Cronograma;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoLoteResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResumo;
+import com.izepon.calculadora_emprestimo.service.CalculadoraEmprestimoService;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Base para as camadas que ficam na frente do motor de cálculo (cache, métricas etc.).
+ * Repassa todas as operações ao serviço decorado; cada camada sobrescreve só o que precisa.
+ */
+public abstract class CalculadoraEmprestimoServiceDecorator implements CalculadoraEmprestimoService {
+
+    protected final CalculadoraEmprestimoService delegate;
+
+    protected CalculadoraEmprestimoServiceDecorator(CalculadoraEmprestimoService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public List<SimulacaoResponse> calcular(SimulacaoRequest request) {
+        return delegate.calcular(request);
+    }
+
+    @Override
+    public Stream<SimulacaoResponse> calcularEmStream(SimulacaoRequest request) {
+        return delegate.calcularEmStream(request);
+    }
+
+    @Override
+    public Cronograma calcularCronograma(SimulacaoRequest request) {
+        return delegate.calcularCronograma(request);
+    }
+
+    @Override
+    public SimulacaoResumo calcularResumo(SimulacaoRequest request) {
+        return delegate.calcularResumo(request);
+    }
+
+    @Override
+    public List<SimulacaoLoteResponse> calcularLote(List<SimulacaoRequest> requests) {
+        return delegate.calcularLote(requests);
+    }
+}
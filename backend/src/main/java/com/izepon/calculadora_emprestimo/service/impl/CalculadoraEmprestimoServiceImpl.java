@@ -136,161 +136,128 @@ package com.izepon.calculadora_emprestimo.service.impl;
 //}
 
 
+import com.izepon.calculadora_emprestimo.dto.Cronograma;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoLoteResponse;
 import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
 import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResumo;
 import com.izepon.calculadora_emprestimo.service.CalculadoraEmprestimoService;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.LocalDate;
-import java.time.YearMonth;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
-import java.util.TreeSet;
-import java.util.stream.Collectors;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Service
 public class CalculadoraEmprestimoServiceImpl implements CalculadoraEmprestimoService {
 
-    private static final int BASE_DIAS_ANO = 360;
+    private final FatorJurosCache fatorJurosCache;
+    private final LinhaDoTempoCache linhaDoTempoCache;
+    private final ExecutorLoteSimulacao executorLote;
+    private final MetricasSimulacao metricas;
+
+    public CalculadoraEmprestimoServiceImpl(FatorJurosCache fatorJurosCache, LinhaDoTempoCache linhaDoTempoCache,
+                                            ExecutorLoteSimulacao executorLote, MetricasSimulacao metricas) {
+        this.fatorJurosCache = fatorJurosCache;
+        this.linhaDoTempoCache = linhaDoTempoCache;
+        this.executorLote = executorLote;
+        this.metricas = metricas;
+    }
 
     @Override
     public List<SimulacaoResponse> calcular(SimulacaoRequest request) {
-        validarRegras(request);
+        metricas.validar(request);
         return gerarSimulacao(request);
     }
 
-    private void validarRegras(SimulacaoRequest request) {
-        if (!request.dataFinal().isAfter(request.dataInicial())) {
-            throw new IllegalArgumentException("A data final deve ser maior que a data inicial.");
-        }
-        if (request.primeiroPagamento().isBefore(request.dataInicial())
-                || request.primeiroPagamento().isAfter(request.dataFinal())) {
-            throw new IllegalArgumentException("O primeiro pagamento deve estar entre a data inicial e a data final (inclusive).");
-        }
-        if (request.taxaJuros().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("A taxa de juros deve ser maior que zero.");
-        }
-        if (request.valorEmprestimo().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("O valor do empréstimo deve ser maior que zero.");
-        }
+    @Override
+    public Stream<SimulacaoResponse> calcularEmStream(SimulacaoRequest request) {
+        metricas.validar(request);
+        return gerarStream(request);
     }
 
-    private List<SimulacaoResponse> gerarSimulacao(SimulacaoRequest request) {
-        List<LocalDate> datasDeParcela = gerarDatasDeParcela(request.primeiroPagamento(), request.dataFinal());
-        Set<LocalDate> datasExibicaoSet = gerarDatasParaExibicao(request.dataInicial(), request.dataFinal(), datasDeParcela);
-        List<LocalDate> datasExibicao = datasExibicaoSet.stream().sorted().toList();
-
-        BigDecimal taxaJurosAnual = request.taxaJuros().divide(BigDecimal.valueOf(100), 20, RoundingMode.HALF_EVEN);
-
-        int totalParcelas = datasDeParcela.size();
-
-        BigDecimal valorAmortizacaoConstante = request.valorEmprestimo()
-                .divide(BigDecimal.valueOf(totalParcelas), 2, RoundingMode.HALF_EVEN);
-
-        BigDecimal saldoDevedor = request.valorEmprestimo();
-        BigDecimal jurosAcumulados = BigDecimal.ZERO;
-        LocalDate dataAnterior = request.dataInicial();
-        int indiceParcela = 0;
-
-        List<SimulacaoResponse> resultados = new ArrayList<>();
-
-        for (LocalDate dataCompetencia : datasExibicao) {
-            BigDecimal valorEmprestimoColuna = dataCompetencia.equals(request.dataInicial())
-                    ? request.valorEmprestimo() : BigDecimal.ZERO;
-
-            BigDecimal jurosDoPeriodoAtual;
-            if (dataCompetencia.equals(request.dataInicial())) {
-                jurosDoPeriodoAtual = BigDecimal.ZERO;
-            } else {
-                long diasNoPeriodo = ChronoUnit.DAYS.between(dataAnterior, dataCompetencia);
-
-                BigDecimal fatorJurosExponencial = BigDecimal.valueOf(Math.pow(
-                        (BigDecimal.ONE.add(taxaJurosAnual)).doubleValue(),
-                        (double) diasNoPeriodo / BASE_DIAS_ANO
-                ));
-
-                jurosDoPeriodoAtual = fatorJurosExponencial.subtract(BigDecimal.ONE)
-                        .multiply(saldoDevedor)
-                        .setScale(2, RoundingMode.HALF_EVEN);
-            }
-
-            jurosAcumulados = jurosAcumulados.add(jurosDoPeriodoAtual);
-
-            BigDecimal amortizacao = BigDecimal.ZERO;
-            BigDecimal totalParcela = BigDecimal.ZERO;
-            BigDecimal valorPago = BigDecimal.ZERO;
-            String parcelaConsolidada = "";
+    /**
+     * Preenche as colunas conforme as linhas são geradas, sem montar a lista de {@link SimulacaoResponse}.
+     */
+    @Override
+    public Cronograma calcularCronograma(SimulacaoRequest request) {
+        metricas.validar(request);
+        return gerarCronograma(request);
+    }
 
-            if (datasDeParcela.contains(dataCompetencia)) {
-                indiceParcela++;
-                parcelaConsolidada = indiceParcela + "/" + totalParcelas;
-                amortizacao = valorAmortizacaoConstante;
-                totalParcela = amortizacao.add(jurosAcumulados).setScale(2, RoundingMode.HALF_EVEN);
-                valorPago = totalParcela;
-                saldoDevedor = saldoDevedor.subtract(amortizacao);
-                jurosAcumulados = BigDecimal.ZERO;
-            }
+    /**
+     * Soma as linhas em centavos sem montá-las. Os totais são os mesmos do cronograma completo: juros,
+     * amortização e parcelas têm sempre duas casas, então somar em centavos é exato.
+     */
+    @Override
+    public SimulacaoResumo calcularResumo(SimulacaoRequest request) {
+        metricas.validar(request);
+        return gerarResumo(request);
+    }
 
-            resultados.add(new SimulacaoResponse(
-                    dataCompetencia,
-                    valorEmprestimoColuna,
-                    saldoDevedor.add(jurosAcumulados),
-                    parcelaConsolidada,
-                    totalParcela,
-                    amortizacao,
-                    saldoDevedor,
-                    jurosDoPeriodoAtual,
-                    jurosAcumulados,
-                    valorPago
-            ));
+    @Override
+    public List<SimulacaoLoteResponse> calcularLote(List<SimulacaoRequest> requests) {
+        return executorLote.executar(requests, this::calcular);
+    }
 
-            dataAnterior = dataCompetencia;
-        }
+    /**
+     * Calcula uma requisição já validada. Usado também pelo motor em centavos quando a requisição não cabe nele.
+     */
+    List<SimulacaoResponse> gerarSimulacao(SimulacaoRequest request) {
+        GeradorCronograma gerador = criarGerador(request);
+        List<SimulacaoResponse> resultados = metricas.medirCronograma(() -> {
+            List<SimulacaoResponse> linhas = new ArrayList<>();
+            gerador.forEachRemaining(linhas::add);
+            return linhas;
+        });
+        metricas.registrarLinhas(resultados.size());
         return resultados;
     }
 
-    private List<LocalDate> gerarDatasDeParcela(LocalDate dataPrimeiroPagamento, LocalDate dataFinal) {
-        int mesesIntervalo = (int) YearMonth.from(dataPrimeiroPagamento)
-                .until(YearMonth.from(dataFinal), ChronoUnit.MONTHS);
-
-        List<LocalDate> datas = new ArrayList<>();
-
-        for (int i = 0; i <= mesesIntervalo; i++) {
-            YearMonth ym = YearMonth.from(dataPrimeiroPagamento).plusMonths(i);
-            int diaVenc = Math.min(dataPrimeiroPagamento.getDayOfMonth(), ym.lengthOfMonth());
-            LocalDate parcela = LocalDate.of(ym.getYear(), ym.getMonth(), diaVenc);
-            if (!parcela.isAfter(dataFinal)) {
-                datas.add(parcela);
-            }
-        }
-
-        if (datas.isEmpty() || !datas.get(datas.size()-1).equals(dataFinal)) {
-            datas.add(dataFinal);
-        }
-
-        return datas;
+    /**
+     * Mesmo que {@link #gerarSimulacao}, mas sob demanda. As linhas são contadas quando o stream é fechado.
+     */
+    Stream<SimulacaoResponse> gerarStream(SimulacaoRequest request) {
+        GeradorCronograma gerador = criarGerador(request);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                        gerador, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> metricas.registrarLinhas(gerador.linhasGeradas()));
     }
 
-    private Set<LocalDate> gerarDatasParaExibicao(LocalDate dataInicial, LocalDate dataFinal, List<LocalDate> datasDeParcela) {
-        Set<LocalDate> datasExibicao = new TreeSet<>();
-        datasExibicao.add(dataInicial);
-
-        LocalDate dataIteracao = dataInicial;
-        while (!dataIteracao.isAfter(dataFinal)) {
-            datasExibicao.add(dataIteracao.withDayOfMonth(dataIteracao.lengthOfMonth()));
-            dataIteracao = dataIteracao.plusMonths(1);
-        }
-
-        datasExibicao.add(dataFinal);
+    /**
+     * Cronograma em colunas de uma requisição já validada, com os valores arredondados para centavos. Usado também
+     * pelo motor em centavos quando a requisição não cabe nele.
+     */
+    Cronograma gerarCronograma(SimulacaoRequest request) {
+        LinhaDoTempo linhaDoTempo = metricas.medirDatas(() -> linhaDoTempoCache.obter(request));
+        Cronograma cronograma = metricas.medirCronograma(() -> {
+            Cronograma colunas = new Cronograma(
+                    GeradorCronograma.centavos(request.valorEmprestimo()), linhaDoTempo.tamanho());
+            new GeradorCronograma(request, linhaDoTempo, fatorJurosCache).percorrer(colunas::adicionarLinha);
+            return colunas;
+        });
+        metricas.registrarLinhas(cronograma.tamanho());
+        return cronograma;
+    }
 
-        datasExibicao.addAll(datasDeParcela);
+    /**
+     * Resumo de uma requisição já validada, pelo motor em centavos quando ela cabe nele.
+     */
+    SimulacaoResumo gerarResumo(SimulacaoRequest request) {
+        LinhaDoTempo linhaDoTempo = metricas.medirDatas(() -> linhaDoTempoCache.obter(request));
+        ResumoCronograma resumo = new ResumoCronograma();
+        metricas.medirCronograma(() -> {
+            GeradorCronogramaCentavos.percorrer(request, linhaDoTempo, fatorJurosCache, resumo);
+            return resumo;
+        });
+        return resumo.resumo(request.valorEmprestimo());
+    }
 
-        return datasExibicao.stream()
-                .filter(data -> !data.isBefore(dataInicial) && !data.isAfter(dataFinal))
-                .collect(Collectors.toCollection(TreeSet::new));
+    private GeradorCronograma criarGerador(SimulacaoRequest request) {
+        LinhaDoTempo linhaDoTempo = metricas.medirDatas(() -> linhaDoTempoCache.obter(request));
+        return new GeradorCronograma(request, linhaDoTempo, fatorJurosCache);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,140 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.Cronograma;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResumo;
+import com.izepon.calculadora_emprestimo.service.CalculadoraEmprestimoService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Junta chamadas simultâneas com a mesma requisição num único cálculo: a primeira calcula e as que chegam enquanto
+ * ela está em andamento esperam o mesmo resultado, em vez de gerar o cronograma de novo. Cobre o pico de uma oferta
+ * divulgada, quando muitos clientes simulam exatamente o mesmo empréstimo ao mesmo tempo.
+ * <p>
+ * O cronograma em colunas e o resumo, que não são guardados no cache, são sempre juntados aqui. O {@code calcular}
+ * só é juntado aqui com {@code compartilharCalcular}, que o {@code ServicoConfig} liga quando o
+ * {@link CacheSimulacaoService} está desligado. Com o cache ligado, ele fica acima desta camada e o carregamento do
+ * Caffeine já faz as chamadas iguais esperarem o cálculo em andamento; o próprio cache conta essas esperas na mesma
+ * métrica, com {@code operacao=calcular}.
+ * <p>
+ * Cada operação tem um mapa de cálculos em andamento ({@link CompletableFuture} por requisição). A chave é a
+ * requisição exata, como no cache: {@code 10000} e {@code 10000.00} geram respostas com escalas diferentes e não
+ * podem dividir o mesmo resultado. A entrada sai do mapa assim que o cálculo termina, com sucesso ou erro, então o
+ * mapa só guarda o que está sendo calculado naquele instante. O resultado é entregue a todas as chamadas, por isso
+ * o {@code calcular} devolve uma lista imutável; o {@link Cronograma} e o {@link SimulacaoResumo} não mudam depois
+ * de gerados. Uma falha (validação, por exemplo) é repassada a todas as chamadas que esperavam.
+ * <p>
+ * O stream passa direto, porque é consumido sob demanda por um único cliente. Os itens do lote chegam aqui um a um,
+ * como chamadas ao {@code calcular}.
+ */
+public class CalculoCompartilhadoService extends CalculadoraEmprestimoServiceDecorator {
+
+    private final Operacao<List<SimulacaoResponse>> calcular;
+    private final Operacao<Cronograma> cronograma;
+    private final Operacao<SimulacaoResumo> resumo;
+
+    public CalculoCompartilhadoService(CalculadoraEmprestimoService delegate, MeterRegistry registry,
+                                       boolean compartilharCalcular) {
+        super(delegate);
+        this.calcular = compartilharCalcular
+                ? new Operacao<>("calcular", request -> List.copyOf(delegate.calcular(request)), registry)
+                : null;
+        this.cronograma = new Operacao<>("cronograma", delegate::calcularCronograma, registry);
+        this.resumo = new Operacao<>("resumo", delegate::calcularResumo, registry);
+    }
+
+    @Override
+    public List<SimulacaoResponse> calcular(SimulacaoRequest request) {
+        return calcular == null ? delegate.calcular(request) : calcular.executar(request);
+    }
+
+    @Override
+    public Cronograma calcularCronograma(SimulacaoRequest request) {
+        return cronograma.executar(request);
+    }
+
+    @Override
+    public SimulacaoResumo calcularResumo(SimulacaoRequest request) {
+        return resumo.executar(request);
+    }
+
+    /**
+     * Cálculos em andamento agora, somando as operações.
+     */
+    public int emAndamento() {
+        return (calcular == null ? 0 : calcular.emAndamento.size())
+                + cronograma.emAndamento.size() + resumo.emAndamento.size();
+    }
+
+    /**
+     * Contador de chamadas por operação e resultado ({@code calculada} ou {@code compartilhada}), também usado
+     * pelo {@link CacheSimulacaoService} para as esperas no carregamento do {@code calcular}.
+     */
+    static Counter contador(MeterRegistry registry, String operacao, String resultado) {
+        return Counter.builder("calculadora.simulacao.compartilhamento")
+                .description("Chamadas que calcularam e que aproveitaram um cálculo igual em andamento")
+                .tag("operacao", operacao)
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    private static final class Operacao<T> {
+
+        private final ConcurrentHashMap<SimulacaoRequest, CompletableFuture<T>> emAndamento = new ConcurrentHashMap<>();
+        private final Function<SimulacaoRequest, T> calculo;
+        private final Counter calculadas;
+        private final Counter compartilhadas;
+
+        Operacao(String nome, Function<SimulacaoRequest, T> calculo, MeterRegistry registry) {
+            this.calculo = calculo;
+            this.calculadas = contador(registry, nome, "calculada");
+            this.compartilhadas = contador(registry, nome, "compartilhada");
+        }
+
+        T executar(SimulacaoRequest request) {
+            CompletableFuture<T> proprio = new CompletableFuture<>();
+            CompletableFuture<T> existente = emAndamento.putIfAbsent(request, proprio);
+            if (existente != null) {
+                compartilhadas.increment();
+                return aguardar(existente);
+            }
+            calculadas.increment();
+            T resultado;
+            try {
+                resultado = calculo.apply(request);
+            } catch (RuntimeException | Error e) {
+                emAndamento.remove(request, proprio);
+                proprio.completeExceptionally(e);
+                throw e;
+            }
+            // Sai do mapa antes de completar: quem chegar depois do fim do cálculo calcula de novo, e só as
+            // chamadas que de fato coincidiram com ele contam como compartilhadas.
+            emAndamento.remove(request, proprio);
+            proprio.complete(resultado);
+            return resultado;
+        }
+
+        private static <T> T aguardar(CompletableFuture<T> existente) {
+            try {
+                return existente.join();
+            } catch (CompletionException e) {
+                // A mesma exceção do cálculo, para que quem esperava receba a mesma resposta de erro.
+                if (e.getCause() instanceof RuntimeException causa) {
+                    throw causa;
+                }
+                if (e.getCause() instanceof Error causa) {
+                    throw causa;
+                }
+                throw e;
+            }
+        }
+    }
+}
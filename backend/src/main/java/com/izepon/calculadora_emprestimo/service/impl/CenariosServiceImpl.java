@@ -0,0 +1,123 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.CenariosRequest;
+import com.izepon.calculadora_emprestimo.dto.CenariosResponse;
+import com.izepon.calculadora_emprestimo.dto.MetricaCenario;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.service.CenariosService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Calcula a grade compartilhando o que se repete entre as células: a {@link LinhaDoTempo} de cada data final
+ * é gerada uma vez e serve a todas as taxas, e os fatores de juros em ponto fixo de cada taxa são preparados
+ * uma vez e servem a todas as datas. As células são percorridas em paralelo no pool do lote, direto do gerador
+ * em centavos para um {@link ResumoCronograma}, sem montar linhas.
+ * <p>
+ * As regras de validação dependem de cada campo isoladamente, então validar cada taxa e cada data final uma
+ * vez equivale a validar todas as combinações.
+ */
+@Service
+public class CenariosServiceImpl implements CenariosService {
+
+    private static final List<MetricaCenario> TODAS_AS_METRICAS = List.of(MetricaCenario.values());
+
+    private final FatorJurosCache fatorJurosCache;
+    private final LinhaDoTempoCache linhaDoTempoCache;
+    private final ExecutorLoteSimulacao executorLote;
+    private final MetricasSimulacao metricas;
+    private final int maximoCelulas;
+
+    public CenariosServiceImpl(FatorJurosCache fatorJurosCache, LinhaDoTempoCache linhaDoTempoCache,
+                               ExecutorLoteSimulacao executorLote, MetricasSimulacao metricas,
+                               @Value("${calculadora.cenarios.maximo-celulas:10000}") int maximoCelulas) {
+        this.fatorJurosCache = fatorJurosCache;
+        this.linhaDoTempoCache = linhaDoTempoCache;
+        this.executorLote = executorLote;
+        this.metricas = metricas;
+        this.maximoCelulas = maximoCelulas;
+    }
+
+    @Override
+    public CenariosResponse calcular(CenariosRequest request) {
+        SimulacaoRequest base = request.simulacao();
+        List<BigDecimal> taxas = request.taxasJuros();
+        List<LocalDate> datas = request.datasFinais();
+        if (base == null || taxas == null || taxas.isEmpty() || datas == null || datas.isEmpty()) {
+            throw new SimulacaoInvalidaException(SimulacaoInvalidaException.Regra.CAMPOS_OBRIGATORIOS,
+                    "A simulação base e pelo menos uma taxa de juros e uma data final são obrigatórias.");
+        }
+        long celulas = (long) taxas.size() * datas.size();
+        if (celulas > maximoCelulas) {
+            throw new IllegalArgumentException("A grade deve conter no máximo " + maximoCelulas + " cenários.");
+        }
+        List<MetricaCenario> metricasPedidas = request.metricas() == null || request.metricas().isEmpty()
+                ? TODAS_AS_METRICAS : request.metricas().stream().distinct().toList();
+
+        for (BigDecimal taxa : taxas) {
+            metricas.validar(celula(base, taxa, datas.get(0)));
+        }
+        LinhaDoTempo[] linhasDoTempo = new LinhaDoTempo[datas.size()];
+        for (int j = 0; j < linhasDoTempo.length; j++) {
+            SimulacaoRequest porData = celula(base, taxas.get(0), datas.get(j));
+            metricas.validar(porData);
+            linhasDoTempo[j] = metricas.medirDatas(() -> linhaDoTempoCache.obter(porData));
+        }
+        boolean emCentavos = GeradorCronogramaCentavos.suporta(base);
+        GeradorCronogramaCentavos.FatoresEscalados[] fatores =
+                new GeradorCronogramaCentavos.FatoresEscalados[taxas.size()];
+        if (emCentavos) {
+            for (int i = 0; i < fatores.length; i++) {
+                fatores[i] = new GeradorCronogramaCentavos.FatoresEscalados(fatorJurosCache, taxas.get(i))
+                        .prepararTodos();
+            }
+        }
+
+        long[][] valores = new long[metricasPedidas.size()][(int) celulas];
+        // Cada célula escreve só nas suas posições; o join publica os valores para esta thread.
+        executorLote.submeter(() -> {
+            IntStream.range(0, (int) celulas).parallel().forEach(celula -> {
+                int i = celula / datas.size();
+                int j = celula % datas.size();
+                SimulacaoRequest cenario = celula(base, taxas.get(i), datas.get(j));
+                ResumoCronograma resumo = new ResumoCronograma();
+                if (emCentavos) {
+                    new GeradorCronogramaCentavos(cenario, linhasDoTempo[j], fatores[i]).percorrer(resumo);
+                } else {
+                    new GeradorCronograma(cenario, linhasDoTempo[j], fatorJurosCache).percorrer(resumo);
+                }
+                for (int k = 0; k < valores.length; k++) {
+                    valores[k][celula] = resumo.centavos(metricasPedidas.get(k));
+                }
+            });
+            return null;
+        }).join();
+
+        Map<MetricaCenario, List<List<BigDecimal>>> resultado = new EnumMap<>(MetricaCenario.class);
+        for (int k = 0; k < valores.length; k++) {
+            List<List<BigDecimal>> linhas = new ArrayList<>(taxas.size());
+            for (int i = 0; i < taxas.size(); i++) {
+                int inicio = i * datas.size();
+                linhas.add(Arrays.stream(valores[k], inicio, inicio + datas.size())
+                        .mapToObj(centavos -> BigDecimal.valueOf(centavos, 2))
+                        .toList());
+            }
+            resultado.put(metricasPedidas.get(k), linhas);
+        }
+        return new CenariosResponse(taxas, datas, resultado);
+    }
+
+    private static SimulacaoRequest celula(SimulacaoRequest base, BigDecimal taxaJuros, LocalDate dataFinal) {
+        return new SimulacaoRequest(base.dataInicial(), dataFinal, base.primeiroPagamento(), base.valorEmprestimo(),
+                taxaJuros, base.sistemaAmortizacao());
+    }
+}
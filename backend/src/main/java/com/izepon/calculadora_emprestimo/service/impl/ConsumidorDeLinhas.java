@@ -0,0 +1,11 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+/**
+ * Recebe as linhas do cronograma em centavos, uma a uma, na mesma forma de
+ * {@link com.izepon.calculadora_emprestimo.dto.Cronograma#adicionarLinha(int, int, long, long, long, long, long)}.
+ */
+@FunctionalInterface
+interface ConsumidorDeLinhas {
+
+    void aceitar(int diaEpoca, int parcela, long saldo, long amortizacao, long jurosDoPeriodo, long acumulado, long pago);
+}
@@ -0,0 +1,56 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.SistemaAmortizacao;
+
+import java.math.BigDecimal;
+
+/**
+ * Regra de amortização de um {@link SistemaAmortizacao}. Os geradores de cronograma cuidam das datas, dos juros
+ * e dos eventos, e só perguntam à estratégia quanto do principal cada parcela devolve.
+ * <p>
+ * O valor planejado é calculado uma vez no início e de novo quando um evento muda o saldo, as parcelas restantes
+ * ou (se a estratégia depender dela) a taxa. Em cada parcela a estratégia combina esse valor com o saldo e os
+ * juros acumulados, em centavos no {@link GeradorCronogramaCentavos} e em {@code BigDecimal} no
+ * {@link GeradorCronograma}; as duas versões precisam dar o mesmo resultado quando os valores cabem em centavos.
+ */
+interface EstrategiaAmortizacao {
+
+    static EstrategiaAmortizacao de(SistemaAmortizacao sistema) {
+        return switch (sistema) {
+            case SAC -> AmortizacaoConstante.INSTANCIA;
+            case PRICE -> AmortizacaoPrice.INSTANCIA;
+            case BULLET -> AmortizacaoBullet.INSTANCIA;
+        };
+    }
+
+    /**
+     * Valor, com duas casas, que vale para as parcelas seguintes até o próximo planejamento.
+     *
+     * @param saldoDevedor      saldo a amortizar nas parcelas restantes
+     * @param parcelasRestantes parcelas ainda não pagas (sempre maior que zero)
+     * @param linhaDoTempo      datas do cronograma
+     * @param inicio            posição da primeira data ainda não processada
+     * @param diaBase           dia (desde a época) até o qual os juros já foram calculados
+     * @param fatoresJuros      fatores da taxa em vigor
+     */
+    BigDecimal planejar(BigDecimal saldoDevedor, int parcelasRestantes, LinhaDoTempo linhaDoTempo, int inicio,
+                        int diaBase, FatorJurosCache.TabelaFatores fatoresJuros);
+
+    long amortizacao(long planejado, long saldoDevedor, long juros, boolean ultimaParcela);
+
+    BigDecimal amortizacao(BigDecimal planejado, BigDecimal saldoDevedor, BigDecimal juros, boolean ultimaParcela);
+
+    /**
+     * O saldo inteiro como amortização da última parcela, com pelo menos duas casas como as demais amortizações.
+     */
+    static BigDecimal quitacao(BigDecimal saldoDevedor) {
+        return saldoDevedor.scale() >= 2 ? saldoDevedor : saldoDevedor.setScale(2);
+    }
+
+    /**
+     * Se o valor planejado deve ser recalculado quando a taxa muda no meio do contrato.
+     */
+    default boolean dependeDaTaxa() {
+        return false;
+    }
+}
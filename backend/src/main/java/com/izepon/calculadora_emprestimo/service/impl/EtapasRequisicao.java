@@ -0,0 +1,34 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+/**
+ * Tempos de cada etapa da requisição em andamento na thread atual, para anexar às requisições lentas.
+ * Só acumula entre {@link #iniciar()} e {@link #encerrar()}; fora disso {@link #somar} não faz nada.
+ */
+final class EtapasRequisicao {
+
+    static final int VALIDACAO = 0;
+    static final int DATAS = 1;
+    static final int CRONOGRAMA = 2;
+
+    private static final ThreadLocal<long[]> ATUAL = new ThreadLocal<>();
+
+    private EtapasRequisicao() {
+    }
+
+    static long[] iniciar() {
+        long[] nanos = new long[3];
+        ATUAL.set(nanos);
+        return nanos;
+    }
+
+    static void encerrar() {
+        ATUAL.remove();
+    }
+
+    static void somar(int etapa, long nanos) {
+        long[] atual = ATUAL.get();
+        if (atual != null) {
+            atual[etapa] += nanos;
+        }
+    }
+}
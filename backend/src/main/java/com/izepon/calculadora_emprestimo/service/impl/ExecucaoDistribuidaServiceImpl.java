@@ -0,0 +1,299 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.izepon.calculadora_emprestimo.dto.CarteiraResponse;
+import com.izepon.calculadora_emprestimo.dto.DesempenhoNo;
+import com.izepon.calculadora_emprestimo.dto.ResultadoExecucaoDistribuida;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.service.ExecucaoDistribuidaService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Coordenador da execução distribuída. Os nós são instâncias comuns desta aplicação: cada shard de até
+ * {@code calculadora.distribuido.tamanho-shard} contratos vai como NDJSON ao {@code POST /carteira} de um nó, que
+ * agrega com o {@link AgregacaoCarteiraServiceImpl} e devolve só os totais. O coordenador soma as carteiras em
+ * centavos num {@link AcumuladorCarteira}, então o resultado é o mesmo de uma agregação num nó só.
+ * <p>
+ * Os shards ficam numa fila única e cada nó tem {@code calculadora.distribuido.requisicoes-por-no} threads
+ * tirando shards dela: um nó mais rápido simplesmente pega mais shards. Uma requisição que falha (erro de
+ * conexão, tempo esgotado ou status diferente de 200) devolve o shard à fila para um nó em que ele ainda não falhou, até
+ * {@code calculadora.distribuido.tentativas} envios; depois de {@value #FALHAS_SEGUIDAS_PARA_DESCARTAR} falhas
+ * seguidas o nó deixa de receber shards. Os shards são lidos do arquivo mapeado só na hora do envio.
+ */
+@Service
+public class ExecucaoDistribuidaServiceImpl implements ExecucaoDistribuidaService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecucaoDistribuidaServiceImpl.class);
+
+    static final String CAMINHO_CARTEIRA = "/api/calculadora-emprestimo/carteira";
+    static final int FALHAS_SEGUIDAS_PARA_DESCARTAR = 3;
+    private static final long ESPERA_POR_SHARD_MS = 50;
+
+    private final ObjectWriter requestWriter;
+    private final ObjectReader carteiraReader;
+    private final HttpClient cliente;
+    private final int tamanhoShard;
+    private final int requisicoesPorNo;
+    private final int tentativas;
+    private final Duration tempoLimite;
+
+    public ExecucaoDistribuidaServiceImpl(
+            ObjectMapper objectMapper,
+            @Value("${calculadora.distribuido.tamanho-shard:10000}") int tamanhoShard,
+            @Value("${calculadora.distribuido.requisicoes-por-no:2}") int requisicoesPorNo,
+            @Value("${calculadora.distribuido.tentativas:3}") int tentativas,
+            @Value("${calculadora.distribuido.tempo-limite:5m}") Duration tempoLimite) {
+        if (tamanhoShard < 1 || requisicoesPorNo < 1 || tentativas < 1) {
+            throw new IllegalArgumentException("Tamanho do shard, requisições por nó e tentativas devem ser positivos.");
+        }
+        this.requestWriter = objectMapper.writerFor(SimulacaoRequest.class);
+        this.carteiraReader = objectMapper.readerFor(CarteiraResponse.class);
+        this.cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        this.tamanhoShard = tamanhoShard;
+        this.requisicoesPorNo = requisicoesPorNo;
+        this.tentativas = tentativas;
+        this.tempoLimite = tempoLimite;
+    }
+
+    @Override
+    public ResultadoExecucaoDistribuida executar(Path entrada, List<URI> nos) throws IOException {
+        if (nos.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um nó para a execução distribuída.");
+        }
+        long inicio = System.nanoTime();
+        try (FileChannel canal = FileChannel.open(entrada, StandardOpenOption.READ)) {
+            Execucao execucao = new Execucao(canal, ArquivoContratos.quantidade(canal), nos);
+            ExecutorService threads = Executors.newFixedThreadPool(nos.size() * requisicoesPorNo);
+            try {
+                List<Future<?>> tarefas = new ArrayList<>();
+                for (No no : execucao.nos) {
+                    for (int i = 0; i < requisicoesPorNo; i++) {
+                        tarefas.add(threads.submit(() -> execucao.atender(no)));
+                    }
+                }
+                for (Future<?> tarefa : tarefas) {
+                    aguardar(tarefa);
+                }
+            } finally {
+                threads.shutdownNow();
+            }
+            execucao.verificarConclusao();
+            Duration duracao = Duration.ofNanos(System.nanoTime() - inicio);
+            return new ResultadoExecucaoDistribuida(execucao.total.resumo(), execucao.quantidadeShards,
+                    execucao.reenvios.get(), duracao, execucao.nos.stream().map(no -> no.desempenho(duracao)).toList());
+        }
+    }
+
+    private static void aguardar(Future<?> tarefa) {
+        try {
+            tarefa.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Execução distribuída interrompida.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha inesperada no envio de shards.", e.getCause());
+        }
+    }
+
+    /**
+     * Um intervalo de contratos do arquivo e os nós em que ele já falhou.
+     */
+    private record Shard(int indice, long primeiro, int quantidade, int envios, Set<No> falharam) {
+
+        Shard reenvio(No falhou) {
+            Set<No> nos = new HashSet<>(falharam);
+            nos.add(falhou);
+            return new Shard(indice, primeiro, quantidade, envios + 1, Set.copyOf(nos));
+        }
+    }
+
+    private static final class No {
+
+        private final URI endereco;
+        private final URI carteira;
+        private final AtomicInteger shards = new AtomicInteger();
+        private final AtomicLong contratos = new AtomicLong();
+        private final AtomicInteger falhas = new AtomicInteger();
+        private final AtomicInteger falhasSeguidas = new AtomicInteger();
+        private volatile boolean descartado;
+
+        No(URI endereco) {
+            this.endereco = endereco;
+            this.carteira = endereco.resolve(CAMINHO_CARTEIRA);
+        }
+
+        DesempenhoNo desempenho(Duration duracao) {
+            double segundos = duracao.toNanos() / 1_000_000_000.0;
+            return new DesempenhoNo(endereco.toString(), shards.get(), contratos.get(), falhas.get(),
+                    descartado, segundos == 0 ? 0 : contratos.get() / segundos);
+        }
+    }
+
+    /**
+     * Estado de uma chamada a {@link #executar}: a fila de shards, os nós e a carteira somada.
+     */
+    private final class Execucao {
+
+        private final FileChannel canal;
+        private final List<No> nos;
+        private final int quantidadeShards;
+        private final LinkedBlockingQueue<Shard> fila = new LinkedBlockingQueue<>();
+        private final AtomicInteger restantes;
+        private final AtomicInteger reenvios = new AtomicInteger();
+        private final AtomicReference<IllegalStateException> erro = new AtomicReference<>();
+        private final AcumuladorCarteira total = new AcumuladorCarteira();
+
+        Execucao(FileChannel canal, long quantidadeContratos, List<URI> enderecos) {
+            this.canal = canal;
+            this.nos = enderecos.stream().map(No::new).toList();
+            this.quantidadeShards = (int) ((quantidadeContratos + tamanhoShard - 1) / tamanhoShard);
+            for (int indice = 0; indice < quantidadeShards; indice++) {
+                long primeiro = (long) indice * tamanhoShard;
+                int quantidade = (int) Math.min(tamanhoShard, quantidadeContratos - primeiro);
+                fila.add(new Shard(indice, primeiro, quantidade, 1, Set.of()));
+            }
+            this.restantes = new AtomicInteger(quantidadeShards);
+        }
+
+        /**
+         * Laço de uma thread de um nó: tira shards da fila até acabarem, até o nó ser descartado ou até a execução
+         * falhar. Com a fila vazia e shards ainda em andamento em outros nós, espera: um deles pode voltar.
+         */
+        void atender(No no) {
+            while (!no.descartado && erro.get() == null && restantes.get() > 0) {
+                Shard shard;
+                try {
+                    shard = fila.poll(ESPERA_POR_SHARD_MS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (shard == null) {
+                    continue;
+                }
+                if (shard.falharam().contains(no) && outroNoPodeReceber(shard)) {
+                    // Um reenvio vai para um nó em que o shard ainda não falhou, se houver algum ativo.
+                    fila.add(shard);
+                    try {
+                        Thread.sleep(ESPERA_POR_SHARD_MS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    continue;
+                }
+                enviar(no, shard);
+            }
+        }
+
+        private boolean outroNoPodeReceber(Shard shard) {
+            return nos.stream().anyMatch(outro -> !outro.descartado && !shard.falharam().contains(outro));
+        }
+
+        private void enviar(No no, Shard shard) {
+            CarteiraResponse carteira;
+            try {
+                carteira = postar(no, shard);
+            } catch (IOException | RuntimeException e) {
+                falhou(no, shard, e);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fila.add(shard);
+                return;
+            }
+            synchronized (total) {
+                total.juntar(carteira);
+            }
+            no.falhasSeguidas.set(0);
+            no.shards.incrementAndGet();
+            no.contratos.addAndGet(shard.quantidade());
+            restantes.decrementAndGet();
+        }
+
+        private CarteiraResponse postar(No no, Shard shard) throws IOException, InterruptedException {
+            HttpRequest requisicao = HttpRequest.newBuilder(no.carteira)
+                    .timeout(tempoLimite)
+                    .header("Content-Type", MediaType.APPLICATION_NDJSON_VALUE)
+                    .header("Accept", MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(ndjson(shard)))
+                    .build();
+            HttpResponse<byte[]> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofByteArray());
+            if (resposta.statusCode() != 200) {
+                throw new IOException("Status " + resposta.statusCode() + " de " + no.carteira);
+            }
+            CarteiraResponse carteira = carteiraReader.readValue(resposta.body());
+            if (carteira.contratos() + carteira.falhas() != shard.quantidade()) {
+                throw new IOException("O nó " + no.carteira + " agregou " + (carteira.contratos() + carteira.falhas())
+                        + " de " + shard.quantidade() + " contratos do shard " + shard.indice());
+            }
+            return carteira;
+        }
+
+        private byte[] ndjson(Shard shard) throws IOException {
+            ArquivoMapeado registros = ArquivoContratos.abrir(canal, shard.primeiro());
+            ByteArrayOutputStream corpo = new ByteArrayOutputStream(shard.quantidade() * 160);
+            for (int i = 0; i < shard.quantidade(); i++) {
+                requestWriter.writeValue(corpo, ArquivoContratos.ler(registros).simulacao());
+                corpo.write('\n');
+            }
+            return corpo.toByteArray();
+        }
+
+        private void falhou(No no, Shard shard, Exception causa) {
+            no.falhas.incrementAndGet();
+            if (no.falhasSeguidas.incrementAndGet() >= FALHAS_SEGUIDAS_PARA_DESCARTAR) {
+                no.descartado = true;
+            }
+            log.warn("Shard {} falhou no nó {} (envio {} de {}): {}", shard.indice(), no.carteira, shard.envios(),
+                    tentativas, causa.toString());
+            if (shard.envios() >= tentativas) {
+                erro.compareAndSet(null, new IllegalStateException(
+                        "O shard " + shard.indice() + " falhou nas " + tentativas + " tentativas.", causa));
+                return;
+            }
+            reenvios.incrementAndGet();
+            fila.add(shard.reenvio(no));
+        }
+
+        void verificarConclusao() {
+            if (erro.get() != null) {
+                throw erro.get();
+            }
+            if (restantes.get() > 0) {
+                throw new IllegalStateException("Nenhum nó disponível: " + restantes.get() + " de " + quantidadeShards
+                        + " shards não foram processados.");
+            }
+        }
+    }
+}
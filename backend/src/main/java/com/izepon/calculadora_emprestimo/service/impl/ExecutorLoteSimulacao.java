@@ -0,0 +1,83 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.SimulacaoLoteResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Executa simulações em lote num pool fork-join limitado, compartilhado pelos motores de cálculo.
+ */
+@Component
+public class ExecutorLoteSimulacao {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutorLoteSimulacao.class);
+
+    private final ForkJoinPool poolLote;
+    private final int tamanhoMaximoLote;
+
+    public ExecutorLoteSimulacao(
+            @Value("${calculadora.lote.paralelismo:0}") int paralelismoLote,
+            @Value("${calculadora.lote.tamanho-maximo:50000}") int tamanhoMaximoLote) {
+        this.poolLote = new ForkJoinPool(paralelismoLote > 0
+                ? paralelismoLote : Runtime.getRuntime().availableProcessors());
+        this.tamanhoMaximoLote = tamanhoMaximoLote;
+    }
+
+    public List<SimulacaoLoteResponse> executar(List<SimulacaoRequest> requests,
+                                                Function<SimulacaoRequest, List<SimulacaoResponse>> calculo) {
+        if (requests == null || requests.isEmpty()) {
+            return List.of();
+        }
+        if (requests.size() > tamanhoMaximoLote) {
+            throw new IllegalArgumentException("O lote deve conter no máximo " + tamanhoMaximoLote + " simulações.");
+        }
+        // O stream paralelo executa nas threads do pool do lote e preserva a ordem de entrada no toList().
+        return poolLote.submit(() -> IntStream.range(0, requests.size())
+                        .parallel()
+                        .mapToObj(indice -> calcularItem(indice, requests.get(indice), calculo))
+                        .toList())
+                .join();
+    }
+
+    /**
+     * Executa uma tarefa avulsa no pool do lote, para quem divide o próprio trabalho em blocos.
+     */
+    public <T> ForkJoinTask<T> submeter(Callable<T> tarefa) {
+        return poolLote.submit(tarefa);
+    }
+
+    public int paralelismo() {
+        return poolLote.getParallelism();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        poolLote.shutdown();
+    }
+
+    private SimulacaoLoteResponse calcularItem(int indice, SimulacaoRequest request,
+                                               Function<SimulacaoRequest, List<SimulacaoResponse>> calculo) {
+        try {
+            return new SimulacaoLoteResponse(indice, calculo.apply(request), null);
+        } catch (IllegalArgumentException e) {
+            return new SimulacaoLoteResponse(indice, List.of(), e.getMessage());
+        } catch (RuntimeException e) {
+            // Uma falha inesperada num item não derruba o lote: vira o erro daquele item, como uma validação.
+            log.error("Item {} do lote falhou", indice, e);
+            return new SimulacaoLoteResponse(indice, List.of(), "Não foi possível calcular a simulação: "
+                    + e.getClass().getSimpleName());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache compartilhado dos fatores de juros compostos diários {@code (1 + taxa)^(dias/360)}.
+ * <p>
+ * Cada taxa anual tem uma tabela indexada pela quantidade de dias do período. Entre duas datas
+ * consecutivas do cronograma há no máximo 31 dias, então a tabela cobre praticamente todas as
+ * consultas; períodos maiores são calculados na hora e contados como falha.
+ * <p>
+ * Os fatores são o arredondamento HALF_EVEN do valor exato em {@code calculadora.fator-juros.escala} casas
+ * (18 por padrão, o máximo que o motor em centavos multiplica em {@code long}), calculados pela
+ * {@link PotenciaFracionaria} sem passar por {@code double}: o mesmo fator em qualquer JVM, sem o limite de
+ * uns 16 dígitos do {@code Math.pow}, que pode mudar centavos em saldos muito grandes.
+ */
+@Component
+public class FatorJurosCache {
+
+    static final int MAIOR_PERIODO_EM_DIAS = 31;
+
+    static final int ESCALA_PADRAO = 18;
+
+    private static final int BASE_DIAS_ANO = 360;
+
+    private final Cache<BigDecimal, TabelaFatores> tabelas;
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final int escala;
+
+    public FatorJurosCache(long tamanhoMaximo) {
+        this(tamanhoMaximo, ESCALA_PADRAO);
+    }
+
+    @Autowired
+    public FatorJurosCache(@Value("${calculadora.fator-juros.cache.tamanho-maximo:1024}") long tamanhoMaximo,
+                           @Value("${calculadora.fator-juros.escala:18}") int escala) {
+        if (escala < 2) {
+            throw new IllegalArgumentException("A escala dos fatores de juros deve ter ao menos 2 casas.");
+        }
+        this.tabelas = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .build();
+        this.escala = escala;
+    }
+
+    /**
+     * Retorna a tabela de fatores da taxa anual informada (já em forma decimal, ex.: 0.02 para 2%).
+     */
+    public TabelaFatores tabela(BigDecimal taxaJurosAnual) {
+        BigDecimal chave = taxaJurosAnual.stripTrailingZeros();
+        return tabelas.get(chave, TabelaFatores::new);
+    }
+
+    public BigDecimal fator(BigDecimal taxaJurosAnual, long dias) {
+        return tabela(taxaJurosAnual).fator(dias);
+    }
+
+    public long acertos() {
+        return acertos.sum();
+    }
+
+    public long falhas() {
+        return falhas.sum();
+    }
+
+    public long tamanho() {
+        return tabelas.estimatedSize();
+    }
+
+    public final class TabelaFatores {
+
+        private final PotenciaFracionaria potencia;
+        private final AtomicReferenceArray<BigDecimal> fatores = new AtomicReferenceArray<>(MAIOR_PERIODO_EM_DIAS + 1);
+
+        private TabelaFatores(BigDecimal taxaJurosAnual) {
+            this.potencia = new PotenciaFracionaria(BigDecimal.ONE.add(taxaJurosAnual), BASE_DIAS_ANO, escala);
+        }
+
+        public BigDecimal fator(long dias) {
+            if (dias < 0 || dias > MAIOR_PERIODO_EM_DIAS) {
+                falhas.increment();
+                return calcular(dias);
+            }
+            int indice = (int) dias;
+            BigDecimal fator = fatores.get(indice);
+            if (fator != null) {
+                acertos.increment();
+                return fator;
+            }
+            // Duas threads podem calcular o mesmo fator ao mesmo tempo; o resultado é idêntico.
+            falhas.increment();
+            fator = calcular(dias);
+            fatores.lazySet(indice, fator);
+            return fator;
+        }
+
+        private BigDecimal calcular(long dias) {
+            return potencia.elevar(dias);
+        }
+    }
+}
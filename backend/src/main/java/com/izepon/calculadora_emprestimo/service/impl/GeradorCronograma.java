@@ -0,0 +1,253 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.EventoContrato;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.service.impl.SimulacaoInvalidaException.Regra;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Produz as linhas do cronograma uma a uma, na ordem da {@link LinhaDoTempo}.
+ * Guarda apenas o estado corrente do laço (saldo, juros acumulados, parcela atual),
+ * então quem consome as linhas sob demanda não precisa manter o cronograma inteiro em memória.
+ * <p>
+ * Esse estado pode ser salvo num {@link Checkpoint} e retomado depois, opcionalmente com
+ * {@link EventoContrato eventos} intercalados nas datas do cronograma.
+ * <p>
+ * Quanto do principal cada parcela devolve vem da {@link EstrategiaAmortizacao} do sistema pedido na requisição.
+ */
+class GeradorCronograma implements Iterator<SimulacaoResponse> {
+
+    /**
+     * Estado do laço entre duas linhas: retomar a partir dele gera as mesmas linhas seguintes.
+     */
+    record Checkpoint(int posicao, int diaAnterior, int indiceParcela, BigDecimal saldoDevedor,
+                      BigDecimal jurosAcumulados, BigDecimal valorPlanejado,
+                      FatorJurosCache.TabelaFatores fatoresJuros) {
+    }
+
+    private final SimulacaoRequest request;
+    private final LinhaDoTempo linhaDoTempo;
+    private final FatorJurosCache fatorJurosCache;
+    private final int totalParcelas;
+    private final List<EventoContrato> eventos;
+    private final EstrategiaAmortizacao estrategia;
+
+    private FatorJurosCache.TabelaFatores fatoresJuros;
+    private BigDecimal valorPlanejado;
+    private BigDecimal saldoDevedor;
+    private BigDecimal jurosAcumulados = BigDecimal.ZERO;
+    private int posicao = 0;
+    private int diaAnterior;
+    private int indiceParcela = 0;
+    private int proximoEvento = 0;
+
+    GeradorCronograma(SimulacaoRequest request, LinhaDoTempo linhaDoTempo, FatorJurosCache fatorJurosCache) {
+        this.request = request;
+        this.linhaDoTempo = linhaDoTempo;
+        this.fatorJurosCache = fatorJurosCache;
+        this.eventos = List.of();
+        this.estrategia = EstrategiaAmortizacao.de(request.sistemaAmortizacao());
+        this.fatoresJuros = fatorJurosCache.tabela(taxaAnual(request.taxaJuros()));
+        this.totalParcelas = linhaDoTempo.totalParcelas();
+        this.valorPlanejado = estrategia.planejar(request.valorEmprestimo(), totalParcelas, linhaDoTempo, 1,
+                linhaDoTempo.diaEpoca(0), fatoresJuros);
+        this.saldoDevedor = request.valorEmprestimo();
+        this.diaAnterior = linhaDoTempo.diaEpoca(0);
+    }
+
+    /**
+     * Retoma o laço do {@code checkpoint}, aplicando os {@code eventos} (ordenados por data, todos depois
+     * do checkpoint) conforme as datas forem alcançadas.
+     */
+    GeradorCronograma(SimulacaoRequest request, LinhaDoTempo linhaDoTempo, FatorJurosCache fatorJurosCache,
+                      Checkpoint checkpoint, List<EventoContrato> eventos) {
+        this.request = request;
+        this.linhaDoTempo = linhaDoTempo;
+        this.fatorJurosCache = fatorJurosCache;
+        this.eventos = eventos;
+        this.estrategia = EstrategiaAmortizacao.de(request.sistemaAmortizacao());
+        this.fatoresJuros = checkpoint.fatoresJuros();
+        this.totalParcelas = linhaDoTempo.totalParcelas();
+        this.valorPlanejado = checkpoint.valorPlanejado();
+        this.saldoDevedor = checkpoint.saldoDevedor();
+        this.jurosAcumulados = checkpoint.jurosAcumulados();
+        this.posicao = checkpoint.posicao();
+        this.diaAnterior = checkpoint.diaAnterior();
+        this.indiceParcela = checkpoint.indiceParcela();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return posicao < linhaDoTempo.tamanho() || proximoEvento < eventos.size();
+    }
+
+    int linhasGeradas() {
+        return posicao;
+    }
+
+    int parcelasProcessadas() {
+        return indiceParcela;
+    }
+
+    Checkpoint checkpoint() {
+        return new Checkpoint(posicao, diaAnterior, indiceParcela, saldoDevedor, jurosAcumulados,
+                valorPlanejado, fatoresJuros);
+    }
+
+    @Override
+    public SimulacaoResponse next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        // Um evento fora das datas do cronograma vira uma linha própria, antes da próxima data.
+        boolean linhaDeEvento = proximoEvento < eventos.size()
+                && (posicao == linhaDoTempo.tamanho() || diaDoEvento(proximoEvento) < linhaDoTempo.diaEpoca(posicao));
+        int diaCompetencia = linhaDeEvento ? diaDoEvento(proximoEvento) : linhaDoTempo.diaEpoca(posicao);
+        LocalDate dataCompetencia = LocalDate.ofEpochDay(diaCompetencia);
+        boolean dataInicial = !linhaDeEvento && posicao == 0;
+        boolean dataDePagamento = !linhaDeEvento && linhaDoTempo.pagamento(posicao);
+
+        BigDecimal valorEmprestimoColuna = dataInicial ? request.valorEmprestimo() : BigDecimal.ZERO;
+
+        BigDecimal jurosDoPeriodoAtual;
+        if (dataInicial) {
+            jurosDoPeriodoAtual = BigDecimal.ZERO;
+        } else {
+            long diasNoPeriodo = diaCompetencia - diaAnterior;
+
+            BigDecimal fatorJurosExponencial = fatoresJuros.fator(diasNoPeriodo);
+
+            jurosDoPeriodoAtual = fatorJurosExponencial.subtract(BigDecimal.ONE)
+                    .multiply(saldoDevedor)
+                    .setScale(2, RoundingMode.HALF_EVEN);
+        }
+
+        jurosAcumulados = jurosAcumulados.add(jurosDoPeriodoAtual);
+
+        BigDecimal amortizacao = BigDecimal.ZERO;
+        BigDecimal totalParcela = BigDecimal.ZERO;
+        BigDecimal valorPago = BigDecimal.ZERO;
+        String parcelaConsolidada = "";
+
+        boolean parcelaSuspensa = false;
+        BigDecimal amortizacaoExtraordinaria = BigDecimal.ZERO;
+        FatorJurosCache.TabelaFatores novaTaxa = null;
+        while (proximoEvento < eventos.size() && diaDoEvento(proximoEvento) == diaCompetencia) {
+            EventoContrato evento = eventos.get(proximoEvento++);
+            switch (evento.tipo()) {
+                case PARCELA_SUSPENSA -> {
+                    if (!dataDePagamento) {
+                        throw new SimulacaoInvalidaException(Regra.EVENTO,
+                                "Só é possível suspender uma parcela numa data de pagamento: " + evento.data());
+                    }
+                    parcelaSuspensa = true;
+                }
+                case AMORTIZACAO_EXTRAORDINARIA -> amortizacaoExtraordinaria = amortizacaoExtraordinaria.add(evento.valor());
+                case NOVA_TAXA -> novaTaxa = fatorJurosCache.tabela(taxaAnual(evento.taxaJuros()));
+            }
+        }
+
+        if (dataDePagamento) {
+            indiceParcela++;
+            if (parcelaSuspensa) {
+                if (indiceParcela == totalParcelas) {
+                    throw new SimulacaoInvalidaException(Regra.EVENTO, "A última parcela não pode ser suspensa.");
+                }
+                replanejar(diaCompetencia, linhaDeEvento);
+            } else {
+                parcelaConsolidada = indiceParcela + "/" + totalParcelas;
+                amortizacao = estrategia.amortizacao(valorPlanejado, saldoDevedor, jurosAcumulados,
+                        indiceParcela == totalParcelas);
+                totalParcela = amortizacao.add(jurosAcumulados).setScale(2, RoundingMode.HALF_EVEN);
+                valorPago = totalParcela;
+                saldoDevedor = saldoDevedor.subtract(amortizacao);
+                jurosAcumulados = BigDecimal.ZERO;
+            }
+        }
+
+        if (amortizacaoExtraordinaria.signum() > 0) {
+            if (amortizacaoExtraordinaria.compareTo(saldoDevedor) > 0) {
+                throw new SimulacaoInvalidaException(Regra.EVENTO,
+                        "A amortização extraordinária em " + dataCompetencia + " é maior que o saldo devedor.");
+            }
+            amortizacao = amortizacao.add(amortizacaoExtraordinaria);
+            valorPago = valorPago.add(amortizacaoExtraordinaria);
+            saldoDevedor = saldoDevedor.subtract(amortizacaoExtraordinaria);
+            replanejar(diaCompetencia, linhaDeEvento);
+        }
+
+        if (novaTaxa != null) {
+            fatoresJuros = novaTaxa;
+            if (estrategia.dependeDaTaxa()) {
+                replanejar(diaCompetencia, linhaDeEvento);
+            }
+        }
+
+        diaAnterior = diaCompetencia;
+        if (!linhaDeEvento) {
+            posicao++;
+        }
+
+        return new SimulacaoResponse(
+                dataCompetencia,
+                valorEmprestimoColuna,
+                saldoDevedor.add(jurosAcumulados),
+                parcelaConsolidada,
+                totalParcela,
+                amortizacao,
+                saldoDevedor,
+                jurosDoPeriodoAtual,
+                jurosAcumulados,
+                valorPago
+        );
+    }
+
+    /**
+     * Entrega as linhas restantes ao {@code consumidor}, com os valores arredondados para centavos.
+     */
+    void percorrer(ConsumidorDeLinhas consumidor) {
+        while (hasNext()) {
+            SimulacaoResponse linha = next();
+            consumidor.aceitar(
+                    (int) linha.data().toEpochDay(),
+                    linha.consolidada().isEmpty() ? 0 : indiceParcela,
+                    centavos(linha.saldo()),
+                    centavos(linha.amortizacao()),
+                    centavos(linha.provisao()),
+                    centavos(linha.acumulado()),
+                    centavos(linha.pago()));
+        }
+    }
+
+    static long centavos(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Recalcula o valor planejado das parcelas restantes a partir do saldo atual. A linha em
+     * {@code diaCompetencia} já teve os juros calculados; numa linha de evento a data da posição atual
+     * ainda não foi processada.
+     */
+    private void replanejar(int diaCompetencia, boolean linhaDeEvento) {
+        int parcelasRestantes = totalParcelas - indiceParcela;
+        if (parcelasRestantes > 0) {
+            valorPlanejado = estrategia.planejar(saldoDevedor, parcelasRestantes, linhaDoTempo,
+                    linhaDeEvento ? posicao : posicao + 1, diaCompetencia, fatoresJuros);
+        }
+    }
+
+    private int diaDoEvento(int indice) {
+        return (int) eventos.get(indice).data().toEpochDay();
+    }
+
+    private static BigDecimal taxaAnual(BigDecimal taxaJurosPercentual) {
+        return taxaJurosPercentual.divide(BigDecimal.valueOf(100), 20, RoundingMode.HALF_EVEN);
+    }
+}
@@ -0,0 +1,250 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.Cronograma;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Versão em centavos do {@link GeradorCronograma}: saldo, juros e parcelas ficam em {@code long}
+ * e o fator de juros em ponto fixo, convertendo para {@code BigDecimal} só ao montar cada linha
+ * (ou nunca, quando preenche um {@link Cronograma} em colunas).
+ * <p>
+ * As escalas dos {@code BigDecimal} devolvidos reproduzem as do motor original (por exemplo,
+ * {@code 0} literal nas colunas sem movimento), então o JSON gerado é idêntico. A amortização de cada parcela
+ * vem da mesma {@link EstrategiaAmortizacao}, com o valor planejado convertido para centavos.
+ */
+class GeradorCronogramaCentavos implements Iterator<SimulacaoResponse> {
+
+    private static final byte ESCALA_DESCONHECIDA = -1;
+    private static final byte FATOR_SEM_PONTO_FIXO = -2;
+
+    private final SimulacaoRequest request;
+    private final LinhaDoTempo linhaDoTempo;
+    private final FatoresEscalados fatoresJuros;
+    private final int totalParcelas;
+    private final int escalaValorEmprestimo;
+    private final EstrategiaAmortizacao estrategia;
+    private final long valorPlanejado;
+
+    private long saldoDevedor;
+    private long jurosAcumulados = 0;
+    private boolean jurosAcumuladosZerados = true;
+    private boolean houvePagamento = false;
+    private int posicao = 0;
+    private int indiceParcela = 0;
+
+    private int diaCompetencia;
+    private boolean dataInicial;
+    private boolean dataDePagamento;
+    private long jurosDoPeriodoAtual;
+    private long amortizacao;
+    private long totalParcela;
+
+    GeradorCronogramaCentavos(SimulacaoRequest request, LinhaDoTempo linhaDoTempo, FatorJurosCache fatorJurosCache) {
+        this(request, linhaDoTempo, new FatoresEscalados(fatorJurosCache, request.taxaJuros()));
+    }
+
+    /**
+     * Usa fatores já preparados para a taxa da requisição, compartilhados com outros geradores.
+     */
+    GeradorCronogramaCentavos(SimulacaoRequest request, LinhaDoTempo linhaDoTempo, FatoresEscalados fatoresJuros) {
+        this.request = request;
+        this.linhaDoTempo = linhaDoTempo;
+        this.fatoresJuros = fatoresJuros;
+        this.totalParcelas = linhaDoTempo.totalParcelas();
+        this.escalaValorEmprestimo = request.valorEmprestimo().scale();
+        this.estrategia = EstrategiaAmortizacao.de(request.sistemaAmortizacao());
+        this.valorPlanejado = estrategia.planejar(request.valorEmprestimo(), totalParcelas, linhaDoTempo, 1,
+                        linhaDoTempo.diaEpoca(0), fatoresJuros.tabela)
+                .movePointRight(2).longValueExact();
+        this.saldoDevedor = request.valorEmprestimo().movePointRight(2).longValueExact();
+    }
+
+    /**
+     * O motor em centavos só atende valores com até duas casas decimais e bem abaixo do limite do
+     * {@code long}; os demais continuam no motor {@code BigDecimal}.
+     */
+    static boolean suporta(SimulacaoRequest request) {
+        BigDecimal valor = request.valorEmprestimo();
+        return valor.scale() >= 0 && valor.scale() <= 2
+                && valor.compareTo(BigDecimal.valueOf(AritmeticaCentavos.potenciaDeDez(13))) < 0;
+    }
+
+    /**
+     * Percorre o cronograma em centavos pelo motor que atende a requisição: este, quando ela cabe em
+     * centavos, ou o {@link GeradorCronograma}, com os valores arredondados para centavos.
+     */
+    static void percorrer(SimulacaoRequest request, LinhaDoTempo linhaDoTempo, FatorJurosCache fatorJurosCache,
+                          ConsumidorDeLinhas consumidor) {
+        if (suporta(request)) {
+            new GeradorCronogramaCentavos(request, linhaDoTempo, fatorJurosCache).percorrer(consumidor);
+        } else {
+            new GeradorCronograma(request, linhaDoTempo, fatorJurosCache).percorrer(consumidor);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return posicao < linhaDoTempo.tamanho();
+    }
+
+    int linhasGeradas() {
+        return posicao;
+    }
+
+    @Override
+    public SimulacaoResponse next() {
+        avancar();
+
+        int escalaSaldo = houvePagamento ? 2 : escalaValorEmprestimo;
+        int escalaSaldoComJuros = jurosAcumuladosZerados ? escalaSaldo : 2;
+        BigDecimal total = dataDePagamento ? BigDecimal.valueOf(totalParcela, 2) : BigDecimal.ZERO;
+
+        return new SimulacaoResponse(
+                LocalDate.ofEpochDay(diaCompetencia),
+                dataInicial ? request.valorEmprestimo() : BigDecimal.ZERO,
+                emEscala(saldoDevedor + jurosAcumulados, escalaSaldoComJuros),
+                dataDePagamento ? indiceParcela + "/" + totalParcelas : "",
+                total,
+                dataDePagamento ? BigDecimal.valueOf(amortizacao, 2) : BigDecimal.ZERO,
+                emEscala(saldoDevedor, escalaSaldo),
+                dataInicial ? BigDecimal.ZERO : BigDecimal.valueOf(jurosDoPeriodoAtual, 2),
+                jurosAcumuladosZerados ? BigDecimal.ZERO : BigDecimal.valueOf(jurosAcumulados, 2),
+                total
+        );
+    }
+
+    /**
+     * Gera todas as linhas restantes direto nas colunas do cronograma, sem criar {@code BigDecimal}.
+     */
+    Cronograma preencher() {
+        Cronograma cronograma = new Cronograma(saldoDevedor, linhaDoTempo.tamanho() - posicao);
+        percorrer(cronograma::adicionarLinha);
+        return cronograma;
+    }
+
+    /**
+     * Entrega as linhas restantes ao {@code consumidor}, em centavos, sem criar {@code BigDecimal}.
+     */
+    void percorrer(ConsumidorDeLinhas consumidor) {
+        while (hasNext()) {
+            avancar();
+            consumidor.aceitar(
+                    diaCompetencia,
+                    dataDePagamento ? indiceParcela : 0,
+                    saldoDevedor,
+                    dataDePagamento ? amortizacao : 0,
+                    jurosDoPeriodoAtual,
+                    jurosAcumulados,
+                    dataDePagamento ? totalParcela : 0);
+        }
+    }
+
+    /**
+     * Avança o laço para a próxima data, deixando nos campos da linha atual os valores calculados.
+     */
+    private void avancar() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        diaCompetencia = linhaDoTempo.diaEpoca(posicao);
+        dataInicial = posicao == 0;
+
+        jurosDoPeriodoAtual = 0;
+        if (!dataInicial) {
+            jurosDoPeriodoAtual = fatoresJuros.juros(saldoDevedor, diaCompetencia - linhaDoTempo.diaEpoca(posicao - 1));
+        }
+        jurosAcumulados += jurosDoPeriodoAtual;
+        jurosAcumuladosZerados = jurosAcumuladosZerados && dataInicial;
+
+        dataDePagamento = linhaDoTempo.pagamento(posicao);
+        totalParcela = 0;
+
+        if (dataDePagamento) {
+            indiceParcela++;
+            amortizacao = estrategia.amortizacao(valorPlanejado, saldoDevedor, jurosAcumulados,
+                    indiceParcela == totalParcelas);
+            totalParcela = amortizacao + jurosAcumulados;
+            saldoDevedor -= amortizacao;
+            jurosAcumulados = 0;
+            jurosAcumuladosZerados = true;
+            houvePagamento = true;
+        }
+
+        posicao++;
+    }
+
+    private static BigDecimal emEscala(long centavos, int escala) {
+        return BigDecimal.valueOf(centavos / AritmeticaCentavos.potenciaDeDez(2 - escala), escala);
+    }
+
+    /**
+     * Fatores de juros de uma taxa em ponto fixo, por quantidade de dias do período. Cada gerador prepara os
+     * seus sob demanda; depois de {@link #prepararTodos()} eles só são lidos e podem ser compartilhados entre
+     * geradores da mesma taxa, inclusive em threads diferentes.
+     */
+    static final class FatoresEscalados {
+
+        private final FatorJurosCache.TabelaFatores tabela;
+        private final long[] fatores = new long[FatorJurosCache.MAIOR_PERIODO_EM_DIAS + 1];
+        private final byte[] escalas = new byte[FatorJurosCache.MAIOR_PERIODO_EM_DIAS + 1];
+
+        FatoresEscalados(FatorJurosCache fatorJurosCache, BigDecimal taxaJurosPercentual) {
+            this.tabela = fatorJurosCache.tabela(
+                    taxaJurosPercentual.divide(BigDecimal.valueOf(100), 20, RoundingMode.HALF_EVEN));
+            Arrays.fill(escalas, ESCALA_DESCONHECIDA);
+        }
+
+        FatoresEscalados prepararTodos() {
+            for (int dias = 0; dias < escalas.length; dias++) {
+                if (escalas[dias] == ESCALA_DESCONHECIDA) {
+                    preparar(dias);
+                }
+            }
+            return this;
+        }
+
+        long juros(long saldoDevedor, long dias) {
+            if (dias >= 0 && dias < fatores.length) {
+                int indice = (int) dias;
+                if (escalas[indice] == ESCALA_DESCONHECIDA) {
+                    preparar(indice);
+                }
+                if (escalas[indice] != FATOR_SEM_PONTO_FIXO) {
+                    long juros = AritmeticaCentavos.multiplicarArredondando(
+                            saldoDevedor, fatores[indice], escalas[indice]);
+                    if (juros != AritmeticaCentavos.FORA_DO_INTERVALO) {
+                        return juros;
+                    }
+                }
+            }
+            return tabela.fator(dias).subtract(BigDecimal.ONE)
+                    .multiply(BigDecimal.valueOf(saldoDevedor, 2))
+                    .setScale(2, RoundingMode.HALF_EVEN)
+                    .unscaledValue()
+                    .longValueExact();
+        }
+
+        private void preparar(int dias) {
+            BigDecimal fatorMenosUm = tabela.fator(dias).subtract(BigDecimal.ONE).stripTrailingZeros();
+            if (fatorMenosUm.scale() < 0) {
+                fatorMenosUm = fatorMenosUm.setScale(0);
+            }
+            BigInteger escalado = fatorMenosUm.unscaledValue();
+            if (fatorMenosUm.scale() > AritmeticaCentavos.MAIOR_ESCALA || escalado.signum() < 0 || escalado.bitLength() > 62) {
+                escalas[dias] = FATOR_SEM_PONTO_FIXO;
+                return;
+            }
+            fatores[dias] = escalado.longValue();
+            escalas[dias] = (byte) fatorMenosUm.scale();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+
+/**
+ * Datas do cronograma, em ordem e sem repetição, cada uma marcada quando é data de parcela.
+ * <p>
+ * Montada numa única passada mês a mês: em cada mês as datas candidatas (data inicial, vencimento,
+ * fim do mês e data final) já saem em ordem, então basta descartar a repetida em relação à última
+ * incluída. As datas ficam em dias desde a época, o que deixa o intervalo entre duas linhas
+ * numa subtração.
+ * <p>
+ * Depois de {@link #gerar} nada mais muda, então a mesma instância é compartilhada pelo {@link LinhaDoTempoCache}
+ * entre simulações com as mesmas três datas.
+ */
+final class LinhaDoTempo {
+
+    private final int[] diasEpoca;
+    private final BitSet pagamentos;
+    private int tamanho;
+    private int totalParcelas;
+
+    private LinhaDoTempo(int capacidade) {
+        this.diasEpoca = new int[capacidade];
+        this.pagamentos = new BitSet(capacidade);
+    }
+
+    /**
+     * Gera as datas de exibição entre {@code dataInicial} e {@code dataFinal} (inclusive): a data inicial,
+     * o último dia de cada mês, os vencimentos mensais a partir de {@code primeiroPagamento} (no mesmo dia,
+     * limitado ao tamanho do mês) e a data final, que é sempre a última parcela.
+     */
+    static LinhaDoTempo gerar(LocalDate dataInicial, LocalDate primeiroPagamento, LocalDate dataFinal) {
+        YearMonth mesInicial = YearMonth.from(dataInicial);
+        YearMonth mesPrimeiroPagamento = YearMonth.from(primeiroPagamento);
+        int meses = (int) mesInicial.until(YearMonth.from(dataFinal), ChronoUnit.MONTHS);
+        int diaVencimento = primeiroPagamento.getDayOfMonth();
+        int fim = (int) dataFinal.toEpochDay();
+
+        LinhaDoTempo linhaDoTempo = new LinhaDoTempo(2 * meses + 4);
+        linhaDoTempo.adicionar((int) dataInicial.toEpochDay(), false);
+
+        YearMonth mes = mesInicial;
+        for (int i = 0; i <= meses; i++, mes = mes.plusMonths(1)) {
+            if (!mes.isBefore(mesPrimeiroPagamento)) {
+                int vencimento = (int) mes.atDay(Math.min(diaVencimento, mes.lengthOfMonth())).toEpochDay();
+                if (vencimento <= fim) {
+                    linhaDoTempo.adicionar(vencimento, true);
+                }
+            }
+            int fimDoMes = (int) mes.atEndOfMonth().toEpochDay();
+            if (fimDoMes <= fim) {
+                linhaDoTempo.adicionar(fimDoMes, false);
+            }
+        }
+
+        linhaDoTempo.adicionar(fim, true);
+        return linhaDoTempo;
+    }
+
+    private void adicionar(int diaEpoca, boolean pagamento) {
+        if (tamanho > 0 && diasEpoca[tamanho - 1] == diaEpoca) {
+            if (pagamento && !pagamentos.get(tamanho - 1)) {
+                pagamentos.set(tamanho - 1);
+                totalParcelas++;
+            }
+            return;
+        }
+        diasEpoca[tamanho] = diaEpoca;
+        if (pagamento) {
+            pagamentos.set(tamanho);
+            totalParcelas++;
+        }
+        tamanho++;
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    int totalParcelas() {
+        return totalParcelas;
+    }
+
+    int diaEpoca(int posicao) {
+        return diasEpoca[posicao];
+    }
+
+    LocalDate data(int posicao) {
+        return LocalDate.ofEpochDay(diasEpoca[posicao]);
+    }
+
+    boolean pagamento(int posicao) {
+        return pagamentos.get(posicao);
+    }
+}
@@ -0,0 +1,51 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache compartilhado das {@link LinhaDoTempo linhas do tempo}, por data inicial, primeiro pagamento e data final.
+ * <p>
+ * As datas do cronograma não dependem do valor nem da taxa, e contratos da mesma campanha costumam repetir
+ * as três datas. A linha do tempo não muda depois de gerada, então a mesma instância é lida por qualquer
+ * quantidade de simulações ao mesmo tempo.
+ */
+@Component
+public class LinhaDoTempoCache {
+
+    private final Cache<Chave, LinhaDoTempo> linhas;
+
+    public LinhaDoTempoCache(long tamanhoMaximo) {
+        this.linhas = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .recordStats()
+                .build();
+    }
+
+    @Autowired
+    public LinhaDoTempoCache(@Value("${calculadora.linha-do-tempo.cache.tamanho-maximo:4096}") long tamanhoMaximo,
+                             MeterRegistry meterRegistry) {
+        this(tamanhoMaximo);
+        CaffeineCacheMetrics.monitor(meterRegistry, linhas, "linhas-do-tempo");
+    }
+
+    LinhaDoTempo obter(SimulacaoRequest request) {
+        Chave chave = new Chave((int) request.dataInicial().toEpochDay(),
+                (int) request.primeiroPagamento().toEpochDay(), (int) request.dataFinal().toEpochDay());
+        return linhas.get(chave, c -> LinhaDoTempo.gerar(
+                request.dataInicial(), request.primeiroPagamento(), request.dataFinal()));
+    }
+
+    public Cache<?, ?> cache() {
+        return linhas;
+    }
+
+    private record Chave(int dataInicial, int primeiroPagamento, int dataFinal) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.SimulacaoLoteResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.service.CalculadoraEmprestimoService;
+
+import java.util.List;
+
+/**
+ * Camada que distribui o lote no {@link ExecutorLoteSimulacao}. Fica por fora de todas as outras para que cada
+ * item passe pelo mesmo caminho de um {@code calcular} avulso: cache, cálculo compartilhado e medição de latência.
+ */
+public class LoteSimulacaoService extends CalculadoraEmprestimoServiceDecorator {
+
+    private final ExecutorLoteSimulacao executorLote;
+
+    public LoteSimulacaoService(CalculadoraEmprestimoService delegate, ExecutorLoteSimulacao executorLote) {
+        super(delegate);
+        this.executorLote = executorLote;
+    }
+
+    @Override
+    public List<SimulacaoLoteResponse> calcularLote(List<SimulacaoRequest> requests) {
+        return executorLote.executar(requests, delegate::calcular);
+    }
+}
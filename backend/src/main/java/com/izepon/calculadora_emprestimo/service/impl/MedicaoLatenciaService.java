@@ -0,0 +1,34 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.service.CalculadoraEmprestimoService;
+
+import java.util.List;
+
+/**
+ * Camada mais externa do serviço: mede cada {@code calcular} no {@link RegistroLatencia}, incluindo o cache,
+ * como o cliente enxerga. Requisições recusadas pela validação também entram, com o tempo até a recusa.
+ */
+public class MedicaoLatenciaService extends CalculadoraEmprestimoServiceDecorator {
+
+    private final RegistroLatencia registro;
+
+    public MedicaoLatenciaService(CalculadoraEmprestimoService delegate, RegistroLatencia registro) {
+        super(delegate);
+        this.registro = registro;
+    }
+
+    @Override
+    public List<SimulacaoResponse> calcular(SimulacaoRequest request) {
+        long[] etapas = EtapasRequisicao.iniciar();
+        long inicio = System.nanoTime();
+        try {
+            return delegate.calcular(request);
+        } finally {
+            long duracao = System.nanoTime() - inicio;
+            EtapasRequisicao.encerrar();
+            registro.registrar(request, duracao, etapas);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.EventoContrato;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Métricas das etapas da simulação: um timer {@code calculadora.simulacao.etapa} por etapa
+ * (validação, datas, cronograma e serialização), o prazo em meses e a quantidade de linhas geradas
+ * por simulação, e as falhas de validação por regra. Os medidores são registrados uma única vez,
+ * na criação, para não pagar a busca no registro a cada requisição.
+ * <p>
+ * Só mede: quem calcula passa a etapa para {@link #medirDatas} ou {@link #medirCronograma}. Como os serviços
+ * consultam o {@link LinhaDoTempoCache}, o timer {@code datas} só inclui a geração quando as três datas ainda
+ * não estão no cache.
+ */
+@Component
+public class MetricasSimulacao {
+
+    private final Timer validacao;
+    private final Timer datas;
+    private final Timer cronograma;
+    private final Timer serializacao;
+    private final DistributionSummary prazo;
+    private final DistributionSummary linhas;
+    private final Map<SimulacaoInvalidaException.Regra, Counter> falhasValidacao =
+            new EnumMap<>(SimulacaoInvalidaException.Regra.class);
+
+    public MetricasSimulacao(MeterRegistry registry) {
+        this.validacao = etapa(registry, "validacao");
+        this.datas = etapa(registry, "datas");
+        this.cronograma = etapa(registry, "cronograma");
+        this.serializacao = etapa(registry, "serializacao");
+        this.prazo = DistributionSummary.builder("calculadora.simulacao.prazo")
+                .description("Prazo da simulação, da data inicial à data final")
+                .baseUnit("meses")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.linhas = DistributionSummary.builder("calculadora.simulacao.linhas")
+                .description("Linhas do cronograma geradas por simulação")
+                .baseUnit("linhas")
+                .publishPercentileHistogram()
+                .register(registry);
+        for (SimulacaoInvalidaException.Regra regra : SimulacaoInvalidaException.Regra.values()) {
+            falhasValidacao.put(regra, Counter.builder("calculadora.simulacao.validacao.falhas")
+                    .description("Simulações recusadas pela validação, por regra")
+                    .tag("regra", regra.name().toLowerCase().replace('_', '-'))
+                    .register(registry));
+        }
+    }
+
+    private static Timer etapa(MeterRegistry registry, String etapa) {
+        return Timer.builder("calculadora.simulacao.etapa")
+                .description("Tempo gasto em cada etapa da simulação")
+                .tag("etapa", etapa)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    void validar(SimulacaoRequest request) {
+        long inicio = System.nanoTime();
+        try {
+            ValidadorSimulacao.validar(request);
+        } catch (SimulacaoInvalidaException e) {
+            falhasValidacao.get(e.regra()).increment();
+            throw e;
+        } finally {
+            long duracao = System.nanoTime() - inicio;
+            validacao.record(duracao, TimeUnit.NANOSECONDS);
+            EtapasRequisicao.somar(EtapasRequisicao.VALIDACAO, duracao);
+        }
+        prazo.record(ChronoUnit.MONTHS.between(request.dataInicial(), request.dataFinal()));
+    }
+
+    void validarEventos(SimulacaoRequest request, List<EventoContrato> eventos) {
+        validar(request);
+        try {
+            ValidadorSimulacao.validarEventos(request, eventos);
+        } catch (SimulacaoInvalidaException e) {
+            falhasValidacao.get(e.regra()).increment();
+            throw e;
+        }
+    }
+
+    <T> T medirDatas(Supplier<T> etapa) {
+        long inicio = System.nanoTime();
+        try {
+            return etapa.get();
+        } finally {
+            long duracao = System.nanoTime() - inicio;
+            datas.record(duracao, TimeUnit.NANOSECONDS);
+            EtapasRequisicao.somar(EtapasRequisicao.DATAS, duracao);
+        }
+    }
+
+    /**
+     * Conta uma falha de validação detectada antes do serviço (na validação do corpo da requisição HTTP).
+     */
+    public void registrarFalhaValidacao(SimulacaoInvalidaException.Regra regra) {
+        falhasValidacao.get(regra).increment();
+    }
+
+    <T> T medirCronograma(Supplier<T> laco) {
+        long inicio = System.nanoTime();
+        try {
+            return laco.get();
+        } finally {
+            long duracao = System.nanoTime() - inicio;
+            cronograma.record(duracao, TimeUnit.NANOSECONDS);
+            EtapasRequisicao.somar(EtapasRequisicao.CRONOGRAMA, duracao);
+        }
+    }
+
+    void registrarLinhas(int quantidade) {
+        linhas.record(quantidade);
+    }
+
+    /**
+     * Timer da etapa de serialização, medida fora do serviço, na escrita da resposta HTTP.
+     */
+    public Timer serializacao() {
+        return serializacao;
+    }
+}
@@ -0,0 +1,398 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Potências {@code base^(numerador/denominador)} de uma base fixa, arredondadas HALF_EVEN numa escala decimal
+ * fixa, sem passar por {@code double}.
+ * <p>
+ * A raiz {@code base^(1/denominador)} é calculada uma vez, em ponto fixo binário, pelo método de Newton a partir
+ * da estimativa em {@code double}. Cada potência é então só uma exponenciação inteira dessa raiz. No caso comum
+ * (base entre 1 e 2, resultado menor que 2 e escala de até 18 casas, como os fatores de juros de até 31 dias com
+ * taxa anual abaixo de 100%) tudo é feito em 128 bits com dois {@code long}; fora dele, em {@code BigInteger}
+ * com pelo menos 64 bits além dos da escala.
+ * <p>
+ * Em qualquer dos caminhos o erro da conta é limitado. Se o valor calculado ficar perto demais da metade entre
+ * duas casas decimais para arredondar com segurança (o que inclui os empates exatos), a decisão sai da comparação
+ * exata de potências inteiras em {@link BigDecimal}. Assim o resultado é sempre o arredondamento HALF_EVEN do
+ * valor exato e não depende da plataforma.
+ * <p>
+ * Thread-safe: a raiz em {@code BigInteger} só é calculada se for usada, e duas threads que a calculem ao mesmo
+ * tempo chegam ao mesmo valor.
+ */
+final class PotenciaFracionaria {
+
+    /** Bits de folga além dos necessários para a escala decimal. */
+    private static final int BITS_DE_GUARDA = 64;
+    /** Precisão da estimativa inicial em {@code double}, com margem. */
+    private static final int BITS_DA_SEMENTE = 48;
+    /** Passos de Newton em 128 bits: a partir dos ~50 bits da semente, dois bastam; o terceiro é margem. */
+    private static final int PASSOS_EM_128_BITS = 3;
+    /** Erro de cada multiplicação da exponenciação, em unidades da última casa binária, com margem. */
+    private static final long ERRO_POR_MULTIPLICACAO = 16;
+    /** Maior escala do caminho em {@code long}: {@code 2 * 10^escala} ainda cabe em um {@code long}. */
+    private static final int MAIOR_ESCALA_RAPIDA = 18;
+    /** Maior expoente do caminho em {@code long}, para que o limite de erro caiba em um {@code long}. */
+    private static final long MAIOR_EXPOENTE_RAPIDO = 1L << 40;
+    /** Quadrados da raiz guardados: cobrem expoentes até 63, o que inclui os períodos de até 31 dias. */
+    private static final int QUADRADOS = 6;
+    private static final BigDecimal DOIS = BigDecimal.valueOf(2);
+
+    private final BigDecimal base;
+    private final int denominador;
+    private final int escala;
+
+    /**
+     * Frações de {@code raiz^(2^k)} em 128 bits (alta e baixa intercaladas), quando o caminho em {@code long} se
+     * aplica: um expoente menor que {@code 2^QUADRADOS} é o produto dos quadrados dos bits dele.
+     */
+    private final long[] quadrados;
+    private final long potenciaDeDez;
+
+    private volatile RaizPrecisa precisa;
+
+    PotenciaFracionaria(BigDecimal base, int denominador, int escala) {
+        if (base.signum() <= 0 || denominador < 1 || escala < 0) {
+            throw new IllegalArgumentException("Base, denominador e escala inválidos: " + base + ", "
+                    + denominador + ", " + escala);
+        }
+        this.base = base;
+        this.denominador = denominador;
+        this.escala = escala;
+        long[] raiz = escala <= MAIOR_ESCALA_RAPIDA ? raizEm128Bits(base, denominador) : null;
+        this.quadrados = raiz == null ? null : quadrados(raiz);
+        this.potenciaDeDez = raiz == null ? 0 : AritmeticaCentavos.potenciaDeDez(escala);
+    }
+
+    private static long[] quadrados(long[] raiz) {
+        long[] quadrados = new long[2 * QUADRADOS];
+        quadrados[0] = raiz[0];
+        quadrados[1] = raiz[1];
+        long[] produto = new long[2];
+        for (int k = 1; k < QUADRADOS; k++) {
+            if (!multiplicar(quadrados[2 * k - 2], quadrados[2 * k - 1], quadrados[2 * k - 2], quadrados[2 * k - 1],
+                    produto)) {
+                // raiz^(2^k) já passa de 2: os expoentes que precisariam dele também passam.
+                return Arrays.copyOf(quadrados, 2 * k);
+            }
+            quadrados[2 * k] = produto[0];
+            quadrados[2 * k + 1] = produto[1];
+        }
+        return quadrados;
+    }
+
+    /**
+     * {@code base^(numerador/denominador)} na escala configurada.
+     */
+    BigDecimal elevar(long numerador) {
+        if (quadrados != null && numerador >= 0 && numerador <= MAIOR_EXPOENTE_RAPIDO) {
+            BigDecimal resultado = elevarEm128Bits(numerador);
+            if (resultado != null) {
+                return resultado;
+            }
+        }
+        RaizPrecisa atual = precisa;
+        if (atual == null) {
+            atual = new RaizPrecisa();
+            precisa = atual;
+        }
+        return atual.arredondar(numerador);
+    }
+
+    /**
+     * Arredonda pela comparação exata com o ponto médio {@code m} entre {@code quociente} e {@code quociente + 1}
+     * (na escala): o valor exato passa de {@code m} se e só se {@code base^numerador > m^denominador}.
+     */
+    private BigDecimal desempatar(long numerador, BigInteger quociente) {
+        BigDecimal medio = new BigDecimal(quociente.multiply(BigInteger.TEN).add(BigInteger.valueOf(5)), escala + 1);
+        BigDecimal medioElevado = medio.pow(denominador);
+        BigDecimal potenciaDaBase = base.pow(Math.toIntExact(Math.abs(numerador)));
+        int comparacao = numerador >= 0
+                ? potenciaDaBase.compareTo(medioElevado)
+                : BigDecimal.ONE.compareTo(medioElevado.multiply(potenciaDaBase));
+        if (comparacao > 0 || comparacao == 0 && quociente.testBit(0)) {
+            quociente = quociente.add(BigInteger.ONE);
+        }
+        return new BigDecimal(quociente, escala);
+    }
+
+    // Caminho em 128 bits. Um número 1 + f, com 0 <= f < 1, é guardado como a fração f em dois long sem sinal,
+    // (alta, baixa), valendo alta·2^-64 + baixa·2^-128.
+
+    /**
+     * {@code (1 + raiz)^n} arredondado, ou {@code null} se o resultado chegar a 2 ou se o arredondamento for
+     * ambíguo com a precisão de 128 bits.
+     */
+    private BigDecimal elevarEm128Bits(long n) {
+        long[] potencia = new long[2];
+        if (n < 1L << QUADRADOS) {
+            for (int k = 0; n >>> k != 0; k++) {
+                if ((n >>> k & 1) == 1 && (2 * k >= quadrados.length
+                        || !multiplicar(potencia[0], potencia[1], quadrados[2 * k], quadrados[2 * k + 1], potencia))) {
+                    return null;
+                }
+            }
+        } else if (!elevar(quadrados[0], quadrados[1], n, potencia)) {
+            return null;
+        }
+        long alta = potencia[0];
+        long baixa = potencia[1];
+
+        // fração · 10^escala: a parte inteira são as casas decimais e a palavra alta do resto decide o arredondamento.
+        long meio = multiplicarAltoSemSinal(baixa, potenciaDeDez);
+        long restoAlto = meio + alta * potenciaDeDez;
+        long casas = multiplicarAltoSemSinal(alta, potenciaDeDez)
+                + (Long.compareUnsigned(restoAlto, meio) < 0 ? 1 : 0);
+
+        // O erro relativo cresce com o expoente: o da raiz e o de cada truncamento se multiplicam pelo número de
+        // vezes que entram no produto. Em unidades de 2^-128, vezes 10^escala, na unidade da palavra alta do resto.
+        long erro = ERRO_POR_MULTIPLICACAO * (n + 2);
+        long margem = multiplicarAltoSemSinal(erro, potenciaDeDez) + 1;
+        long desvioDaMetade = restoAlto ^ Long.MIN_VALUE;
+        if (desvioDaMetade >= -margem && desvioDaMetade <= margem) {
+            return null;
+        }
+        if (restoAlto < 0) {
+            casas++;
+        }
+        return BigDecimal.valueOf(potenciaDeDez + casas, escala);
+    }
+
+    /**
+     * A fração de {@code base^(1/n)} em 128 bits, ou {@code null} se a base não estiver entre 1 e 2. Newton,
+     * {@code y ← y − y·(yⁿ − a)/(n·yⁿ)}, com o quociente {@code y/(n·yⁿ)} em {@code double}: a diferença
+     * {@code yⁿ − a} já é pequena, então os 53 bits dele bastam para dobrar a precisão a cada passo.
+     */
+    private static long[] raizEm128Bits(BigDecimal base, int n) {
+        if (base.compareTo(BigDecimal.ONE) < 0 || base.compareTo(DOIS) >= 0) {
+            return null;
+        }
+        BigInteger fracaoDoAlvo = emPontoFixo(base, 128).subtract(BigInteger.ONE.shiftLeft(128));
+        if (fracaoDoAlvo.bitLength() > 128) {
+            return null;
+        }
+        long alvoAlta = fracaoDoAlvo.shiftRight(64).longValue();
+        long alvoBaixa = fracaoDoAlvo.longValue();
+        if (n == 1) {
+            return new long[]{alvoAlta, alvoBaixa};
+        }
+
+        long[] y = {(long) ((Math.pow(base.doubleValue(), 1.0 / n) - 1) * 0x1p64), 0};
+        long[] potencia = new long[2];
+        long[] diferenca = new long[2];
+        for (int passo = 0; passo < PASSOS_EM_128_BITS; passo++) {
+            if (!elevar(y[0], y[1], n, potencia)) {
+                return null;
+            }
+            boolean acima = comparar(potencia[0], potencia[1], alvoAlta, alvoBaixa) > 0;
+            if (acima) {
+                subtrair(potencia[0], potencia[1], alvoAlta, alvoBaixa, diferenca);
+            } else {
+                subtrair(alvoAlta, alvoBaixa, potencia[0], potencia[1], diferenca);
+            }
+            double quociente = (1 + emDouble(y[0])) / (n * (1 + emDouble(potencia[0])));
+            multiplicarPorFracao(diferenca, (long) (quociente * 0x1p62));
+            if (acima) {
+                subtrair(y[0], y[1], diferenca[0], diferenca[1], y);
+            } else if (!somar(y, diferenca[0], diferenca[1])) {
+                return null;
+            }
+        }
+        return y;
+    }
+
+    /**
+     * {@code (1 + f)^n} por quadrados sucessivos. Devolve {@code false} se o resultado chegar a 2.
+     */
+    private static boolean elevar(long alta, long baixa, long n, long[] resultado) {
+        resultado[0] = 0;
+        resultado[1] = 0;
+        long quadradoAlta = alta;
+        long quadradoBaixa = baixa;
+        long[] produto = new long[2];
+        for (long restante = n; restante > 0; restante >>>= 1) {
+            if ((restante & 1) == 1
+                    && !multiplicar(resultado[0], resultado[1], quadradoAlta, quadradoBaixa, resultado)) {
+                return false;
+            }
+            if (restante > 1) {
+                if (!multiplicar(quadradoAlta, quadradoBaixa, quadradoAlta, quadradoBaixa, produto)) {
+                    return false;
+                }
+                quadradoAlta = produto[0];
+                quadradoBaixa = produto[1];
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code (1 + a)(1 + b) = 1 + a + b + a·b}, com {@code a·b} truncado em 128 bits. Devolve {@code false}
+     * se o produto chegar a 2.
+     */
+    private static boolean multiplicar(long aAlta, long aBaixa, long bAlta, long bBaixa, long[] produto) {
+        // As duas palavras de cima de a·b (256 bits): os produtos parciais que chegam a elas e o vai-um da
+        // segunda palavra.
+        long cruzado1 = aAlta * bBaixa;
+        long cruzado2 = aBaixa * bAlta;
+        long segunda = multiplicarAltoSemSinal(aBaixa, bBaixa) + cruzado1;
+        long vaiUm = Long.compareUnsigned(segunda, cruzado1) < 0 ? 1 : 0;
+        segunda += cruzado2;
+        vaiUm += Long.compareUnsigned(segunda, cruzado2) < 0 ? 1 : 0;
+
+        produto[0] = multiplicarAltoSemSinal(aAlta, bAlta);
+        produto[1] = aAlta * bAlta;
+        somar(produto, 0, multiplicarAltoSemSinal(aAlta, bBaixa));
+        somar(produto, 0, multiplicarAltoSemSinal(aBaixa, bAlta));
+        somar(produto, 0, vaiUm);
+        return somar(produto, aAlta, aBaixa) && somar(produto, bAlta, bBaixa);
+    }
+
+    /**
+     * Soma {@code (alta, baixa)} ao número em {@code acumulado}. Devolve {@code false} se passar de 128 bits.
+     */
+    private static boolean somar(long[] acumulado, long alta, long baixa) {
+        long novaBaixa = acumulado[1] + baixa;
+        long vaiUm = Long.compareUnsigned(novaBaixa, baixa) < 0 ? 1 : 0;
+        long parcial = acumulado[0] + alta;
+        boolean estouro = Long.compareUnsigned(parcial, alta) < 0;
+        long novaAlta = parcial + vaiUm;
+        estouro |= Long.compareUnsigned(novaAlta, parcial) < 0;
+        acumulado[0] = novaAlta;
+        acumulado[1] = novaBaixa;
+        return !estouro;
+    }
+
+    /**
+     * {@code a − b}, com {@code a >= b}.
+     */
+    private static void subtrair(long aAlta, long aBaixa, long bAlta, long bBaixa, long[] resultado) {
+        long emprestimo = Long.compareUnsigned(aBaixa, bBaixa) < 0 ? 1 : 0;
+        resultado[0] = aAlta - bAlta - emprestimo;
+        resultado[1] = aBaixa - bBaixa;
+    }
+
+    private static int comparar(long aAlta, long aBaixa, long bAlta, long bBaixa) {
+        int alta = Long.compareUnsigned(aAlta, bAlta);
+        return alta != 0 ? alta : Long.compareUnsigned(aBaixa, bBaixa);
+    }
+
+    /**
+     * {@code valor · fator / 2^62}, truncado.
+     */
+    private static void multiplicarPorFracao(long[] valor, long fator) {
+        long baixa = valor[1] * fator;
+        long meioBaixo = multiplicarAltoSemSinal(valor[1], fator);
+        long meio = meioBaixo + valor[0] * fator;
+        long topo = multiplicarAltoSemSinal(valor[0], fator) + (Long.compareUnsigned(meio, meioBaixo) < 0 ? 1 : 0);
+        valor[0] = (meio >>> 62) | (topo << 2);
+        valor[1] = (baixa >>> 62) | (meio << 2);
+    }
+
+    private static double emDouble(long fracaoAlta) {
+        return (fracaoAlta >>> 11) * 0x1p-53;
+    }
+
+    private static long multiplicarAltoSemSinal(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    // Caminho em BigInteger.
+
+    /**
+     * {@code valor · 2^bits}, arredondado.
+     */
+    private static BigInteger emPontoFixo(BigDecimal valor, int bits) {
+        if (valor.scale() <= 0) {
+            return valor.toBigIntegerExact().shiftLeft(bits);
+        }
+        BigInteger divisor = BigInteger.TEN.pow(valor.scale());
+        return valor.unscaledValue().shiftLeft(bits).add(divisor.shiftRight(1)).divide(divisor);
+    }
+
+    /**
+     * {@code x^n} em ponto fixo com {@code bits} bits de fração, por quadrados sucessivos.
+     */
+    private static BigInteger elevarFixo(BigInteger x, long n, int bits) {
+        BigInteger resultado = BigInteger.ONE.shiftLeft(bits);
+        BigInteger potencia = x;
+        while (n > 0) {
+            if ((n & 1) == 1) {
+                resultado = resultado.multiply(potencia).shiftRight(bits);
+            }
+            n >>= 1;
+            if (n > 0) {
+                potencia = potencia.multiply(potencia).shiftRight(bits);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * A raiz escalada por {@code 2^bits}, para qualquer base, escala e expoente.
+     */
+    private final class RaizPrecisa {
+
+        private final int bits;
+        private final BigInteger raiz;
+
+        RaizPrecisa() {
+            int bitsDaEscala = (int) Math.ceil(escala * (Math.log(10) / Math.log(2)));
+            this.bits = Math.max(128, bitsDaEscala + BITS_DE_GUARDA);
+            this.raiz = calcularRaiz();
+        }
+
+        /**
+         * Newton em {@code BigInteger}: {@code y ← y − y·(yⁿ − a)/(n·yⁿ)}, até passar do dobro dos bits (o último
+         * passo só corrige o truncamento dos anteriores).
+         */
+        private BigInteger calcularRaiz() {
+            BigInteger alvo = emPontoFixo(base, bits);
+            if (denominador == 1) {
+                return alvo;
+            }
+            double semente = Math.pow(base.doubleValue(), 1.0 / denominador);
+            int expoente = Math.getExponent(semente);
+            BigInteger y = BigInteger.valueOf((long) Math.scalb(semente, 52 - expoente));
+            int deslocamento = bits - 52 + expoente;
+            y = deslocamento >= 0 ? y.shiftLeft(deslocamento) : y.shiftRight(-deslocamento);
+            BigInteger n = BigInteger.valueOf(denominador);
+            for (int precisao = BITS_DA_SEMENTE; precisao < 2 * bits; precisao *= 2) {
+                BigInteger potencia = elevarFixo(y, denominador, bits);
+                y = y.subtract(y.multiply(potencia.subtract(alvo)).divide(n.multiply(potencia)));
+            }
+            return y;
+        }
+
+        /**
+         * O valor arredondado; se o erro possível da conta alcançar a metade entre duas casas, desempata pela
+         * comparação exata.
+         */
+        BigDecimal arredondar(long numerador) {
+            long expoente = Math.abs(numerador);
+            BigInteger valor = elevarFixo(raiz, expoente, bits);
+            if (numerador < 0) {
+                valor = BigInteger.ONE.shiftLeft(2 * bits).divide(valor);
+            }
+            // Erro relativo de até ERRO_POR_MULTIPLICACAO unidades por multiplicação, escalado pelo valor.
+            BigInteger erro = BigInteger.valueOf(ERRO_POR_MULTIPLICACAO)
+                    .multiply(BigInteger.valueOf(expoente + 2))
+                    .multiply(valor.shiftRight(bits).add(BigInteger.ONE));
+
+            BigInteger unidadeDecimal = BigInteger.TEN.pow(escala);
+            BigInteger escalado = valor.multiply(unidadeDecimal);
+            BigInteger quociente = escalado.shiftRight(bits);
+            BigInteger resto = escalado.subtract(quociente.shiftLeft(bits));
+            BigInteger metade = BigInteger.ONE.shiftLeft(bits - 1);
+            if (resto.subtract(metade).abs().compareTo(erro.multiply(unidadeDecimal)) <= 0) {
+                return desempatar(numerador, quociente);
+            }
+            if (resto.compareTo(metade) > 0) {
+                quociente = quociente.add(BigInteger.ONE);
+            }
+            return new BigDecimal(quociente, escala);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.ResultadoProcessamentoEmMassa;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.service.ProcessamentoEmMassaService;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.CRC32C;
+
+/**
+ * Divide o arquivo de contratos em partições contíguas e calcula cada uma no pool do lote, lendo os registros
+ * da entrada em janelas mapeadas e gravando as linhas em centavos direto no arquivo mapeado da partição,
+ * sem passar por {@code SimulacaoResponse}.
+ * <p>
+ * Cada partição é gravada primeiro em {@code parte-NNNNN.bin.tmp} e renomeada ao terminar, então numa nova
+ * execução as partições com o arquivo final já existente são puladas. O {@code manifesto.properties} do
+ * diretório de saída garante que a nova execução usa a mesma entrada (pelo tamanho e pelo CRC32C do conteúdo)
+ * e a mesma divisão em partições.
+ */
+@Service
+public class ProcessamentoEmMassaServiceImpl implements ProcessamentoEmMassaService {
+
+    static final String MANIFESTO = "manifesto.properties";
+
+    private final FatorJurosCache fatorJurosCache;
+    private final ExecutorLoteSimulacao executorLote;
+
+    public ProcessamentoEmMassaServiceImpl(FatorJurosCache fatorJurosCache, ExecutorLoteSimulacao executorLote) {
+        this.fatorJurosCache = fatorJurosCache;
+        this.executorLote = executorLote;
+    }
+
+    @Override
+    public ResultadoProcessamentoEmMassa processar(Path entrada, Path diretorioSaida, int particoes) throws IOException {
+        long inicio = System.nanoTime();
+        Files.createDirectories(diretorioSaida);
+        try (FileChannel canal = FileChannel.open(entrada, StandardOpenOption.READ)) {
+            long quantidade = ArquivoContratos.quantidade(canal);
+            int totalParticoes = (int) Math.max(1, Math.min(particoes, quantidade));
+            verificarManifesto(diretorioSaida, canal, quantidade, totalParticoes);
+
+            List<ForkJoinTask<long[]>> tarefas = new ArrayList<>(totalParticoes);
+            int reaproveitadas = 0;
+            for (int particao = 0; particao < totalParticoes; particao++) {
+                Path destino = diretorioSaida.resolve(nomeParticao(particao));
+                if (Files.exists(destino)) {
+                    reaproveitadas++;
+                    continue;
+                }
+                long primeiro = quantidade * particao / totalParticoes;
+                long tamanho = quantidade * (particao + 1) / totalParticoes - primeiro;
+                tarefas.add(executorLote.submeter(() -> processarParticao(canal, primeiro, tamanho, destino)));
+            }
+
+            long contratos = 0;
+            long falhas = 0;
+            long linhas = 0;
+            for (ForkJoinTask<long[]> tarefa : tarefas) {
+                long[] contagens = tarefa.join();
+                contratos += contagens[0];
+                falhas += contagens[1];
+                linhas += contagens[2];
+            }
+            return new ResultadoProcessamentoEmMassa(totalParticoes, reaproveitadas, contratos, falhas, linhas,
+                    Duration.ofNanos(System.nanoTime() - inicio));
+        }
+    }
+
+    /**
+     * Calcula uma partição e devolve {contratos, falhas, linhas}.
+     */
+    private long[] processarParticao(FileChannel entrada, long primeiro, long quantidade, Path destino) {
+        Path temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+        long falhas = 0;
+        try {
+            ArquivoMapeado registros = ArquivoContratos.abrir(entrada, primeiro);
+            long linhas;
+            try (ArquivoCronogramas.Escritor escritor = new ArquivoCronogramas.Escritor(temporario)) {
+                for (long i = 0; i < quantidade; i++) {
+                    ArquivoContratos.Contrato contrato = ArquivoContratos.ler(registros);
+                    SimulacaoRequest request = contrato.simulacao();
+                    try {
+                        ValidadorSimulacao.validar(request);
+                    } catch (SimulacaoInvalidaException e) {
+                        escritor.registrarFalha(contrato.id(), e.regra());
+                        falhas++;
+                        continue;
+                    }
+                    LinhaDoTempo linhaDoTempo = LinhaDoTempo.gerar(
+                            request.dataInicial(), request.primeiroPagamento(), request.dataFinal());
+                    escritor.iniciarContrato(contrato.id(), linhaDoTempo.tamanho());
+                    GeradorCronogramaCentavos.percorrer(request, linhaDoTempo, fatorJurosCache, escritor);
+                }
+                linhas = escritor.linhas();
+            }
+            Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE);
+            return new long[]{quantidade, falhas, linhas};
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao processar a partição " + destino.getFileName(), e);
+        }
+    }
+
+    private static void verificarManifesto(Path diretorioSaida, FileChannel entrada, long contratos, int particoes)
+            throws IOException {
+        Properties esperado = new Properties();
+        esperado.setProperty("entrada.tamanho", Long.toString(entrada.size()));
+        esperado.setProperty("entrada.crc32c", Long.toHexString(crc32c(entrada)));
+        esperado.setProperty("contratos", Long.toString(contratos));
+        esperado.setProperty("particoes", Integer.toString(particoes));
+
+        Path arquivo = diretorioSaida.resolve(MANIFESTO);
+        if (Files.exists(arquivo)) {
+            Properties existente = new Properties();
+            try (Reader leitor = Files.newBufferedReader(arquivo)) {
+                existente.load(leitor);
+            }
+            if (!existente.equals(esperado)) {
+                throw new IllegalStateException("O diretório " + diretorioSaida + " contém uma execução com outra entrada "
+                        + "ou outra quantidade de partições (" + existente + "). Use outro diretório ou apague-o.");
+            }
+            return;
+        }
+        try (Writer escritor = Files.newBufferedWriter(arquivo)) {
+            esperado.store(escritor, "Processamento em massa");
+        }
+    }
+
+    /**
+     * CRC32C do arquivo inteiro, lido em janelas mapeadas. Uma entrada diferente com o mesmo tamanho não
+     * reaproveita as partições de outra.
+     */
+    private static long crc32c(FileChannel canal) throws IOException {
+        CRC32C crc = new CRC32C();
+        long tamanho = canal.size();
+        for (long inicio = 0; inicio < tamanho; inicio += ArquivoMapeado.TAMANHO_JANELA) {
+            crc.update(canal.map(FileChannel.MapMode.READ_ONLY, inicio,
+                    Math.min(ArquivoMapeado.TAMANHO_JANELA, tamanho - inicio)));
+        }
+        return crc.getValue();
+    }
+
+    static String nomeParticao(int particao) {
+        return String.format("parte-%05d.bin", particao);
+    }
+}
@@ -0,0 +1,134 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.LatenciaResumo;
+import com.izepon.calculadora_emprestimo.dto.RequisicaoLenta;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histograma das latências do {@code calcular} e amostra das {@code N} requisições mais lentas.
+ * <p>
+ * A gravação não usa trava: cada thread grava num dos {@link Recorder} de uma faixa escolhida pelo id da
+ * thread, e o {@code Recorder} só faz incrementos atômicos. Com pelo menos duas faixas por processador, duas
+ * threads raramente disputam a mesma. A leitura troca o histograma de cada faixa por um vazio e soma os
+ * intervalos no acumulado (reaproveitando os histogramas trocados), sem parar as gravações.
+ * <p>
+ * A amostra das mais lentas guarda o limiar de entrada (a mais rápida entre as guardadas) num campo volátil:
+ * só as requisições acima dele pegam a trava da amostra, e elas são poucas por definição. O corpo da simulação
+ * (valores, taxa e datas do cliente) só é guardado com {@code calculadora.latencia.incluir-requisicao=true}.
+ */
+@Component
+public class RegistroLatencia {
+
+    private static final long MAIOR_LATENCIA_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int DIGITOS_SIGNIFICATIVOS = 2;
+
+    private final Recorder[] faixas;
+    private final int mascara;
+    private final Histogram acumulado = new Histogram(MAIOR_LATENCIA_MICROS, DIGITOS_SIGNIFICATIVOS);
+    private final Histogram[] intervalos;
+
+    private final RequisicaoLenta[] maisLentas;
+    private final long[] duracoesMaisLentas;
+    private final boolean incluirRequisicao;
+    private int quantidadeLentas;
+    private volatile long limiarLentas = -1;
+
+    public RegistroLatencia(@Value("${calculadora.latencia.lentas:20}") int quantidadeLentas,
+                            @Value("${calculadora.latencia.incluir-requisicao:false}") boolean incluirRequisicao) {
+        int faixas = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+        this.faixas = new Recorder[faixas];
+        for (int i = 0; i < faixas; i++) {
+            this.faixas[i] = new Recorder(MAIOR_LATENCIA_MICROS, DIGITOS_SIGNIFICATIVOS);
+        }
+        this.intervalos = new Histogram[faixas];
+        this.mascara = faixas - 1;
+        this.maisLentas = new RequisicaoLenta[quantidadeLentas];
+        this.duracoesMaisLentas = new long[quantidadeLentas];
+        this.incluirRequisicao = incluirRequisicao;
+    }
+
+    /**
+     * Registra uma requisição concluída, com os tempos por etapa de {@link EtapasRequisicao}.
+     */
+    @SuppressWarnings("deprecation") // Thread.threadId() só existe a partir do Java 19.
+    void registrar(SimulacaoRequest request, long duracaoNanos, long[] etapasNanos) {
+        long micros = Math.min(Math.max(duracaoNanos / 1000, 0), MAIOR_LATENCIA_MICROS);
+        faixas[(int) Thread.currentThread().getId() & mascara].recordValue(micros);
+        if (duracaoNanos > limiarLentas) {
+            oferecerLenta(request, duracaoNanos, etapasNanos);
+        }
+    }
+
+    public synchronized LatenciaResumo resumo() {
+        for (int i = 0; i < faixas.length; i++) {
+            intervalos[i] = faixas[i].getIntervalHistogram(intervalos[i]);
+            acumulado.add(intervalos[i]);
+        }
+        RequisicaoLenta[] lentas = Arrays.copyOf(maisLentas, quantidadeLentas);
+        Arrays.sort(lentas, Comparator.comparingDouble(RequisicaoLenta::totalMs).reversed());
+        return new LatenciaResumo(
+                acumulado.getTotalCount(),
+                acumulado.getTotalCount() == 0 ? 0 : acumulado.getMean() / 1000,
+                emMs(acumulado.getValueAtPercentile(50)),
+                emMs(acumulado.getValueAtPercentile(90)),
+                emMs(acumulado.getValueAtPercentile(99)),
+                emMs(acumulado.getValueAtPercentile(99.9)),
+                emMs(acumulado.getMaxValue()),
+                List.of(lentas));
+    }
+
+    public synchronized void limpar() {
+        for (int i = 0; i < faixas.length; i++) {
+            intervalos[i] = faixas[i].getIntervalHistogram(intervalos[i]);
+        }
+        acumulado.reset();
+        Arrays.fill(maisLentas, null);
+        quantidadeLentas = 0;
+        limiarLentas = -1;
+    }
+
+    private synchronized void oferecerLenta(SimulacaoRequest request, long duracaoNanos, long[] etapasNanos) {
+        if (maisLentas.length == 0 || duracaoNanos <= limiarLentas) {
+            return;
+        }
+        int posicao = quantidadeLentas;
+        if (quantidadeLentas < maisLentas.length) {
+            quantidadeLentas++;
+        } else {
+            posicao = indiceMaisRapida();
+        }
+        maisLentas[posicao] = new RequisicaoLenta(incluirRequisicao ? request : null, Instant.now(),
+                emMs(duracaoNanos / 1000.0),
+                emMs(etapasNanos[EtapasRequisicao.VALIDACAO] / 1000.0),
+                emMs(etapasNanos[EtapasRequisicao.DATAS] / 1000.0),
+                emMs(etapasNanos[EtapasRequisicao.CRONOGRAMA] / 1000.0));
+        duracoesMaisLentas[posicao] = duracaoNanos;
+        if (quantidadeLentas == maisLentas.length) {
+            limiarLentas = duracoesMaisLentas[indiceMaisRapida()];
+        }
+    }
+
+    private int indiceMaisRapida() {
+        int indice = 0;
+        for (int i = 1; i < quantidadeLentas; i++) {
+            if (duracoesMaisLentas[i] < duracoesMaisLentas[indice]) {
+                indice = i;
+            }
+        }
+        return indice;
+    }
+
+    private static double emMs(double micros) {
+        return micros / 1000;
+    }
+}
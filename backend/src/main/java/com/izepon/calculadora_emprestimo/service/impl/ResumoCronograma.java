@@ -0,0 +1,59 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.MetricaCenario;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResumo;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Soma as linhas do cronograma em centavos, à medida que o gerador as produz, para montar o
+ * {@link SimulacaoResumo} sem criar nenhuma linha.
+ */
+final class ResumoCronograma implements ConsumidorDeLinhas {
+
+    private int parcelas;
+    private long totalPago;
+    private long totalJuros;
+    private long totalAmortizado;
+    private long primeiraParcela;
+    private long ultimaParcela;
+    private int diaUltimaParcela;
+
+    @Override
+    public void aceitar(int diaEpoca, int parcela, long saldo, long amortizacao, long jurosDoPeriodo,
+                        long acumulado, long pago) {
+        totalJuros += jurosDoPeriodo;
+        if (parcela == 0) {
+            return;
+        }
+        if (parcelas++ == 0) {
+            primeiraParcela = pago;
+        }
+        totalPago += pago;
+        totalAmortizado += amortizacao;
+        ultimaParcela = pago;
+        diaUltimaParcela = diaEpoca;
+    }
+
+    long centavos(MetricaCenario metrica) {
+        return switch (metrica) {
+            case PRIMEIRA_PARCELA -> primeiraParcela;
+            case ULTIMA_PARCELA -> ultimaParcela;
+            case TOTAL_PAGO -> totalPago;
+            case TOTAL_JUROS -> totalJuros;
+        };
+    }
+
+    SimulacaoResumo resumo(BigDecimal valorEmprestimo) {
+        return new SimulacaoResumo(
+                parcelas,
+                valorEmprestimo,
+                BigDecimal.valueOf(totalPago, 2),
+                BigDecimal.valueOf(totalJuros, 2),
+                BigDecimal.valueOf(totalAmortizado, 2),
+                BigDecimal.valueOf(primeiraParcela, 2),
+                BigDecimal.valueOf(ultimaParcela, 2),
+                parcelas == 0 ? null : LocalDate.ofEpochDay(diaUltimaParcela));
+    }
+}
@@ -0,0 +1,278 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.CronogramaBinario;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoArquivada;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.dto.SistemaAmortizacao;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Um arquivo do log de simulações ({@code simulacoes-<sequência>.log}), só de acréscimo. Cada registro:
+ * <pre>
+ * int tamanho | int crc32 | long id | long instante (ms desde a época)
+ * int dataInicial | int dataFinal | int primeiroPagamento (dias desde a época)
+ * decimal valorEmprestimo | decimal taxaJuros | byte sistema de amortização | cronograma em {@link CronogramaBinario}
+ * </pre>
+ * onde {@code decimal} é {@code int escala | short n | n bytes do valor sem escala}. O tamanho e o CRC cobrem
+ * do id até o fim do registro.
+ * <p>
+ * Ao abrir um arquivo existente os registros são conferidos em sequência e, se o último estiver incompleto ou
+ * com CRC errado (queda no meio de uma gravação), o arquivo é truncado antes dele. Os ids e posições dos
+ * registros ficam num índice em memória, ordenado por id, para a consulta.
+ */
+final class SegmentoSimulacoes implements Closeable {
+
+    static final String PREFIXO = "simulacoes-";
+    static final String SUFIXO = ".log";
+
+    private static final int CABECALHO = 8;
+
+    private final long sequencia;
+    private final FileChannel canal;
+    private long tamanho;
+
+    private long[] ids = new long[1024];
+    private int[] posicoes = new int[1024];
+    private int quantidade;
+
+    private SegmentoSimulacoes(long sequencia, FileChannel canal) {
+        this.sequencia = sequencia;
+        this.canal = canal;
+    }
+
+    static Path arquivo(Path diretorio, long sequencia) {
+        return diretorio.resolve(String.format("%s%020d%s", PREFIXO, sequencia, SUFIXO));
+    }
+
+    /**
+     * Abre o segmento, criando o arquivo se ainda não existir, e reconstrói o índice.
+     */
+    static SegmentoSimulacoes abrir(Path diretorio, long sequencia) throws IOException {
+        FileChannel canal = FileChannel.open(arquivo(diretorio, sequencia),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        SegmentoSimulacoes segmento = new SegmentoSimulacoes(sequencia, canal);
+        segmento.recuperar();
+        return segmento;
+    }
+
+    private void recuperar() throws IOException {
+        long tamanhoArquivo = canal.size();
+        ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO);
+        long posicao = 0;
+        while (posicao + CABECALHO <= tamanhoArquivo) {
+            cabecalho.clear();
+            canal.read(cabecalho, posicao);
+            int tamanhoRegistro = cabecalho.getInt(0);
+            if (tamanhoRegistro < Long.BYTES || posicao + CABECALHO + tamanhoRegistro > tamanhoArquivo) {
+                break;
+            }
+            ByteBuffer registro = ByteBuffer.allocate(tamanhoRegistro);
+            canal.read(registro, posicao + CABECALHO);
+            if (crc(registro.array(), 0, tamanhoRegistro) != cabecalho.getInt(4)) {
+                break;
+            }
+            indexar(registro.getLong(0), (int) posicao);
+            posicao += CABECALHO + tamanhoRegistro;
+        }
+        if (posicao < tamanhoArquivo) {
+            canal.truncate(posicao);
+            canal.force(true);
+        }
+        tamanho = posicao;
+    }
+
+    long sequencia() {
+        return sequencia;
+    }
+
+    long tamanho() {
+        return tamanho;
+    }
+
+    synchronized long maiorId() {
+        return quantidade == 0 ? -1 : ids[quantidade - 1];
+    }
+
+    synchronized boolean contem(long id) {
+        return quantidade > 0 && id >= ids[0] && id <= ids[quantidade - 1];
+    }
+
+    /**
+     * Acrescenta os registros já codificados em {@code registros} e espera a gravação em disco ({@code fsync})
+     * antes de colocá-los no índice.
+     */
+    void anexar(Registros registros) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(registros.bytes(), 0, registros.size());
+        long posicao = tamanho;
+        while (bytes.hasRemaining()) {
+            posicao += canal.write(bytes, posicao);
+        }
+        canal.force(false);
+        synchronized (this) {
+            for (int i = 0; i < registros.quantidade; i++) {
+                indexar(registros.ids[i], (int) (tamanho + registros.inicios[i]));
+            }
+        }
+        tamanho = posicao;
+    }
+
+    Optional<SimulacaoArquivada> ler(long id) throws IOException {
+        int posicao;
+        synchronized (this) {
+            int indice = Arrays.binarySearch(ids, 0, quantidade, id);
+            if (indice < 0) {
+                return Optional.empty();
+            }
+            posicao = posicoes[indice];
+        }
+        ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO);
+        canal.read(cabecalho, posicao);
+        ByteBuffer registro = ByteBuffer.allocate(cabecalho.getInt(0));
+        canal.read(registro, posicao + CABECALHO);
+        return Optional.of(decodificar(registro.array()));
+    }
+
+    /**
+     * Os ids chegam quase em ordem (cada thread pega o seu antes de entrar na fila), então a inserção
+     * ordenada a partir do fim anda poucas posições.
+     */
+    private void indexar(long id, int posicao) {
+        if (quantidade == ids.length) {
+            ids = Arrays.copyOf(ids, quantidade * 2);
+            posicoes = Arrays.copyOf(posicoes, quantidade * 2);
+        }
+        int indice = quantidade;
+        while (indice > 0 && ids[indice - 1] > id) {
+            ids[indice] = ids[indice - 1];
+            posicoes[indice] = posicoes[indice - 1];
+            indice--;
+        }
+        ids[indice] = id;
+        posicoes[indice] = posicao;
+        quantidade++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    private static SimulacaoArquivada decodificar(byte[] registro) throws IOException {
+        DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(registro));
+        long id = entrada.readLong();
+        Instant instante = Instant.ofEpochMilli(entrada.readLong());
+        SimulacaoRequest request = new SimulacaoRequest(
+                LocalDate.ofEpochDay(entrada.readInt()),
+                LocalDate.ofEpochDay(entrada.readInt()),
+                LocalDate.ofEpochDay(entrada.readInt()),
+                lerDecimal(entrada),
+                lerDecimal(entrada),
+                SistemaAmortizacao.values()[entrada.readByte()]);
+        return new SimulacaoArquivada(id, instante, request, CronogramaBinario.ler(entrada));
+    }
+
+    private static BigDecimal lerDecimal(DataInputStream entrada) throws IOException {
+        int escala = entrada.readInt();
+        byte[] semEscala = new byte[entrada.readShort()];
+        entrada.readFully(semEscala);
+        return new BigDecimal(new BigInteger(semEscala), escala);
+    }
+
+    private static int crc(byte[] bytes, int inicio, int tamanho) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, inicio, tamanho);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Buffer reaproveitado pelo escritor para codificar um lote de registros antes de uma única escrita.
+     */
+    static final class Registros extends ByteArrayOutputStream {
+
+        private final DataOutputStream saida = new DataOutputStream(this);
+        private long[] ids = new long[64];
+        private int[] inicios = new int[64];
+        private int quantidade;
+
+        Registros() {
+            super(64 * 1024);
+        }
+
+        int quantidade() {
+            return quantidade;
+        }
+
+        void adicionar(long id, long instante, SimulacaoRequest request, List<SimulacaoResponse> cronograma)
+                throws IOException {
+            int inicio = count;
+            try {
+                saida.writeLong(0);
+                saida.writeLong(id);
+                saida.writeLong(instante);
+                saida.writeInt((int) request.dataInicial().toEpochDay());
+                saida.writeInt((int) request.dataFinal().toEpochDay());
+                saida.writeInt((int) request.primeiroPagamento().toEpochDay());
+                escreverDecimal(request.valorEmprestimo());
+                escreverDecimal(request.taxaJuros());
+                saida.writeByte(request.sistemaAmortizacao().ordinal());
+                CronogramaBinario.escrever(cronograma, saida);
+            } catch (IOException | RuntimeException e) {
+                count = inicio;
+                throw e;
+            }
+            int tamanhoRegistro = count - inicio - CABECALHO;
+            escreverInt(inicio, tamanhoRegistro);
+            escreverInt(inicio + 4, crc(buf, inicio + CABECALHO, tamanhoRegistro));
+            if (quantidade == ids.length) {
+                ids = Arrays.copyOf(ids, quantidade * 2);
+                inicios = Arrays.copyOf(inicios, quantidade * 2);
+            }
+            ids[quantidade] = id;
+            inicios[quantidade] = inicio;
+            quantidade++;
+        }
+
+        byte[] bytes() {
+            return buf;
+        }
+
+        @Override
+        public synchronized void reset() {
+            super.reset();
+            quantidade = 0;
+        }
+
+        private void escreverDecimal(BigDecimal valor) throws IOException {
+            byte[] semEscala = valor.unscaledValue().toByteArray();
+            saida.writeInt(valor.scale());
+            saida.writeShort(semEscala.length);
+            saida.write(semEscala);
+        }
+
+        private void escreverInt(int posicao, int valor) {
+            buf[posicao] = (byte) (valor >>> 24);
+            buf[posicao + 1] = (byte) (valor >>> 16);
+            buf[posicao + 2] = (byte) (valor >>> 8);
+            buf[posicao + 3] = (byte) valor;
+        }
+    }
+}
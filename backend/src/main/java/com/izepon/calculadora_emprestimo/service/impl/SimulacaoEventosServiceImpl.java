@@ -0,0 +1,136 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.izepon.calculadora_emprestimo.dto.EventoContrato;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.service.SimulacaoEventosService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Aplica os eventos de contrato sem recalcular o cronograma desde o início.
+ * <p>
+ * O cronograma base de cada requisição fica num cache limitado por memória, junto com um
+ * {@link GeradorCronograma.Checkpoint} por data de pagamento. Com eventos, o cálculo retoma do último
+ * checkpoint anterior ao primeiro evento: as linhas até ali são as do cronograma base e só o restante
+ * é gerado de novo. A chave é a requisição exata, com a escala dos valores: o prefixo copiado do cache e o
+ * sufixo recalculado precisam vir da mesma requisição. Usa sempre o motor em {@code BigDecimal}, que dá os
+ * mesmos resultados do motor em centavos.
+ */
+@Service
+public class SimulacaoEventosServiceImpl implements SimulacaoEventosService {
+
+    static final int BYTES_POR_CHECKPOINT = 160;
+
+    private final FatorJurosCache fatorJurosCache;
+    private final LinhaDoTempoCache linhaDoTempoCache;
+    private final MetricasSimulacao metricas;
+    private final Cache<SimulacaoRequest, CronogramaBase> cronogramas;
+
+    public SimulacaoEventosServiceImpl(FatorJurosCache fatorJurosCache, LinhaDoTempoCache linhaDoTempoCache,
+                                       MetricasSimulacao metricas, MeterRegistry meterRegistry,
+                                       @Value("${calculadora.eventos.cache.memoria-maxima:64MB}") DataSize memoriaMaxima) {
+        this.fatorJurosCache = fatorJurosCache;
+        this.linhaDoTempoCache = linhaDoTempoCache;
+        this.metricas = metricas;
+        this.cronogramas = Caffeine.newBuilder()
+                .maximumWeight(memoriaMaxima.toBytes())
+                .weigher((SimulacaoRequest chave, CronogramaBase base) -> base.peso())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cronogramas, "checkpoints");
+    }
+
+    @Override
+    public List<SimulacaoResponse> calcular(SimulacaoRequest base, List<EventoContrato> eventos) {
+        metricas.validarEventos(base, eventos);
+        CronogramaBase cronograma = cronogramas.get(base, this::gerarBase);
+        if (eventos.isEmpty()) {
+            return cronograma.linhas();
+        }
+
+        List<EventoContrato> ordenados = eventos.stream()
+                .sorted(Comparator.comparing(EventoContrato::data))
+                .toList();
+        GeradorCronograma.Checkpoint checkpoint = cronograma.checkpointAntes(ordenados.get(0).data().toEpochDay());
+        GeradorCronograma gerador = new GeradorCronograma(
+                base, cronograma.linhaDoTempo(), fatorJurosCache, checkpoint, ordenados);
+
+        List<SimulacaoResponse> resultados = new ArrayList<>(cronograma.linhas().size() + ordenados.size());
+        resultados.addAll(cronograma.linhas().subList(0, checkpoint.posicao()));
+        try {
+            metricas.medirCronograma(() -> {
+                gerador.forEachRemaining(resultados::add);
+                return resultados;
+            });
+        } catch (SimulacaoInvalidaException e) {
+            metricas.registrarFalhaValidacao(e.regra());
+            throw e;
+        }
+        metricas.registrarLinhas(resultados.size() - checkpoint.posicao());
+        return resultados;
+    }
+
+    private CronogramaBase gerarBase(SimulacaoRequest request) {
+        LinhaDoTempo linhaDoTempo = metricas.medirDatas(() -> linhaDoTempoCache.obter(request));
+        GeradorCronograma gerador = new GeradorCronograma(request, linhaDoTempo, fatorJurosCache);
+        List<SimulacaoResponse> linhas = new ArrayList<>(linhaDoTempo.tamanho());
+        List<GeradorCronograma.Checkpoint> checkpoints = new ArrayList<>(linhaDoTempo.totalParcelas() + 1);
+        metricas.medirCronograma(() -> {
+            // Um checkpoint depois da linha inicial e outro depois de cada parcela paga.
+            int ultimaParcela = -1;
+            while (gerador.hasNext()) {
+                linhas.add(gerador.next());
+                if (gerador.parcelasProcessadas() != ultimaParcela) {
+                    ultimaParcela = gerador.parcelasProcessadas();
+                    checkpoints.add(gerador.checkpoint());
+                }
+            }
+            return linhas;
+        });
+        metricas.registrarLinhas(linhas.size());
+        return new CronogramaBase(List.copyOf(linhas), linhaDoTempo,
+                checkpoints.toArray(GeradorCronograma.Checkpoint[]::new));
+    }
+
+    Cache<SimulacaoRequest, CronogramaBase> cronogramas() {
+        return cronogramas;
+    }
+
+    record CronogramaBase(List<SimulacaoResponse> linhas, LinhaDoTempo linhaDoTempo,
+                          GeradorCronograma.Checkpoint[] checkpoints) {
+
+        int peso() {
+            return CacheSimulacaoService.BYTES_POR_ENTRADA
+                    + linhas.size() * CacheSimulacaoService.BYTES_POR_LINHA
+                    + checkpoints.length * BYTES_POR_CHECKPOINT;
+        }
+
+        /**
+         * Último checkpoint cuja linha é anterior ao dia informado (busca binária; o primeiro, da data
+         * inicial, sempre serve porque os eventos são posteriores a ela).
+         */
+        GeradorCronograma.Checkpoint checkpointAntes(long diaEpoca) {
+            int inicio = 0;
+            int fim = checkpoints.length - 1;
+            while (inicio < fim) {
+                int meio = (inicio + fim + 1) >>> 1;
+                if (checkpoints[meio].diaAnterior() < diaEpoca) {
+                    inicio = meio;
+                } else {
+                    fim = meio - 1;
+                }
+            }
+            return checkpoints[inicio];
+        }
+    }
+}
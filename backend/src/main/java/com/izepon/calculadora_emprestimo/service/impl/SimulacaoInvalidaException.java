@@ -0,0 +1,28 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+/**
+ * Requisição que viola uma das regras da simulação. Continua sendo uma {@link IllegalArgumentException},
+ * mas informa qual regra falhou para que as falhas possam ser contadas por regra.
+ */
+public class SimulacaoInvalidaException extends IllegalArgumentException {
+
+    public enum Regra {
+        CAMPOS_OBRIGATORIOS,
+        DATA_FINAL,
+        EVENTO,
+        PRIMEIRO_PAGAMENTO,
+        TAXA_JUROS,
+        VALOR_EMPRESTIMO
+    }
+
+    private final Regra regra;
+
+    public SimulacaoInvalidaException(Regra regra, String mensagem) {
+        super(mensagem);
+        this.regra = regra;
+    }
+
+    public Regra regra() {
+        return regra;
+    }
+}
@@ -0,0 +1,73 @@
+package com.izepon.calculadora_emprestimo.service.impl;
+
+import com.izepon.calculadora_emprestimo.dto.EventoContrato;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.service.impl.SimulacaoInvalidaException.Regra;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Regras de negócio da simulação, aplicadas por todos os motores de cálculo.
+ */
+final class ValidadorSimulacao {
+
+    private ValidadorSimulacao() {
+    }
+
+    static void validar(SimulacaoRequest request) {
+        if (request == null || request.dataInicial() == null || request.dataFinal() == null
+                || request.primeiroPagamento() == null || request.valorEmprestimo() == null
+                || request.taxaJuros() == null) {
+            throw new SimulacaoInvalidaException(Regra.CAMPOS_OBRIGATORIOS, "Todos os campos da simulação são obrigatórios.");
+        }
+        if (!request.dataFinal().isAfter(request.dataInicial())) {
+            throw new SimulacaoInvalidaException(Regra.DATA_FINAL, "A data final deve ser maior que a data inicial.");
+        }
+        if (request.primeiroPagamento().isBefore(request.dataInicial())
+                || request.primeiroPagamento().isAfter(request.dataFinal())) {
+            throw new SimulacaoInvalidaException(Regra.PRIMEIRO_PAGAMENTO, "O primeiro pagamento deve estar entre a data inicial e a data final (inclusive).");
+        }
+        if (request.taxaJuros().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new SimulacaoInvalidaException(Regra.TAXA_JUROS, "A taxa de juros deve ser maior que zero.");
+        }
+        if (request.valorEmprestimo().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new SimulacaoInvalidaException(Regra.VALOR_EMPRESTIMO, "O valor do empréstimo deve ser maior que zero.");
+        }
+    }
+
+    /**
+     * Regras dos eventos de contrato, sobre uma simulação base já validada. As regras que dependem do
+     * cronograma (suspender só em data de pagamento, amortizar no máximo o saldo) são verificadas na geração.
+     */
+    static void validarEventos(SimulacaoRequest request, List<EventoContrato> eventos) {
+        if (eventos == null) {
+            throw new SimulacaoInvalidaException(Regra.CAMPOS_OBRIGATORIOS, "A lista de eventos é obrigatória.");
+        }
+        for (EventoContrato evento : eventos) {
+            if (evento == null || evento.tipo() == null || evento.data() == null) {
+                throw new SimulacaoInvalidaException(Regra.CAMPOS_OBRIGATORIOS, "Todo evento precisa de tipo e data.");
+            }
+            if (!evento.data().isAfter(request.dataInicial()) || evento.data().isAfter(request.dataFinal())) {
+                throw new SimulacaoInvalidaException(Regra.EVENTO, "O evento de " + evento.data()
+                        + " deve estar depois da data inicial e até a data final.");
+            }
+            switch (evento.tipo()) {
+                case AMORTIZACAO_EXTRAORDINARIA -> {
+                    if (evento.valor() == null || evento.valor().compareTo(BigDecimal.ZERO) <= 0) {
+                        throw new SimulacaoInvalidaException(Regra.EVENTO, "A amortização extraordinária de "
+                                + evento.data() + " deve ter valor maior que zero.");
+                    }
+                }
+                case NOVA_TAXA -> {
+                    if (evento.taxaJuros() == null || evento.taxaJuros().compareTo(BigDecimal.ZERO) <= 0) {
+                        throw new SimulacaoInvalidaException(Regra.EVENTO, "A nova taxa de "
+                                + evento.data() + " deve ser maior que zero.");
+                    }
+                }
+                case PARCELA_SUSPENSA -> {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.izepon.calculadora_emprestimo.config;
+
+import com.izepon.calculadora_emprestimo.dto.CronogramaSerializer;
+import com.izepon.calculadora_emprestimo.dto.EventoContrato;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+public class HintsNativosTest {
+
+    @Test
+    void deveRegistrarOsDtosParaSerializacao() throws Exception {
+        RuntimeHints hints = new RuntimeHints();
+        new HintsNativos().registerHints(hints, getClass().getClassLoader());
+
+        Assertions.assertTrue(RuntimeHintsPredicates.reflection()
+                .onConstructor(SimulacaoRequest.class.getDeclaredConstructors()[0]).test(hints));
+        Assertions.assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(SimulacaoResponse.class.getMethod("saldoDevedor")).test(hints));
+        Assertions.assertTrue(RuntimeHintsPredicates.reflection().onType(EventoContrato.Tipo.class).test(hints));
+        Assertions.assertTrue(RuntimeHintsPredicates.reflection().onType(CronogramaSerializer.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+}
@@ -1,27 +1,55 @@
 package com.izepon.calculadora_emprestimo.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.izepon.calculadora_emprestimo.config.FormatosRespostaConfig;
+import com.izepon.calculadora_emprestimo.dto.CarteiraResponse;
+import com.izepon.calculadora_emprestimo.dto.Cronograma;
+import com.izepon.calculadora_emprestimo.dto.CronogramaBinario;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoArquivada;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoLoteResponse;
 import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
 import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResumo;
+import com.izepon.calculadora_emprestimo.service.AgregacaoCarteiraService;
+import com.izepon.calculadora_emprestimo.service.ArquivoSimulacoesService;
 import com.izepon.calculadora_emprestimo.service.CalculadoraEmprestimoService;
+import com.izepon.calculadora_emprestimo.service.CenariosService;
+import com.izepon.calculadora_emprestimo.service.SimulacaoEventosService;
+import com.izepon.calculadora_emprestimo.service.impl.LinhaDoTempoCache;
+import com.izepon.calculadora_emprestimo.service.impl.MetricasSimulacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(CalculadoraEmprestimoController.class)
+@WebMvcTest(value = CalculadoraEmprestimoController.class, properties = "spring.main.web-application-type=servlet")
+@Import({FormatosRespostaConfig.class, MetricasSimulacao.class, LinhaDoTempoCache.class, SimpleMeterRegistry.class})
 public class CalcularEmprestimoControllerTest {
 
     private static final LocalDate DATA_INICIAL = LocalDate.of(2024, 1, 1);
@@ -32,6 +60,12 @@ public class CalcularEmprestimoControllerTest {
     private static final String VALOR_PARCELA = "927.01";
     private static final String INVALID_BODY_JSON = "{ \"dataInicial\": \"2024-01-01\" }";
     private static final String URL_TESTE = "/api/calculadora-emprestimo/calcular";
+    private static final String URL_LOTE = "/api/calculadora-emprestimo/lote";
+    private static final String URL_STREAM = "/api/calculadora-emprestimo/calcular/stream";
+    private static final String URL_COLUNAR = "/api/calculadora-emprestimo/calcular/colunar";
+    private static final String URL_RESUMO = "/api/calculadora-emprestimo/calcular/resumo";
+    private static final String URL_CARTEIRA = "/api/calculadora-emprestimo/carteira";
+    private static final String URL_SIMULACOES = "/api/calculadora-emprestimo/simulacoes/";
 
     @Autowired
     private MockMvc mockMvc;
@@ -42,6 +76,18 @@ public class CalcularEmprestimoControllerTest {
     @MockitoBean
     private CalculadoraEmprestimoService service;
 
+    @MockitoBean
+    private SimulacaoEventosService eventosService;
+
+    @MockitoBean
+    private AgregacaoCarteiraService carteiraService;
+
+    @MockitoBean
+    private CenariosService cenariosService;
+
+    @MockitoBean
+    private ArquivoSimulacoesService arquivoSimulacoes;
+
     @Test
     public void deveRetornar200ComListaVazia() throws Exception {
         SimulacaoRequest request = new SimulacaoRequest(
@@ -104,6 +150,33 @@ public class CalcularEmprestimoControllerTest {
                 .andExpect(jsonPath("$[1].total").value(VALOR_PARCELA));
     }
 
+    @Test
+    public void deveInformarOIdDaSimulacaoArquivadaEConsultarPorEle() throws Exception {
+        SimulacaoRequest request = new SimulacaoRequest(
+                DATA_INICIAL,
+                DATA_FINAL,
+                DATA_PRIMEIRO_PAGAMENTO,
+                VALOR_EMPRESTIMO,
+                TAXA_JUROS
+        );
+        Mockito.when(service.calcular(Mockito.eq(request))).thenReturn(Collections.emptyList());
+        Mockito.when(arquivoSimulacoes.registrar(Mockito.eq(request), Mockito.anyList())).thenReturn(42L);
+        Mockito.when(arquivoSimulacoes.buscar(42L)).thenReturn(Optional.of(
+                new SimulacaoArquivada(42L, Instant.EPOCH, request, Collections.emptyList())));
+
+        mockMvc.perform(post(URL_TESTE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Simulacao-Id", "42"));
+        mockMvc.perform(get(URL_SIMULACOES + 42))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(42))
+                .andExpect(jsonPath("$.request.dataFinal").value("2024-12-01"));
+        mockMvc.perform(get(URL_SIMULACOES + 7))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     public void deveRetornar400QuandoRequisicaoInvalida() throws Exception {
         mockMvc.perform(post(URL_TESTE)
@@ -111,5 +184,200 @@ public class CalcularEmprestimoControllerTest {
                         .content(INVALID_BODY_JSON))
                 .andExpect(status().isBadRequest());
     }
-}
 
+    @Test
+    public void deveRetornar200ComResultadoPorItemDoLote() throws Exception {
+        SimulacaoRequest request = new SimulacaoRequest(
+                DATA_INICIAL,
+                DATA_FINAL,
+                DATA_PRIMEIRO_PAGAMENTO,
+                VALOR_EMPRESTIMO,
+                TAXA_JUROS
+        );
+        List<SimulacaoRequest> lote = List.of(request, request);
+        Mockito.when(service.calcularLote(Mockito.eq(lote))).thenReturn(List.of(
+                new SimulacaoLoteResponse(0, Collections.emptyList(), null),
+                new SimulacaoLoteResponse(1, Collections.emptyList(), "A taxa de juros deve ser maior que zero.")
+        ));
+
+        mockMvc.perform(post(URL_LOTE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(lote)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$[0].indice").value(0))
+                .andExpect(jsonPath("$[1].erro").value("A taxa de juros deve ser maior que zero."));
+    }
+
+    @Test
+    public void deveAgregarCarteiraLidaComoNdjson() throws Exception {
+        SimulacaoRequest request = new SimulacaoRequest(
+                DATA_INICIAL,
+                DATA_FINAL,
+                DATA_PRIMEIRO_PAGAMENTO,
+                VALOR_EMPRESTIMO,
+                TAXA_JUROS
+        );
+        // Uma linha ilegível no meio chega ao serviço como null e não interrompe a leitura das seguintes.
+        String corpo = objectMapper.writeValueAsString(request) + "\n{\"dataInicial\": \n"
+                + objectMapper.writeValueAsString(request) + "\n";
+        Mockito.when(carteiraService.agregar(Mockito.any())).thenAnswer(invocacao -> {
+            Iterator<SimulacaoRequest> requests = invocacao.getArgument(0);
+            long contratos = 0;
+            long falhas = 0;
+            while (requests.hasNext()) {
+                SimulacaoRequest lida = requests.next();
+                if (lida == null) {
+                    falhas++;
+                } else {
+                    Assertions.assertEquals(request, lida);
+                    contratos++;
+                }
+            }
+            return new CarteiraResponse(contratos, falhas, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                    BigDecimal.ZERO, List.of());
+        });
+
+        mockMvc.perform(post(URL_CARTEIRA)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(corpo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contratos").value(2))
+                .andExpect(jsonPath("$.falhas").value(1))
+                .andExpect(jsonPath("$.meses").isArray());
+    }
+
+    @Test
+    public void deveRetornarUmaLinhaNdjsonPorParcela() throws Exception {
+        SimulacaoRequest request = new SimulacaoRequest(
+                DATA_INICIAL,
+                DATA_FINAL,
+                DATA_PRIMEIRO_PAGAMENTO,
+                VALOR_EMPRESTIMO,
+                TAXA_JUROS
+        );
+        SimulacaoResponse linha = new SimulacaoResponse(
+                DATA_PRIMEIRO_PAGAMENTO,
+                BigDecimal.ZERO,
+                VALOR_EMPRESTIMO,
+                "1/11",
+                new BigDecimal(VALOR_PARCELA),
+                BigDecimal.ZERO,
+                BigDecimal.ZERO,
+                BigDecimal.ZERO,
+                BigDecimal.ZERO,
+                new BigDecimal(VALOR_PARCELA)
+        );
+        Mockito.when(service.calcularEmStream(Mockito.eq(request))).thenReturn(Stream.of(linha, linha));
+
+        var resultado = mockMvc.perform(post(URL_STREAM)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String esperado = objectMapper.writeValueAsString(linha) + "\n";
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(esperado + esperado));
+    }
+
+    @Test
+    public void deveSerializarCronogramaColunarComOsCamposDaLista() throws Exception {
+        SimulacaoRequest request = new SimulacaoRequest(
+                DATA_INICIAL,
+                DATA_FINAL,
+                DATA_PRIMEIRO_PAGAMENTO,
+                VALOR_EMPRESTIMO,
+                TAXA_JUROS
+        );
+        Cronograma cronograma = new Cronograma(1_000_000, 2);
+        cronograma.adicionarLinha(DATA_INICIAL, 0, 1_000_000, 0, 0, 0, 0);
+        cronograma.adicionarLinha(DATA_PRIMEIRO_PAGAMENTO, 1, 0, 1_000_000, 1_234, 0, 1_001_234);
+        Mockito.when(service.calcularCronograma(Mockito.eq(request))).thenReturn(cronograma);
+
+        mockMvc.perform(post(URL_COLUNAR)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].data").value("2024-01-01"))
+                .andExpect(jsonPath("$[0].valorEmprestimo").value(10000.00))
+                .andExpect(jsonPath("$[1].consolidada").value("1/1"))
+                .andExpect(jsonPath("$[1].provisao").value(12.34))
+                .andExpect(jsonPath("$[1].total").value(10012.34));
+    }
+
+    @Test
+    public void deveRetornarResumoDaSimulacao() throws Exception {
+        SimulacaoRequest request = new SimulacaoRequest(
+                DATA_INICIAL,
+                DATA_FINAL,
+                DATA_PRIMEIRO_PAGAMENTO,
+                VALOR_EMPRESTIMO,
+                TAXA_JUROS
+        );
+        Mockito.when(service.calcularResumo(Mockito.eq(request))).thenReturn(new SimulacaoResumo(
+                11,
+                VALOR_EMPRESTIMO,
+                new BigDecimal("10197.11"),
+                new BigDecimal("197.11"),
+                new BigDecimal("10000.00"),
+                new BigDecimal(VALOR_PARCELA),
+                new BigDecimal("909.10"),
+                DATA_FINAL));
+
+        mockMvc.perform(post(URL_RESUMO)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.parcelas").value(11))
+                .andExpect(jsonPath("$.totalJuros").value(197.11))
+                .andExpect(jsonPath("$.dataUltimaParcela").value("2024-12-01"));
+    }
+
+    @Test
+    public void deveNegociarFormatoBinarioPeloAccept() throws Exception {
+        SimulacaoRequest request = new SimulacaoRequest(
+                DATA_INICIAL,
+                DATA_FINAL,
+                DATA_PRIMEIRO_PAGAMENTO,
+                VALOR_EMPRESTIMO,
+                TAXA_JUROS
+        );
+        Cronograma cronograma = new Cronograma(1_000_000, 2);
+        cronograma.adicionarLinha(DATA_INICIAL, 0, 1_000_000, 0, 0, 0, 0);
+        cronograma.adicionarLinha(DATA_PRIMEIRO_PAGAMENTO, 1, 0, 1_000_000, 1_234, 0, 1_001_234);
+        Mockito.when(service.calcular(Mockito.eq(request))).thenReturn(cronograma.paraLinhas());
+        String corpo = objectMapper.writeValueAsString(request);
+
+        mockMvc.perform(post(URL_TESTE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.ALL)
+                        .content(corpo))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+
+        byte[] smile = mockMvc.perform(post(URL_TESTE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept("application/x-jackson-smile")
+                        .content(corpo))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+        Assertions.assertEquals("1/1", smileMapper.readTree(smile).get(1).get("consolidada").asText());
+        Assertions.assertEquals("2024-01-31", smileMapper.readTree(smile).get(1).get("data").asText());
+
+        byte[] binario = mockMvc.perform(post(URL_TESTE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(CronogramaBinario.MEDIA_TYPE)
+                        .content(corpo))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CronogramaBinario.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+        List<SimulacaoResponse> linhas = CronogramaBinario.ler(new ByteArrayInputStream(binario));
+        Assertions.assertEquals(2, linhas.size());
+        Assertions.assertEquals(new BigDecimal("10012.34"), linhas.get(1).total());
+    }
+}
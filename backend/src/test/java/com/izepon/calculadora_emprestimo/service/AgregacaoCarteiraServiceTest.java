@@ -0,0 +1,119 @@
+package com.izepon.calculadora_emprestimo.service;
+
+import com.izepon.calculadora_emprestimo.dto.CarteiraMesResponse;
+import com.izepon.calculadora_emprestimo.dto.CarteiraResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.service.impl.AgregacaoCarteiraServiceImpl;
+import com.izepon.calculadora_emprestimo.service.impl.CalculadoraEmprestimoServiceImpl;
+import com.izepon.calculadora_emprestimo.service.impl.ExecutorLoteSimulacao;
+import com.izepon.calculadora_emprestimo.service.impl.FatorJurosCache;
+import com.izepon.calculadora_emprestimo.service.impl.LinhaDoTempoCache;
+import com.izepon.calculadora_emprestimo.service.impl.MetricasSimulacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class AgregacaoCarteiraServiceTest {
+
+    private final FatorJurosCache fatorJurosCache = new FatorJurosCache(1024);
+
+    private final LinhaDoTempoCache linhaDoTempoCache = new LinhaDoTempoCache(1024);
+    private final MetricasSimulacao metricas = new MetricasSimulacao(new SimpleMeterRegistry());
+    private final ExecutorLoteSimulacao executorLote = new ExecutorLoteSimulacao(2, 1000);
+    private final CalculadoraEmprestimoServiceImpl motor = new CalculadoraEmprestimoServiceImpl(
+            fatorJurosCache, linhaDoTempoCache, executorLote, metricas);
+    private final AgregacaoCarteiraService service = new AgregacaoCarteiraServiceImpl(
+            fatorJurosCache, linhaDoTempoCache, executorLote, metricas);
+
+    @AfterEach
+    void encerrar() {
+        executorLote.encerrar();
+    }
+
+    @Test
+    void deveSomarOsCronogramasPorMes() {
+        List<SimulacaoRequest> carteira = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            LocalDate dataInicial = LocalDate.of(2024, 1, 1).plusDays(i % 90);
+            carteira.add(new SimulacaoRequest(
+                    dataInicial,
+                    dataInicial.plusMonths(6 + i % 30),
+                    dataInicial.plusDays(15 + i % 20),
+                    // Alguns valores com três casas decimais passam pelo motor BigDecimal.
+                    i % 7 == 0 ? new BigDecimal("1234.567") : BigDecimal.valueOf(5000 + i * 13L),
+                    BigDecimal.valueOf(2 + i % 11)));
+        }
+        carteira.add(new SimulacaoRequest(LocalDate.of(2024, 1, 1), LocalDate.of(2023, 1, 1),
+                LocalDate.of(2024, 1, 1), BigDecimal.TEN, BigDecimal.ONE));
+
+        CarteiraResponse resumo = service.agregar(carteira.iterator());
+
+        Map<YearMonth, BigDecimal[]> esperado = new TreeMap<>();
+        for (SimulacaoRequest request : carteira.subList(0, 2500)) {
+            Map<YearMonth, BigDecimal> saldoNoFimDoMes = new TreeMap<>();
+            for (SimulacaoResponse linha : motor.calcular(request)) {
+                BigDecimal[] mes = esperado.computeIfAbsent(YearMonth.from(linha.data()),
+                        chave -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO});
+                mes[0] = mes[0].add(linha.provisao());
+                mes[1] = mes[1].add(linha.amortizacao());
+                mes[2] = mes[2].add(linha.pago());
+                saldoNoFimDoMes.put(YearMonth.from(linha.data()), linha.saldo().setScale(2, RoundingMode.HALF_EVEN));
+            }
+            saldoNoFimDoMes.forEach((mes, saldo) -> esperado.get(mes)[3] = esperado.get(mes)[3].add(saldo));
+        }
+
+        Assertions.assertEquals(2500, resumo.contratos());
+        Assertions.assertEquals(1, resumo.falhas());
+        Assertions.assertEquals(esperado.size(), resumo.meses().size());
+        for (CarteiraMesResponse mes : resumo.meses()) {
+            BigDecimal[] valores = esperado.get(mes.mes());
+            Assertions.assertEquals(0, valores[0].compareTo(mes.juros()), "juros de " + mes.mes());
+            Assertions.assertEquals(0, valores[1].compareTo(mes.amortizacao()), "amortização de " + mes.mes());
+            Assertions.assertEquals(0, valores[2].compareTo(mes.pago()), "pago de " + mes.mes());
+            Assertions.assertEquals(0, valores[3].compareTo(mes.saldoDevedor()), "saldo de " + mes.mes());
+        }
+    }
+
+    @Test
+    void contratoForaDoLongOuIlegivelDeveContarComoFalha() {
+        List<SimulacaoRequest> validas = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            validas.add(new SimulacaoRequest(LocalDate.of(2024, 1, 1), LocalDate.of(2026, 1, 1),
+                    LocalDate.of(2024, 2, 15), new BigDecimal("1234.567").add(BigDecimal.valueOf(i)),
+                    new BigDecimal("5")));
+        }
+        List<SimulacaoRequest> carteira = new ArrayList<>(validas);
+        // 10^17 reais não cabe em centavos num long; o null é uma linha da entrada que não pôde ser lida.
+        carteira.add(1, new SimulacaoRequest(LocalDate.of(2024, 1, 1), LocalDate.of(2026, 1, 1),
+                LocalDate.of(2024, 2, 15), new BigDecimal("1E+17"), new BigDecimal("5")));
+        carteira.add(null);
+
+        CarteiraResponse resumo = service.agregar(carteira.iterator());
+        CarteiraResponse soValidas = service.agregar(validas.iterator());
+
+        Assertions.assertEquals(3, resumo.contratos());
+        Assertions.assertEquals(2, resumo.falhas());
+        Assertions.assertEquals(soValidas.valorEmprestado(), resumo.valorEmprestado());
+        Assertions.assertEquals(soValidas.meses(), resumo.meses());
+    }
+
+    @Test
+    void carteiraVaziaDeveRetornarTotaisZerados() {
+        CarteiraResponse resumo = service.agregar(List.<SimulacaoRequest>of().iterator());
+
+        Assertions.assertEquals(0, resumo.contratos());
+        Assertions.assertEquals(BigDecimal.ZERO.setScale(2), resumo.juros());
+        Assertions.assertTrue(resumo.meses().isEmpty());
+    }
+}
@@ -0,0 +1,181 @@
+package com.izepon.calculadora_emprestimo.service;
+
+import com.izepon.calculadora_emprestimo.dto.SimulacaoArquivada;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.dto.SistemaAmortizacao;
+import com.izepon.calculadora_emprestimo.service.impl.ArquivoSimulacoesServiceImpl;
+import com.izepon.calculadora_emprestimo.service.impl.ArquivoSobrecarregadoException;
+import com.izepon.calculadora_emprestimo.service.impl.CalculadoraEmprestimoServiceImpl;
+import com.izepon.calculadora_emprestimo.service.impl.ExecutorLoteSimulacao;
+import com.izepon.calculadora_emprestimo.service.impl.FatorJurosCache;
+import com.izepon.calculadora_emprestimo.service.impl.LinhaDoTempoCache;
+import com.izepon.calculadora_emprestimo.service.impl.MetricasSimulacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+public class ArquivoSimulacoesServiceTest {
+
+    private static final LocalDate DATA_INICIAL = LocalDate.of(2024, 1, 10);
+
+    @TempDir
+    private Path diretorio;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorLoteSimulacao executorLote = new ExecutorLoteSimulacao(1, 1);
+    private final CalculadoraEmprestimoServiceImpl motor = new CalculadoraEmprestimoServiceImpl(
+            new FatorJurosCache(16), new LinhaDoTempoCache(1024), executorLote, new MetricasSimulacao(registry));
+
+    @AfterEach
+    void encerrar() {
+        executorLote.encerrar();
+    }
+
+    @Test
+    void simulacaoRegistradaDeveSerEncontradaPeloIdDepoisDeGravada() throws Exception {
+        ArquivoSimulacoesServiceImpl arquivo = arquivo(1024, ArquivoSimulacoesServiceImpl.Sobrecarga.RECUSAR);
+        SimulacaoRequest request = request(36, SistemaAmortizacao.PRICE);
+        List<SimulacaoResponse> cronograma = motor.calcular(request);
+
+        long id = arquivo.registrar(request, cronograma);
+        SimulacaoArquivada arquivada = aguardar(arquivo, id);
+
+        Assertions.assertEquals(request, arquivada.request());
+        assertMesmosValores(cronograma, arquivada.cronograma());
+        Assertions.assertTrue(arquivo.buscar(id + 1).isEmpty());
+        arquivo.encerrar();
+    }
+
+    @Test
+    void aoReabrirDeveDescartarORegistroIncompletoEContinuarOsIds() throws Exception {
+        ArquivoSimulacoesServiceImpl arquivo = arquivo(1024, ArquivoSimulacoesServiceImpl.Sobrecarga.RECUSAR);
+        for (int prazo = 12; prazo <= 36; prazo += 12) {
+            SimulacaoRequest request = request(prazo, SistemaAmortizacao.SAC);
+            arquivo.registrar(request, motor.calcular(request));
+        }
+        arquivo.encerrar();
+        Path segmento;
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            segmento = arquivos.findFirst().orElseThrow();
+        }
+        long tamanhoGravado = Files.size(segmento);
+        // Um cabeçalho que promete mais bytes do que o arquivo tem, como numa queda no meio da gravação.
+        Files.write(segmento, new byte[]{0, 0, 1, 0, 1, 2, 3, 4, 5, 6}, StandardOpenOption.APPEND);
+
+        ArquivoSimulacoesServiceImpl reaberto = arquivo(1024, ArquivoSimulacoesServiceImpl.Sobrecarga.RECUSAR);
+
+        Assertions.assertEquals(tamanhoGravado, Files.size(segmento));
+        for (long id = 0; id < 3; id++) {
+            Assertions.assertEquals(DATA_INICIAL.plusMonths(12 * (id + 1)),
+                    reaberto.buscar(id).orElseThrow().request().dataFinal());
+        }
+        SimulacaoRequest request = request(48, SistemaAmortizacao.BULLET);
+        Assertions.assertEquals(3, reaberto.registrar(request, motor.calcular(request)));
+        reaberto.encerrar();
+    }
+
+    @Test
+    void filaCheiaDeveRecusarOuDescartarConformeAPolitica() throws Exception {
+        for (ArquivoSimulacoesServiceImpl.Sobrecarga politica : ArquivoSimulacoesServiceImpl.Sobrecarga.values()) {
+            ArquivoSimulacoesServiceImpl arquivo = arquivo(1, politica);
+            arquivo.bindTo(registry);
+            SimulacaoRequest request = request(12, SistemaAmortizacao.SAC);
+            List<SimulacaoResponse> cronograma = motor.calcular(request);
+            CountDownLatch liberar = new CountDownLatch(1);
+
+            // O escritor fica parado codificando a primeira simulação, que continua contando na fila.
+            long primeiro = arquivo.registrar(request, bloqueado(cronograma, liberar));
+            if (politica == ArquivoSimulacoesServiceImpl.Sobrecarga.RECUSAR) {
+                Assertions.assertThrows(ArquivoSobrecarregadoException.class,
+                        () -> arquivo.registrar(request, cronograma));
+            } else {
+                Assertions.assertEquals(ArquivoSimulacoesService.SEM_ID, arquivo.registrar(request, cronograma));
+            }
+            Assertions.assertEquals(1, registry.get("calculadora.arquivo.fila").gauge().value());
+            liberar.countDown();
+
+            assertMesmosValores(cronograma, aguardar(arquivo, primeiro).cronograma());
+            Assertions.assertEquals(1, registry.get("calculadora.arquivo.simulacoes")
+                    .tag("resultado", politica == ArquivoSimulacoesServiceImpl.Sobrecarga.RECUSAR ? "recusada" : "descartada")
+                    .counter().count());
+            arquivo.encerrar();
+            registry.clear();
+        }
+    }
+
+    private ArquivoSimulacoesServiceImpl arquivo(int fila, ArquivoSimulacoesServiceImpl.Sobrecarga sobrecarga)
+            throws Exception {
+        return new ArquivoSimulacoesServiceImpl(true, diretorio, fila, 64, DataSize.ofMegabytes(1), sobrecarga,
+                registry);
+    }
+
+    private static SimulacaoArquivada aguardar(ArquivoSimulacoesService arquivo, long id) throws InterruptedException {
+        for (int tentativa = 0; tentativa < 500; tentativa++) {
+            Optional<SimulacaoArquivada> arquivada = arquivo.buscar(id);
+            if (arquivada.isPresent()) {
+                return arquivada.get();
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Simulação " + id + " não foi gravada");
+    }
+
+    /**
+     * O arquivo devolve os valores todos com a mesma escala, então a comparação é pelo valor.
+     */
+    private static void assertMesmosValores(List<SimulacaoResponse> esperado, List<SimulacaoResponse> obtido) {
+        Assertions.assertEquals(esperado.size(), obtido.size());
+        for (int i = 0; i < esperado.size(); i++) {
+            SimulacaoResponse a = esperado.get(i);
+            SimulacaoResponse b = obtido.get(i);
+            Assertions.assertEquals(a.data(), b.data());
+            Assertions.assertEquals(a.consolidada(), b.consolidada());
+            Assertions.assertEquals(0, a.saldoDevedor().compareTo(b.saldoDevedor()));
+            Assertions.assertEquals(0, a.total().compareTo(b.total()));
+            Assertions.assertEquals(0, a.amortizacao().compareTo(b.amortizacao()));
+            Assertions.assertEquals(0, a.saldo().compareTo(b.saldo()));
+            Assertions.assertEquals(0, a.provisao().compareTo(b.provisao()));
+            Assertions.assertEquals(0, a.acumulado().compareTo(b.acumulado()));
+            Assertions.assertEquals(0, a.pago().compareTo(b.pago()));
+        }
+    }
+
+    private static List<SimulacaoResponse> bloqueado(List<SimulacaoResponse> linhas, CountDownLatch liberar) {
+        return new AbstractList<>() {
+            @Override
+            public SimulacaoResponse get(int indice) {
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return linhas.get(indice);
+            }
+
+            @Override
+            public int size() {
+                return linhas.size();
+            }
+        };
+    }
+
+    private static SimulacaoRequest request(int prazo, SistemaAmortizacao sistema) {
+        return new SimulacaoRequest(DATA_INICIAL, DATA_INICIAL.plusMonths(prazo), DATA_INICIAL.plusMonths(1),
+                new BigDecimal("85000.00"), new BigDecimal("11.25"), sistema);
+    }
+}
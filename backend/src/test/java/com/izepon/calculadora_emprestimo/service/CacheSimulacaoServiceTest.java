@@ -0,0 +1,165 @@
+package com.izepon.calculadora_emprestimo.service;
+
+import com.izepon.calculadora_emprestimo.dto.SimulacaoLoteResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.service.impl.CacheSimulacaoService;
+import com.izepon.calculadora_emprestimo.service.impl.CalculadoraEmprestimoServiceImpl;
+import com.izepon.calculadora_emprestimo.service.impl.ExecutorLoteSimulacao;
+import com.izepon.calculadora_emprestimo.service.impl.FatorJurosCache;
+import com.izepon.calculadora_emprestimo.service.impl.LinhaDoTempoCache;
+import com.izepon.calculadora_emprestimo.service.impl.LoteSimulacaoService;
+import com.izepon.calculadora_emprestimo.service.impl.MetricasSimulacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class CacheSimulacaoServiceTest {
+
+    private static final int CHAMADAS = 8;
+
+    private static final SimulacaoRequest REQUEST = new SimulacaoRequest(
+            LocalDate.of(2024, 1, 1),
+            LocalDate.of(2024, 12, 31),
+            LocalDate.of(2024, 1, 31),
+            new BigDecimal("10000"),
+            new BigDecimal("2"));
+
+    private static final SimulacaoResponse LINHA = new SimulacaoResponse(
+            LocalDate.of(2024, 1, 1),
+            new BigDecimal("10000"),
+            new BigDecimal("10000"),
+            "",
+            BigDecimal.ZERO,
+            BigDecimal.ZERO,
+            new BigDecimal("10000"),
+            BigDecimal.ZERO,
+            BigDecimal.ZERO,
+            BigDecimal.ZERO);
+
+    private final CalculadoraEmprestimoService motor = Mockito.mock(CalculadoraEmprestimoService.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void deveReaproveitarResultadoDeRequisicaoIgual() {
+        Mockito.when(motor.calcular(Mockito.any())).thenReturn(List.of(LINHA));
+        CacheSimulacaoService service = new CacheSimulacaoService(motor, 1_000_000, Duration.ofMinutes(1), registry);
+
+        List<SimulacaoResponse> primeira = service.calcular(REQUEST);
+        List<SimulacaoResponse> segunda = service.calcular(REQUEST);
+
+        Assertions.assertEquals(primeira, segunda);
+        Mockito.verify(motor, Mockito.times(1)).calcular(Mockito.any());
+        Assertions.assertEquals(1, service.cache().stats().hitCount());
+        // Um acerto depois do cálculo não é compartilhamento: só conta quem esperou o carregamento.
+        Assertions.assertEquals(1, contador("calculada"));
+        Assertions.assertEquals(0, contador("compartilhada"));
+    }
+
+    @Test
+    void chamadasQueEsperamOCarregamentoDevemContarComoCompartilhadas() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        Mockito.when(motor.calcular(Mockito.any())).thenAnswer(invocacao -> {
+            liberar.await();
+            return List.of(LINHA);
+        });
+        CacheSimulacaoService service = new CacheSimulacaoService(motor, 1_000_000, Duration.ofMinutes(1), registry);
+        ExecutorService executor = Executors.newFixedThreadPool(CHAMADAS);
+        try {
+            List<Future<List<SimulacaoResponse>>> resultados = new ArrayList<>();
+            resultados.add(executor.submit(() -> service.calcular(REQUEST)));
+            for (int tentativa = 0; tentativa < 500 && contador("calculada") < 1; tentativa++) {
+                Thread.sleep(10);
+            }
+            for (int i = 1; i < CHAMADAS; i++) {
+                resultados.add(executor.submit(() -> service.calcular(REQUEST)));
+            }
+            // As que chegaram depois precisam ter passado pela consulta antes de o carregamento terminar.
+            Thread.sleep(200);
+            liberar.countDown();
+
+            for (Future<List<SimulacaoResponse>> resultado : resultados) {
+                Assertions.assertEquals(List.of(LINHA), resultado.get());
+            }
+            Mockito.verify(motor, Mockito.times(1)).calcular(Mockito.any());
+            Assertions.assertEquals(1, contador("calculada"));
+            Assertions.assertEquals(CHAMADAS - 1, contador("compartilhada"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void deveResponderCadaEscalaComoOMotorSemCache() {
+        ExecutorLoteSimulacao executorLote = new ExecutorLoteSimulacao(1, 1);
+        try {
+            CalculadoraEmprestimoServiceImpl semCache = new CalculadoraEmprestimoServiceImpl(
+                    new FatorJurosCache(16), new LinhaDoTempoCache(1024), executorLote,
+                    new MetricasSimulacao(new SimpleMeterRegistry()));
+            CacheSimulacaoService service = new CacheSimulacaoService(
+                    semCache, 1_000_000, Duration.ofMinutes(1), registry);
+            SimulacaoRequest comCentavos = new SimulacaoRequest(
+                    REQUEST.dataInicial(),
+                    REQUEST.dataFinal(),
+                    REQUEST.primeiroPagamento(),
+                    new BigDecimal("10000.00"),
+                    new BigDecimal("2.0"));
+
+            // A ordem importa: a requisição com centavos chega primeiro e não pode ditar a escala da outra.
+            Assertions.assertEquals(semCache.calcular(comCentavos), service.calcular(comCentavos));
+            Assertions.assertEquals(semCache.calcular(REQUEST), service.calcular(REQUEST));
+            Assertions.assertEquals(semCache.calcular(comCentavos), service.calcular(comCentavos));
+            Assertions.assertEquals(new BigDecimal("10000"), service.calcular(REQUEST).get(0).valorEmprestimo());
+        } finally {
+            executorLote.encerrar();
+        }
+    }
+
+    @Test
+    void itensDoLoteDevemPassarPeloCache() {
+        Mockito.when(motor.calcular(Mockito.any())).thenReturn(List.of(LINHA));
+        ExecutorLoteSimulacao executorLote = new ExecutorLoteSimulacao(2, 100);
+        try {
+            CacheSimulacaoService cache = new CacheSimulacaoService(motor, 1_000_000, Duration.ofMinutes(1), registry);
+            CalculadoraEmprestimoService service = new LoteSimulacaoService(cache, executorLote);
+
+            List<SimulacaoLoteResponse> resultado = service.calcularLote(List.of(REQUEST, REQUEST, REQUEST));
+
+            Assertions.assertEquals(3, resultado.size());
+            resultado.forEach(item -> Assertions.assertEquals(List.of(LINHA), item.resultado()));
+            Mockito.verify(motor, Mockito.times(1)).calcular(Mockito.any());
+            Mockito.verify(motor, Mockito.never()).calcularLote(Mockito.any());
+        } finally {
+            executorLote.encerrar();
+        }
+    }
+
+    @Test
+    void naoDeveGuardarFalhaDeValidacao() {
+        Mockito.when(motor.calcular(Mockito.any()))
+                .thenThrow(new IllegalArgumentException("A taxa de juros deve ser maior que zero."));
+        CacheSimulacaoService service = new CacheSimulacaoService(motor, 1_000_000, Duration.ofMinutes(1), registry);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> service.calcular(REQUEST));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> service.calcular(REQUEST));
+        Mockito.verify(motor, Mockito.times(2)).calcular(Mockito.any());
+    }
+
+    private double contador(String resultado) {
+        return registry.get("calculadora.simulacao.compartilhamento")
+                .tag("operacao", "calcular")
+                .tag("resultado", resultado)
+                .counter().count();
+    }
+}
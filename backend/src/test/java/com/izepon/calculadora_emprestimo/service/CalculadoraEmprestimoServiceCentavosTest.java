@@ -0,0 +1,113 @@
+package com.izepon.calculadora_emprestimo.service;
+
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SistemaAmortizacao;
+import com.izepon.calculadora_emprestimo.service.impl.CalculadoraEmprestimoServiceCentavosImpl;
+import com.izepon.calculadora_emprestimo.service.impl.CalculadoraEmprestimoServiceImpl;
+import com.izepon.calculadora_emprestimo.service.impl.ExecutorLoteSimulacao;
+import com.izepon.calculadora_emprestimo.service.impl.FatorJurosCache;
+import com.izepon.calculadora_emprestimo.service.impl.LinhaDoTempoCache;
+import com.izepon.calculadora_emprestimo.service.impl.MetricasSimulacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Teste diferencial: o motor em centavos deve devolver exatamente as mesmas linhas
+ * (inclusive a escala dos valores) que o motor {@code BigDecimal}.
+ */
+public class CalculadoraEmprestimoServiceCentavosTest {
+
+    private static final int QUANTIDADE_SIMULACOES = 2000;
+
+    private final FatorJurosCache fatorJurosCache = new FatorJurosCache(4096);
+
+    private final LinhaDoTempoCache linhaDoTempoCache = new LinhaDoTempoCache(1024);
+    private final ExecutorLoteSimulacao executorLote = new ExecutorLoteSimulacao(1, 1);
+    private final MetricasSimulacao metricas = new MetricasSimulacao(new SimpleMeterRegistry());
+    private final CalculadoraEmprestimoServiceImpl motorBigDecimal =
+            new CalculadoraEmprestimoServiceImpl(fatorJurosCache, linhaDoTempoCache, executorLote, metricas);
+    private final CalculadoraEmprestimoServiceCentavosImpl motorCentavos =
+            new CalculadoraEmprestimoServiceCentavosImpl(fatorJurosCache, linhaDoTempoCache, executorLote,
+                    motorBigDecimal, metricas);
+
+    @AfterEach
+    void encerrar() {
+        executorLote.encerrar();
+    }
+
+    @Test
+    void deveGerarAsMesmasLinhasDoMotorBigDecimal() {
+        Random aleatorio = new Random(20240131L);
+
+        for (int i = 0; i < QUANTIDADE_SIMULACOES; i++) {
+            SimulacaoRequest request = gerarRequest(aleatorio);
+            Assertions.assertEquals(motorBigDecimal.calcular(request), motorCentavos.calcular(request),
+                    "Divergência para " + request);
+        }
+    }
+
+    @Test
+    void deveGerarAsMesmasLinhasDoMotorBigDecimalEmTodosOsSistemas() {
+        Random aleatorio = new Random(20251017L);
+
+        for (int i = 0; i < QUANTIDADE_SIMULACOES / 4; i++) {
+            SimulacaoRequest base = gerarRequest(aleatorio);
+            for (SistemaAmortizacao sistema : SistemaAmortizacao.values()) {
+                SimulacaoRequest request = new SimulacaoRequest(base.dataInicial(), base.dataFinal(),
+                        base.primeiroPagamento(), base.valorEmprestimo(), base.taxaJuros(), sistema);
+                Assertions.assertEquals(motorBigDecimal.calcular(request), motorCentavos.calcular(request),
+                        "Divergência para " + request);
+            }
+        }
+    }
+
+    @Test
+    void deveRepassarAoMotorBigDecimalValoresComMaisDeDuasCasas() {
+        SimulacaoRequest request = new SimulacaoRequest(
+                LocalDate.of(2024, 1, 1),
+                LocalDate.of(2024, 12, 31),
+                LocalDate.of(2024, 1, 31),
+                new BigDecimal("10000.125"),
+                new BigDecimal("2"));
+
+        Assertions.assertEquals(motorBigDecimal.calcular(request), motorCentavos.calcular(request));
+    }
+
+    @Test
+    void deveValidarAsMesmasRegrasDoMotorBigDecimal() {
+        SimulacaoRequest request = new SimulacaoRequest(
+                LocalDate.of(2024, 1, 1),
+                LocalDate.of(2024, 12, 31),
+                LocalDate.of(2024, 1, 31),
+                new BigDecimal("10000"),
+                BigDecimal.ZERO);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> motorCentavos.calcular(request));
+    }
+
+    private static SimulacaoRequest gerarRequest(Random aleatorio) {
+        LocalDate dataInicial = LocalDate.of(2000, 1, 1).plusDays(aleatorio.nextInt(365 * 40));
+        LocalDate dataFinal = dataInicial.plusMonths(1 + aleatorio.nextInt(420)).plusDays(aleatorio.nextInt(31) - 15);
+        if (!dataFinal.isAfter(dataInicial)) {
+            dataFinal = dataInicial.plusDays(1);
+        }
+        LocalDate primeiroPagamento = dataInicial.plusDays(aleatorio.nextInt(45));
+        if (primeiroPagamento.isAfter(dataFinal)) {
+            primeiroPagamento = dataFinal;
+        }
+        long unidades = switch (aleatorio.nextInt(3)) {
+            case 0 -> 1 + aleatorio.nextInt(1000);
+            case 1 -> 1 + aleatorio.nextInt(10_000_000);
+            default -> 1 + (long) (aleatorio.nextDouble() * 1e12);
+        };
+        BigDecimal valorEmprestimo = BigDecimal.valueOf(unidades, aleatorio.nextInt(3));
+        BigDecimal taxaJuros = BigDecimal.valueOf(1 + aleatorio.nextInt(5_000_000), aleatorio.nextInt(6));
+        return new SimulacaoRequest(dataInicial, dataFinal, primeiroPagamento, valorEmprestimo, taxaJuros);
+    }
+}
@@ -1,8 +1,16 @@
 package com.izepon.calculadora_emprestimo.service;
 
+import com.izepon.calculadora_emprestimo.dto.SimulacaoLoteResponse;
 import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
 import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResumo;
 import com.izepon.calculadora_emprestimo.service.impl.CalculadoraEmprestimoServiceImpl;
+import com.izepon.calculadora_emprestimo.service.impl.ExecutorLoteSimulacao;
+import com.izepon.calculadora_emprestimo.service.impl.FatorJurosCache;
+import com.izepon.calculadora_emprestimo.service.impl.LinhaDoTempoCache;
+import com.izepon.calculadora_emprestimo.service.impl.MetricasSimulacao;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,7 +26,8 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 @ExtendWith(SpringExtension.class)
-@ContextConfiguration(classes = {CalculadoraEmprestimoServiceImpl.class})
+@ContextConfiguration(classes = {CalculadoraEmprestimoServiceImpl.class, FatorJurosCache.class, ExecutorLoteSimulacao.class,
+        MetricasSimulacao.class, LinhaDoTempoCache.class, SimpleMeterRegistry.class})
 public class CalcularEmprestimoServiceTest {
 
     private static final LocalDate DATA_INICIAL = LocalDate.of(2024, 1, 1);
@@ -30,6 +39,9 @@ public class CalcularEmprestimoServiceTest {
     @Autowired
     private CalculadoraEmprestimoService service;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void deveCalcularParcelasCorretamenteComEntradaValida() {
         SimulacaoRequest request = new SimulacaoRequest(
@@ -264,4 +276,150 @@ public class CalcularEmprestimoServiceTest {
                     "Data de exibição esperada não encontrada: " + data);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveGerarDatasEmOrdemSemRepeticaoComParcelaNoFimDoMes() {
+        SimulacaoRequest request = new SimulacaoRequest(
+                LocalDate.of(2024, 1, 15),
+                LocalDate.of(2074, 1, 15),
+                LocalDate.of(2024, 1, 31),
+                VALOR_EMPRESTIMO,
+                TAXA_JUROS);
+
+        List<SimulacaoResponse> resultado = service.calcular(request);
+
+        for (int i = 1; i < resultado.size(); i++) {
+            Assertions.assertTrue(resultado.get(i).data().isAfter(resultado.get(i - 1).data()),
+                    "Datas fora de ordem ou repetidas em " + resultado.get(i).data());
+        }
+        List<SimulacaoResponse> parcelas = resultado.stream()
+                .filter(r -> !r.consolidada().isEmpty())
+                .toList();
+        Assertions.assertEquals(601, parcelas.size());
+        Assertions.assertEquals(LocalDate.of(2024, 2, 29), parcelas.get(1).data());
+        Assertions.assertEquals("601/601", parcelas.get(600).consolidada());
+        Assertions.assertEquals(LocalDate.of(2074, 1, 15), parcelas.get(600).data());
+    }
+
+    @Test
+    void deveCalcularLoteNaOrdemDeEntradaComErroPorItem() {
+        SimulacaoRequest valida = new SimulacaoRequest(
+                DATA_INICIAL,
+                DATA_FINAL,
+                PRIMEIRO_PAGAMENTO,
+                VALOR_EMPRESTIMO,
+                TAXA_JUROS);
+        SimulacaoRequest invalida = new SimulacaoRequest(
+                DATA_INICIAL,
+                DATA_FINAL,
+                PRIMEIRO_PAGAMENTO,
+                VALOR_EMPRESTIMO,
+                BigDecimal.ZERO);
+        SimulacaoRequest outraValida = new SimulacaoRequest(
+                DATA_INICIAL,
+                DATA_FINAL.plusYears(1),
+                PRIMEIRO_PAGAMENTO,
+                VALOR_EMPRESTIMO,
+                TAXA_JUROS);
+
+        List<SimulacaoLoteResponse> resultado = service.calcularLote(List.of(valida, invalida, outraValida));
+
+        Assertions.assertEquals(3, resultado.size());
+        Assertions.assertEquals(0, resultado.get(0).indice());
+        Assertions.assertNull(resultado.get(0).erro());
+        Assertions.assertEquals(service.calcular(valida), resultado.get(0).resultado());
+        Assertions.assertNotNull(resultado.get(1).erro());
+        Assertions.assertTrue(resultado.get(1).resultado().isEmpty());
+        Assertions.assertEquals(service.calcular(outraValida), resultado.get(2).resultado());
+    }
+
+    @Test
+    void deveInformarErroNoItemDoLoteComCampoObrigatorioAusente() {
+        SimulacaoRequest semTaxa = new SimulacaoRequest(
+                DATA_INICIAL,
+                DATA_FINAL,
+                PRIMEIRO_PAGAMENTO,
+                VALOR_EMPRESTIMO,
+                null);
+
+        List<SimulacaoLoteResponse> resultado = service.calcularLote(List.of(semTaxa));
+
+        Assertions.assertEquals(1, resultado.size());
+        Assertions.assertNotNull(resultado.get(0).erro());
+    }
+
+    @Test
+    void deveGerarNoStreamAsMesmasLinhasDoCalculo() {
+        SimulacaoRequest request = new SimulacaoRequest(
+                DATA_INICIAL,
+                DATA_FINAL.plusYears(29),
+                PRIMEIRO_PAGAMENTO,
+                VALOR_EMPRESTIMO,
+                TAXA_JUROS);
+
+        List<SimulacaoResponse> resultado = service.calcularEmStream(request).toList();
+
+        Assertions.assertEquals(service.calcular(request), resultado);
+    }
+
+    @Test
+    void deveValidarRegrasAoCriarOStream() {
+        SimulacaoRequest request = new SimulacaoRequest(
+                DATA_INICIAL,
+                DATA_INICIAL.minusDays(1),
+                PRIMEIRO_PAGAMENTO,
+                VALOR_EMPRESTIMO,
+                TAXA_JUROS);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> service.calcularEmStream(request));
+    }
+
+    @Test
+    void deveRegistrarMetricasDasEtapasEFalhasPorRegra() {
+        SimulacaoRequest valida = new SimulacaoRequest(
+                DATA_INICIAL,
+                DATA_FINAL,
+                PRIMEIRO_PAGAMENTO,
+                VALOR_EMPRESTIMO,
+                TAXA_JUROS);
+        SimulacaoRequest taxaZero = new SimulacaoRequest(
+                DATA_INICIAL,
+                DATA_FINAL,
+                PRIMEIRO_PAGAMENTO,
+                VALOR_EMPRESTIMO,
+                BigDecimal.ZERO);
+        double falhasAntes = meterRegistry.get("calculadora.simulacao.validacao.falhas")
+                .tag("regra", "taxa-juros").counter().count();
+        long cronogramasAntes = meterRegistry.get("calculadora.simulacao.etapa")
+                .tag("etapa", "cronograma").timer().count();
+        double linhasAntes = meterRegistry.get("calculadora.simulacao.linhas").summary().totalAmount();
+
+        List<SimulacaoResponse> resultado = service.calcular(valida);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> service.calcular(taxaZero));
+
+        Assertions.assertEquals(falhasAntes + 1, meterRegistry.get("calculadora.simulacao.validacao.falhas")
+                .tag("regra", "taxa-juros").counter().count());
+        Assertions.assertEquals(cronogramasAntes + 1, meterRegistry.get("calculadora.simulacao.etapa")
+                .tag("etapa", "cronograma").timer().count());
+        Assertions.assertEquals(linhasAntes + resultado.size(), meterRegistry.get("calculadora.simulacao.linhas")
+                .summary().totalAmount());
+    }
+
+    @Test
+    void resumoDeveTerOsMesmosTotaisDoCronogramaCompleto() {
+        List<SimulacaoRequest> requests = List.of(
+                new SimulacaoRequest(DATA_INICIAL, DATA_FINAL, PRIMEIRO_PAGAMENTO, VALOR_EMPRESTIMO, TAXA_JUROS),
+                new SimulacaoRequest(LocalDate.of(2024, 1, 10), LocalDate.of(2054, 1, 10), LocalDate.of(2024, 2, 10),
+                        new BigDecimal("350000.50"), new BigDecimal("11.25")),
+                // Mais de duas casas decimais: o resumo passa pelo motor BigDecimal.
+                new SimulacaoRequest(LocalDate.of(2024, 3, 31), LocalDate.of(2029, 2, 28), LocalDate.of(2024, 4, 30),
+                        new BigDecimal("98765.4321"), new BigDecimal("7.5")));
+
+        for (SimulacaoRequest request : requests) {
+            SimulacaoResumo resumo = service.calcularResumo(request);
+
+            Assertions.assertEquals(SimulacaoResumo.de(service.calcular(request)), resumo);
+            Assertions.assertEquals(request.dataFinal(), resumo.dataUltimaParcela());
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.izepon.calculadora_emprestimo.service;
+
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResumo;
+import com.izepon.calculadora_emprestimo.service.impl.CalculoCompartilhadoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class CalculoCompartilhadoServiceTest {
+
+    private static final int CHAMADAS = 8;
+
+    private static final SimulacaoRequest REQUEST = new SimulacaoRequest(
+            LocalDate.of(2024, 1, 1),
+            LocalDate.of(2024, 12, 31),
+            LocalDate.of(2024, 1, 31),
+            new BigDecimal("10000"),
+            new BigDecimal("2"));
+
+    private static final SimulacaoResponse LINHA = new SimulacaoResponse(
+            LocalDate.of(2024, 1, 1),
+            new BigDecimal("10000"),
+            new BigDecimal("10000"),
+            "",
+            BigDecimal.ZERO,
+            BigDecimal.ZERO,
+            new BigDecimal("10000"),
+            BigDecimal.ZERO,
+            BigDecimal.ZERO,
+            BigDecimal.ZERO);
+
+    private final CalculadoraEmprestimoService motor = Mockito.mock(CalculadoraEmprestimoService.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CalculoCompartilhadoService service = new CalculoCompartilhadoService(motor, registry, true);
+    private final ExecutorService executor = Executors.newFixedThreadPool(CHAMADAS);
+
+    @AfterEach
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void chamadasSimultaneasIguaisDevemCompartilharUmUnicoCalculo() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        Mockito.when(motor.calcularResumo(Mockito.any())).thenAnswer(invocacao -> {
+            liberar.await();
+            return SimulacaoResumo.de(List.of(LINHA));
+        });
+
+        List<Future<SimulacaoResumo>> resultados = new ArrayList<>();
+        for (int i = 0; i < CHAMADAS; i++) {
+            resultados.add(executor.submit(() -> service.calcularResumo(REQUEST)));
+        }
+        aguardarCompartilhadas("resumo", CHAMADAS - 1);
+        liberar.countDown();
+
+        SimulacaoResumo primeiro = resultados.get(0).get();
+        for (Future<SimulacaoResumo> resultado : resultados) {
+            Assertions.assertSame(primeiro, resultado.get());
+        }
+        Mockito.verify(motor, Mockito.times(1)).calcularResumo(Mockito.any());
+        Assertions.assertEquals(1, contador("resumo", "calculada"));
+        Assertions.assertEquals(0, service.emAndamento());
+
+        // Terminado o cálculo, a próxima chamada calcula de novo: o resultado não fica guardado.
+        service.calcularResumo(REQUEST);
+        Mockito.verify(motor, Mockito.times(2)).calcularResumo(Mockito.any());
+    }
+
+    @Test
+    void requisicoesComEscalasDiferentesNaoDevemCompartilhar() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        Mockito.when(motor.calcularResumo(Mockito.any())).thenAnswer(invocacao -> {
+            liberar.await();
+            return SimulacaoResumo.de(List.of(LINHA));
+        });
+
+        // O mesmo valor com escalas diferentes gera respostas diferentes, então cada uma calcula a sua.
+        SimulacaoRequest comCasas = new SimulacaoRequest(REQUEST.dataInicial(), REQUEST.dataFinal(),
+                REQUEST.primeiroPagamento(), REQUEST.valorEmprestimo().setScale(2), REQUEST.taxaJuros());
+        Future<SimulacaoResumo> semCasas = executor.submit(() -> service.calcularResumo(REQUEST));
+        Future<SimulacaoResumo> duasCasas = executor.submit(() -> service.calcularResumo(comCasas));
+        for (int tentativa = 0; tentativa < 500 && contador("resumo", "calculada") < 2; tentativa++) {
+            Thread.sleep(10);
+        }
+        liberar.countDown();
+
+        Assertions.assertNotSame(semCasas.get(), duasCasas.get());
+        Assertions.assertEquals(2, contador("resumo", "calculada"));
+        Assertions.assertEquals(0, contador("resumo", "compartilhada"));
+    }
+
+    @Test
+    void calcularSimultaneoIgualDeveCompartilharUmaListaImutavel() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        Mockito.when(motor.calcular(Mockito.any())).thenAnswer(invocacao -> {
+            liberar.await();
+            return new ArrayList<>(List.of(LINHA));
+        });
+
+        List<Future<List<SimulacaoResponse>>> resultados = new ArrayList<>();
+        for (int i = 0; i < CHAMADAS; i++) {
+            resultados.add(executor.submit(() -> service.calcular(REQUEST)));
+        }
+        aguardarCompartilhadas("calcular", CHAMADAS - 1);
+        liberar.countDown();
+
+        List<SimulacaoResponse> primeiro = resultados.get(0).get();
+        for (Future<List<SimulacaoResponse>> resultado : resultados) {
+            Assertions.assertSame(primeiro, resultado.get());
+        }
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> primeiro.add(LINHA));
+        Mockito.verify(motor, Mockito.times(1)).calcular(Mockito.any());
+        Assertions.assertEquals(0, service.emAndamento());
+    }
+
+    @Test
+    void calcularDevePassarDiretoQuandoOCacheJunta() {
+        CalculoCompartilhadoService comCache = new CalculoCompartilhadoService(motor, registry, false);
+        Mockito.when(motor.calcular(REQUEST)).thenReturn(List.of(LINHA));
+
+        Assertions.assertEquals(List.of(LINHA), comCache.calcular(REQUEST));
+        Mockito.verify(motor).calcular(REQUEST);
+        Assertions.assertEquals(0, contador("calcular", "calculada"));
+    }
+
+    @Test
+    void falhaDoCalculoDeveChegarATodasAsChamadasQueEsperavam() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        Mockito.when(motor.calcularResumo(Mockito.any())).thenAnswer(invocacao -> {
+            liberar.await();
+            throw new IllegalArgumentException("A taxa de juros deve ser maior que zero.");
+        });
+
+        List<Future<SimulacaoResumo>> resultados = new ArrayList<>();
+        for (int i = 0; i < CHAMADAS; i++) {
+            resultados.add(executor.submit(() -> service.calcularResumo(REQUEST)));
+        }
+        aguardarCompartilhadas("resumo", CHAMADAS - 1);
+        liberar.countDown();
+
+        for (Future<SimulacaoResumo> resultado : resultados) {
+            Exception falha = Assertions.assertThrows(Exception.class, resultado::get);
+            Assertions.assertInstanceOf(IllegalArgumentException.class, falha.getCause());
+        }
+        Mockito.verify(motor, Mockito.times(1)).calcularResumo(Mockito.any());
+        Assertions.assertEquals(0, service.emAndamento());
+    }
+
+    private void aguardarCompartilhadas(String operacao, int esperadas) throws InterruptedException {
+        for (int tentativa = 0; tentativa < 500 && contador(operacao, "compartilhada") < esperadas; tentativa++) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(esperadas, contador(operacao, "compartilhada"));
+    }
+
+    private double contador(String operacao, String resultado) {
+        return registry.get("calculadora.simulacao.compartilhamento")
+                .tag("operacao", operacao)
+                .tag("resultado", resultado)
+                .counter().count();
+    }
+}
@@ -0,0 +1,93 @@
+package com.izepon.calculadora_emprestimo.service;
+
+import com.izepon.calculadora_emprestimo.dto.CenariosRequest;
+import com.izepon.calculadora_emprestimo.dto.CenariosResponse;
+import com.izepon.calculadora_emprestimo.dto.MetricaCenario;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResumo;
+import com.izepon.calculadora_emprestimo.service.impl.CalculadoraEmprestimoServiceImpl;
+import com.izepon.calculadora_emprestimo.service.impl.CenariosServiceImpl;
+import com.izepon.calculadora_emprestimo.service.impl.ExecutorLoteSimulacao;
+import com.izepon.calculadora_emprestimo.service.impl.FatorJurosCache;
+import com.izepon.calculadora_emprestimo.service.impl.LinhaDoTempoCache;
+import com.izepon.calculadora_emprestimo.service.impl.MetricasSimulacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CenariosServiceTest {
+
+    private static final LocalDate DATA_INICIAL = LocalDate.of(2024, 1, 10);
+
+    private final FatorJurosCache fatorJurosCache = new FatorJurosCache(1024);
+
+    private final LinhaDoTempoCache linhaDoTempoCache = new LinhaDoTempoCache(1024);
+    private final MetricasSimulacao metricas = new MetricasSimulacao(new SimpleMeterRegistry());
+    private final ExecutorLoteSimulacao executorLote = new ExecutorLoteSimulacao(2, 1000);
+    private final CalculadoraEmprestimoServiceImpl motor = new CalculadoraEmprestimoServiceImpl(
+            fatorJurosCache, linhaDoTempoCache, executorLote, metricas);
+    private final CenariosService service = new CenariosServiceImpl(
+            fatorJurosCache, linhaDoTempoCache, executorLote, metricas, 100);
+
+    @AfterEach
+    void encerrar() {
+        executorLote.encerrar();
+    }
+
+    @Test
+    void cadaCelulaDeveTerOsTotaisDaSimulacaoIsolada() {
+        List<BigDecimal> taxas = List.of(new BigDecimal("1.5"), new BigDecimal("9.9"), new BigDecimal("24"));
+        List<LocalDate> datas = new ArrayList<>();
+        for (int meses = 6; meses <= 60; meses += 6) {
+            datas.add(DATA_INICIAL.plusMonths(meses));
+        }
+        // Valor com três casas decimais passa pelo motor BigDecimal.
+        for (BigDecimal valor : List.of(new BigDecimal("85000.00"), new BigDecimal("85000.005"))) {
+            SimulacaoRequest base = new SimulacaoRequest(DATA_INICIAL, datas.get(0), DATA_INICIAL.plusMonths(1),
+                    valor, BigDecimal.ONE);
+
+            CenariosResponse grade = service.calcular(new CenariosRequest(base, taxas, datas, null));
+
+            Assertions.assertEquals(MetricaCenario.values().length, grade.metricas().size());
+            for (int i = 0; i < taxas.size(); i++) {
+                for (int j = 0; j < datas.size(); j++) {
+                    SimulacaoResumo esperado = motor.calcularResumo(new SimulacaoRequest(
+                            DATA_INICIAL, datas.get(j), DATA_INICIAL.plusMonths(1), valor, taxas.get(i)));
+                    Assertions.assertEquals(esperado.primeiraParcela(),
+                            grade.metricas().get(MetricaCenario.PRIMEIRA_PARCELA).get(i).get(j));
+                    Assertions.assertEquals(esperado.ultimaParcela(),
+                            grade.metricas().get(MetricaCenario.ULTIMA_PARCELA).get(i).get(j));
+                    Assertions.assertEquals(esperado.totalPago(),
+                            grade.metricas().get(MetricaCenario.TOTAL_PAGO).get(i).get(j));
+                    Assertions.assertEquals(esperado.totalJuros(),
+                            grade.metricas().get(MetricaCenario.TOTAL_JUROS).get(i).get(j));
+                }
+            }
+        }
+    }
+
+    @Test
+    void deveRecusarGradeComTaxaInvalidaOuMuitasCelulas() {
+        SimulacaoRequest base = new SimulacaoRequest(DATA_INICIAL, DATA_INICIAL.plusMonths(12),
+                DATA_INICIAL.plusMonths(1), new BigDecimal("1000"), BigDecimal.ONE);
+        List<LocalDate> datas = List.of(DATA_INICIAL.plusMonths(12));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> service.calcular(new CenariosRequest(
+                base, List.of(BigDecimal.ONE, BigDecimal.ZERO), datas, List.of(MetricaCenario.TOTAL_PAGO))));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> service.calcular(new CenariosRequest(
+                base, List.of(BigDecimal.ONE), List.of(DATA_INICIAL.minusDays(1)), List.of(MetricaCenario.TOTAL_PAGO))));
+
+        List<BigDecimal> taxas = new ArrayList<>();
+        for (int i = 1; i <= 101; i++) {
+            taxas.add(BigDecimal.valueOf(i));
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> service.calcular(new CenariosRequest(
+                base, taxas, datas, List.of(MetricaCenario.TOTAL_PAGO))));
+    }
+}
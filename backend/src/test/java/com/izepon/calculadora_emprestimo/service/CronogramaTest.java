@@ -0,0 +1,171 @@
+package com.izepon.calculadora_emprestimo.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.izepon.calculadora_emprestimo.dto.Cronograma;
+import com.izepon.calculadora_emprestimo.dto.CronogramaBinario;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.service.impl.CalculadoraEmprestimoServiceCentavosImpl;
+import com.izepon.calculadora_emprestimo.service.impl.CalculadoraEmprestimoServiceImpl;
+import com.izepon.calculadora_emprestimo.service.impl.ExecutorLoteSimulacao;
+import com.izepon.calculadora_emprestimo.service.impl.FatorJurosCache;
+import com.izepon.calculadora_emprestimo.service.impl.LinhaDoTempoCache;
+import com.izepon.calculadora_emprestimo.service.impl.MetricasSimulacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class CronogramaTest {
+
+    private static final SimulacaoRequest REQUEST = new SimulacaoRequest(
+            LocalDate.of(2024, 1, 10),
+            LocalDate.of(2054, 1, 10),
+            LocalDate.of(2024, 2, 10),
+            new BigDecimal("350000.50"),
+            new BigDecimal("11.25"));
+
+    private final FatorJurosCache fatorJurosCache = new FatorJurosCache(16);
+
+    private final LinhaDoTempoCache linhaDoTempoCache = new LinhaDoTempoCache(1024);
+    private final ExecutorLoteSimulacao executorLote = new ExecutorLoteSimulacao(1, 1);
+    private final MetricasSimulacao metricas = new MetricasSimulacao(new SimpleMeterRegistry());
+    private final CalculadoraEmprestimoServiceImpl motorBigDecimal =
+            new CalculadoraEmprestimoServiceImpl(fatorJurosCache, linhaDoTempoCache, executorLote, metricas);
+    private final CalculadoraEmprestimoServiceCentavosImpl motorCentavos =
+            new CalculadoraEmprestimoServiceCentavosImpl(fatorJurosCache, linhaDoTempoCache, executorLote,
+                    motorBigDecimal, metricas);
+
+    @AfterEach
+    void encerrar() {
+        executorLote.encerrar();
+    }
+
+    @Test
+    void deveTerAsMesmasLinhasDoCalculoEmLista() {
+        List<SimulacaoResponse> esperado = motorBigDecimal.calcular(REQUEST);
+        List<SimulacaoResponse> linhas = motorCentavos.calcularCronograma(REQUEST).paraLinhas();
+
+        Assertions.assertEquals(esperado.size(), linhas.size());
+        for (int i = 0; i < esperado.size(); i++) {
+            SimulacaoResponse a = esperado.get(i);
+            SimulacaoResponse b = linhas.get(i);
+            Assertions.assertEquals(a.data(), b.data());
+            Assertions.assertEquals(a.consolidada(), b.consolidada());
+            Assertions.assertEquals(0, a.valorEmprestimo().compareTo(b.valorEmprestimo()));
+            Assertions.assertEquals(0, a.saldoDevedor().compareTo(b.saldoDevedor()));
+            Assertions.assertEquals(0, a.total().compareTo(b.total()));
+            Assertions.assertEquals(0, a.amortizacao().compareTo(b.amortizacao()));
+            Assertions.assertEquals(0, a.saldo().compareTo(b.saldo()));
+            Assertions.assertEquals(0, a.provisao().compareTo(b.provisao()));
+            Assertions.assertEquals(0, a.acumulado().compareTo(b.acumulado()));
+            Assertions.assertEquals(0, a.pago().compareTo(b.pago()));
+        }
+    }
+
+    @Test
+    void deveSerializarNoMesmoFormatoDaLista() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+        JsonNode lista = objectMapper.readTree(objectMapper.writeValueAsString(motorBigDecimal.calcular(REQUEST)));
+        JsonNode colunar = objectMapper.readTree(objectMapper.writeValueAsString(motorCentavos.calcularCronograma(REQUEST)));
+
+        Assertions.assertTrue(lista.equals((a, b) -> a.isNumber() && b.isNumber()
+                ? a.decimalValue().compareTo(b.decimalValue())
+                : a.equals(b) ? 0 : 1, colunar));
+    }
+
+    @Test
+    void deveSomarTotaisPelasColunas() {
+        List<SimulacaoResponse> linhas = motorBigDecimal.calcular(REQUEST);
+        Cronograma cronograma = motorCentavos.calcularCronograma(REQUEST);
+
+        BigDecimal totalPago = linhas.stream().map(SimulacaoResponse::pago).reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalJuros = linhas.stream().map(SimulacaoResponse::provisao).reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        Assertions.assertEquals(0, totalPago.compareTo(BigDecimal.valueOf(cronograma.totalPago(), 2)));
+        Assertions.assertEquals(0, totalJuros.compareTo(BigDecimal.valueOf(cronograma.totalJuros(), 2)));
+        Assertions.assertEquals(360, cronograma.totalParcelas());
+    }
+
+    @Test
+    void motorBigDecimalDevePreencherAsMesmasColunasDaConversao() {
+        Cronograma cronograma = motorBigDecimal.calcularCronograma(REQUEST);
+
+        Assertions.assertEquals(Cronograma.de(motorBigDecimal.calcular(REQUEST)).paraLinhas(), cronograma.paraLinhas());
+        Assertions.assertEquals(360, cronograma.totalParcelas());
+    }
+
+    @Test
+    void deveArredondarValoresComMaisDeDuasCasasComoOsCenarios() {
+        SimulacaoRequest request = new SimulacaoRequest(
+                REQUEST.dataInicial(),
+                REQUEST.dataFinal(),
+                REQUEST.primeiroPagamento(),
+                new BigDecimal("350000.505"),
+                REQUEST.taxaJuros());
+
+        Cronograma cronograma = motorBigDecimal.calcularCronograma(request);
+
+        Assertions.assertEquals(35000050, cronograma.valorEmprestimo());
+        Assertions.assertEquals(Cronograma.de(motorBigDecimal.calcular(request)).paraLinhas(), cronograma.paraLinhas());
+        Assertions.assertEquals(cronograma.paraLinhas(), motorCentavos.calcularCronograma(request).paraLinhas());
+    }
+
+    @Test
+    void deveLerDoFormatoBinarioAsMesmasLinhas() throws Exception {
+        SimulacaoRequest request = new SimulacaoRequest(
+                REQUEST.dataInicial(),
+                REQUEST.dataFinal(),
+                REQUEST.primeiroPagamento(),
+                new BigDecimal("350000.505"),
+                REQUEST.taxaJuros());
+        List<SimulacaoResponse> esperado = motorBigDecimal.calcular(request);
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        CronogramaBinario.escrever(esperado, saida);
+        List<SimulacaoResponse> linhas = CronogramaBinario.ler(new ByteArrayInputStream(saida.toByteArray()));
+
+        Assertions.assertEquals(esperado.size(), linhas.size());
+        for (int i = 0; i < esperado.size(); i++) {
+            SimulacaoResponse a = esperado.get(i);
+            SimulacaoResponse b = linhas.get(i);
+            Assertions.assertEquals(a.data(), b.data());
+            Assertions.assertEquals(a.consolidada(), b.consolidada());
+            Assertions.assertEquals(0, a.valorEmprestimo().compareTo(b.valorEmprestimo()));
+            Assertions.assertEquals(0, a.saldoDevedor().compareTo(b.saldoDevedor()));
+            Assertions.assertEquals(0, a.total().compareTo(b.total()));
+            Assertions.assertEquals(0, a.saldo().compareTo(b.saldo()));
+            Assertions.assertEquals(0, a.provisao().compareTo(b.provisao()));
+            Assertions.assertEquals(0, a.pago().compareTo(b.pago()));
+        }
+    }
+
+    @Test
+    void deveEscreverNoFormatoBinarioOsMesmosBytesDaLista() throws Exception {
+        ByteArrayOutputStream lista = new ByteArrayOutputStream();
+        CronogramaBinario.escrever(motorBigDecimal.calcular(REQUEST), lista);
+        ByteArrayOutputStream colunar = new ByteArrayOutputStream();
+        CronogramaBinario.escrever(motorCentavos.calcularCronograma(REQUEST), colunar);
+
+        Assertions.assertArrayEquals(lista.toByteArray(), colunar.toByteArray());
+        byte[] json = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writeValueAsBytes(motorCentavos.calcularCronograma(REQUEST));
+        Assertions.assertTrue(colunar.size() * 5 < json.length, () -> colunar.size() + " x " + json.length + " bytes");
+    }
+}
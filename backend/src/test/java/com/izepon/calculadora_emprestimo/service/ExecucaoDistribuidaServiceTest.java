@@ -0,0 +1,155 @@
+package com.izepon.calculadora_emprestimo.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.izepon.calculadora_emprestimo.dto.CarteiraResponse;
+import com.izepon.calculadora_emprestimo.dto.DesempenhoNo;
+import com.izepon.calculadora_emprestimo.dto.ResultadoExecucaoDistribuida;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.service.impl.AgregacaoCarteiraServiceImpl;
+import com.izepon.calculadora_emprestimo.service.impl.ArquivoContratos;
+import com.izepon.calculadora_emprestimo.service.impl.ExecucaoDistribuidaServiceImpl;
+import com.izepon.calculadora_emprestimo.service.impl.ExecutorLoteSimulacao;
+import com.izepon.calculadora_emprestimo.service.impl.FatorJurosCache;
+import com.izepon.calculadora_emprestimo.service.impl.LinhaDoTempoCache;
+import com.izepon.calculadora_emprestimo.service.impl.MetricasSimulacao;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ExecucaoDistribuidaServiceTest {
+
+    private static final int CONTRATOS = 1050;
+    private static final int TAMANHO_SHARD = 100;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    private final FatorJurosCache fatorJurosCache = new FatorJurosCache(1024);
+    private final LinhaDoTempoCache linhaDoTempoCache = new LinhaDoTempoCache(1024);
+    private final MetricasSimulacao metricas = new MetricasSimulacao(new SimpleMeterRegistry());
+    private final ExecutorLoteSimulacao executorLote = new ExecutorLoteSimulacao(2, 1000);
+    private final AgregacaoCarteiraService agregacao = new AgregacaoCarteiraServiceImpl(
+            fatorJurosCache, linhaDoTempoCache, executorLote, metricas);
+    private final ExecucaoDistribuidaService service = new ExecucaoDistribuidaServiceImpl(
+            objectMapper, TAMANHO_SHARD, 2, 3, Duration.ofSeconds(30));
+    private final List<HttpServer> servidores = new ArrayList<>();
+
+    @TempDir
+    Path diretorio;
+
+    private Path entrada;
+    private List<SimulacaoRequest> simulacoes;
+
+    @BeforeEach
+    void gravarContratos() throws IOException {
+        List<ArquivoContratos.Contrato> contratos = new ArrayList<>();
+        for (int i = 0; i < CONTRATOS; i++) {
+            LocalDate dataInicial = LocalDate.of(2024, 1, 1).plusDays(i % 60);
+            BigDecimal taxa = i % 97 == 0 ? BigDecimal.ZERO : new BigDecimal("1.5").add(BigDecimal.valueOf(i % 9));
+            contratos.add(new ArquivoContratos.Contrato(i, new SimulacaoRequest(
+                    dataInicial,
+                    dataInicial.plusMonths(3 + i % 48),
+                    dataInicial.plusDays(20 + i % 15),
+                    new BigDecimal("25000.37").add(BigDecimal.valueOf(i)),
+                    taxa)));
+        }
+        entrada = diretorio.resolve("contratos.bin");
+        ArquivoContratos.escrever(entrada, contratos);
+        simulacoes = contratos.stream().map(ArquivoContratos.Contrato::simulacao).toList();
+    }
+
+    @AfterEach
+    void encerrar() {
+        servidores.forEach(servidor -> servidor.stop(0));
+        executorLote.encerrar();
+    }
+
+    @Test
+    void deveSomarOsShardsDosNosIgualAUmaAgregacaoUnicaMesmoComFalhas() throws Exception {
+        URI estavel = no(requisicao -> true);
+        URI intermitente = no(requisicao -> requisicao % 2 == 0);
+        URI forDoAr = no(requisicao -> false);
+
+        ResultadoExecucaoDistribuida resultado = service.executar(entrada, List.of(estavel, intermitente, forDoAr));
+
+        CarteiraResponse esperada = agregacao.agregar(simulacoes.iterator());
+        Assertions.assertEquals(objectMapper.writeValueAsString(esperada),
+                objectMapper.writeValueAsString(resultado.carteira()));
+        Assertions.assertEquals(CONTRATOS / TAMANHO_SHARD + 1, resultado.shards());
+        Assertions.assertTrue(resultado.reenvios() > 0);
+
+        DesempenhoNo desempenhoForDoAr = resultado.nos().get(2);
+        Assertions.assertTrue(desempenhoForDoAr.descartado());
+        Assertions.assertEquals(0, desempenhoForDoAr.shards());
+        Assertions.assertEquals(CONTRATOS, resultado.nos().stream().mapToLong(DesempenhoNo::contratos).sum());
+        Assertions.assertEquals(resultado.shards(), resultado.nos().stream().mapToInt(DesempenhoNo::shards).sum());
+    }
+
+    @Test
+    void deveFalharQuandoNenhumNoConsegueProcessarOShard() throws Exception {
+        URI primeiro = no(requisicao -> false);
+        URI segundo = no(requisicao -> false);
+
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> service.executar(entrada, List.of(primeiro, segundo)));
+    }
+
+    private interface Disponibilidade {
+        boolean atende(int requisicao);
+    }
+
+    /**
+     * Um nó de mentira que agrega o NDJSON recebido como o {@code POST /carteira} da aplicação, ou responde 500
+     * nas requisições em que {@code disponibilidade} disser que não.
+     */
+    private URI no(Disponibilidade disponibilidade) throws IOException {
+        HttpServer servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        AtomicInteger requisicoes = new AtomicInteger();
+        servidor.createContext("/api/calculadora-emprestimo/carteira", troca -> {
+            List<SimulacaoRequest> shard = new ArrayList<>();
+            try (BufferedReader leitor = new BufferedReader(
+                    new InputStreamReader(troca.getRequestBody(), StandardCharsets.UTF_8))) {
+                for (String linha = leitor.readLine(); linha != null; linha = leitor.readLine()) {
+                    shard.add(objectMapper.readValue(linha, SimulacaoRequest.class));
+                }
+            }
+            if (!disponibilidade.atende(requisicoes.getAndIncrement())) {
+                troca.sendResponseHeaders(500, -1);
+                troca.close();
+                return;
+            }
+            byte[] corpo = objectMapper.writeValueAsBytes(agregacao.agregar(shard.iterator()));
+            troca.getResponseHeaders().set("Content-Type", "application/json");
+            troca.sendResponseHeaders(200, corpo.length);
+            try (OutputStream saida = troca.getResponseBody()) {
+                saida.write(corpo);
+            }
+        });
+        servidor.start();
+        servidores.add(servidor);
+        return URI.create("http://localhost:" + servidor.getAddress().getPort());
+    }
+}
@@ -0,0 +1,47 @@
+package com.izepon.calculadora_emprestimo.service;
+
+import com.izepon.calculadora_emprestimo.dto.SimulacaoLoteResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.service.impl.ExecutorLoteSimulacao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class ExecutorLoteSimulacaoTest {
+
+    private final ExecutorLoteSimulacao executor = new ExecutorLoteSimulacao(2, 1000);
+
+    @AfterEach
+    void encerrar() {
+        executor.encerrar();
+    }
+
+    @Test
+    void deveIsolarQualquerFalhaNoItemDoLote() {
+        SimulacaoRequest valida = simulacao(new BigDecimal("1000"));
+        SimulacaoRequest quebrada = simulacao(new BigDecimal("2000"));
+
+        List<SimulacaoLoteResponse> resultado = executor.executar(List.of(valida, quebrada, valida), request -> {
+            if (request == quebrada) {
+                throw new IllegalStateException("falha inesperada");
+            }
+            return List.of();
+        });
+
+        Assertions.assertEquals(3, resultado.size());
+        Assertions.assertNull(resultado.get(0).erro());
+        Assertions.assertNotNull(resultado.get(1).erro());
+        Assertions.assertTrue(resultado.get(1).resultado().isEmpty());
+        Assertions.assertNull(resultado.get(2).erro());
+    }
+
+    private static SimulacaoRequest simulacao(BigDecimal valor) {
+        LocalDate dataInicial = LocalDate.of(2024, 1, 1);
+        return new SimulacaoRequest(dataInicial, dataInicial.plusYears(1), dataInicial.plusMonths(1), valor,
+                new BigDecimal("7"));
+    }
+}
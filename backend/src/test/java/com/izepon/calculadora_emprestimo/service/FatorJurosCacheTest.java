@@ -0,0 +1,87 @@
+package com.izepon.calculadora_emprestimo.service;
+
+import com.izepon.calculadora_emprestimo.service.impl.FatorJurosCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+public class FatorJurosCacheTest {
+
+    private static final BigDecimal TAXA_ANUAL = new BigDecimal("0.02");
+
+    @Test
+    void deveRetornarOFatorExatoArredondadoNaEscala() {
+        for (BigDecimal taxa : List.of(TAXA_ANUAL, new BigDecimal("0.125"), new BigDecimal("0.0399"),
+                new BigDecimal("0.00000001"), new BigDecimal("123.456789"))) {
+            FatorJurosCache cache = new FatorJurosCache(16);
+            BigDecimal base = BigDecimal.ONE.add(taxa);
+            for (int dias : diasVerificados()) {
+                BigDecimal fator = cache.fator(taxa, dias);
+                Assertions.assertEquals(18, fator.scale());
+                // (fator ± meia casa)^360 tem que cercar base^dias: então fator é o arredondamento do valor exato.
+                BigDecimal meiaCasa = new BigDecimal("0.5").movePointLeft(18);
+                BigDecimal potencia = base.pow(dias);
+                String caso = "taxa = " + taxa + ", dias = " + dias;
+                Assertions.assertTrue(fator.subtract(meiaCasa).pow(360).compareTo(potencia) < 0, caso);
+                Assertions.assertTrue(fator.add(meiaCasa).pow(360).compareTo(potencia) > 0, caso);
+            }
+        }
+    }
+
+    @Test
+    void deveUsarAEscalaConfiguradaERecuperarATaxaAnual() {
+        FatorJurosCache cache = new FatorJurosCache(16, 30);
+
+        Assertions.assertEquals(new BigDecimal("1.020000000000000000000000000000"), cache.fator(TAXA_ANUAL, 360));
+        Assertions.assertEquals(new BigDecimal("1.001651581301920174800951506653"), cache.fator(TAXA_ANUAL, 30));
+        Assertions.assertEquals(0, cache.fator(TAXA_ANUAL, 30).setScale(18, RoundingMode.HALF_EVEN)
+                .compareTo(new FatorJurosCache(16).fator(TAXA_ANUAL, 30)));
+    }
+
+    @Test
+    void deveArredondarEmpatesExatosParaOPar() {
+        FatorJurosCache cache = new FatorJurosCache(16);
+
+        // Em 360 dias o fator é a própria base, com 19 casas terminando em 5: empate exato na 18ª casa.
+        Assertions.assertEquals(new BigDecimal("1.000004620108095930"),
+                cache.fator(new BigDecimal("0.0000046201080959305"), 360));
+        Assertions.assertEquals(new BigDecimal("1.000004620108095932"),
+                cache.fator(new BigDecimal("0.0000046201080959315"), 360));
+    }
+
+    @Test
+    void deveContarAcertosEFalhas() {
+        FatorJurosCache cache = new FatorJurosCache(16);
+
+        cache.fator(TAXA_ANUAL, 30);
+        cache.fator(TAXA_ANUAL, 30);
+        cache.fator(new BigDecimal("0.0200"), 30);
+
+        Assertions.assertEquals(1, cache.falhas());
+        Assertions.assertEquals(2, cache.acertos());
+        Assertions.assertEquals(1, cache.tamanho());
+    }
+
+    @Test
+    void deveCalcularSemGuardarPeriodosForaDaTabela() {
+        FatorJurosCache cache = new FatorJurosCache(16);
+
+        cache.fator(TAXA_ANUAL, 365);
+        cache.fator(TAXA_ANUAL, 365);
+
+        Assertions.assertEquals(2, cache.falhas());
+        Assertions.assertEquals(0, cache.acertos());
+    }
+
+    private static int[] diasVerificados() {
+        int[] dias = new int[42];
+        for (int i = 0; i <= 40; i++) {
+            dias[i] = i;
+        }
+        dias[41] = 365;
+        return dias;
+    }
+}
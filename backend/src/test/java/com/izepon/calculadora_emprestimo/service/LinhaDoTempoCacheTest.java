@@ -0,0 +1,51 @@
+package com.izepon.calculadora_emprestimo.service;
+
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.service.impl.CalculadoraEmprestimoServiceImpl;
+import com.izepon.calculadora_emprestimo.service.impl.ExecutorLoteSimulacao;
+import com.izepon.calculadora_emprestimo.service.impl.FatorJurosCache;
+import com.izepon.calculadora_emprestimo.service.impl.LinhaDoTempoCache;
+import com.izepon.calculadora_emprestimo.service.impl.MetricasSimulacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class LinhaDoTempoCacheTest {
+
+    private static final LocalDate DATA_INICIAL = LocalDate.of(2024, 1, 10);
+
+    private final ExecutorLoteSimulacao executorLote = new ExecutorLoteSimulacao(1, 1);
+
+    @AfterEach
+    void encerrar() {
+        executorLote.encerrar();
+    }
+
+    @Test
+    void simulacoesComAsMesmasDatasDevemCompartilharALinhaDoTempo() {
+        LinhaDoTempoCache linhasDoTempo = new LinhaDoTempoCache(16);
+        CalculadoraEmprestimoService comCache = servico(linhasDoTempo);
+        CalculadoraEmprestimoService semCache = servico(new LinhaDoTempoCache(0));
+
+        for (int i = 0; i < 10; i++) {
+            SimulacaoRequest request = new SimulacaoRequest(DATA_INICIAL, DATA_INICIAL.plusMonths(36),
+                    DATA_INICIAL.plusMonths(1).plusDays(5), BigDecimal.valueOf(10_000 + i * 7_531L),
+                    BigDecimal.valueOf(500 + i * 75L, 2));
+            Assertions.assertEquals(semCache.calcular(request), comCache.calcular(request));
+        }
+        comCache.calcular(new SimulacaoRequest(DATA_INICIAL, DATA_INICIAL.plusMonths(12),
+                DATA_INICIAL.plusMonths(1), new BigDecimal("10000"), new BigDecimal("10")));
+
+        Assertions.assertEquals(2, linhasDoTempo.cache().estimatedSize());
+        Assertions.assertEquals(9, linhasDoTempo.cache().stats().hitCount());
+    }
+
+    private CalculadoraEmprestimoService servico(LinhaDoTempoCache linhasDoTempo) {
+        return new CalculadoraEmprestimoServiceImpl(new FatorJurosCache(16), linhasDoTempo, executorLote,
+                new MetricasSimulacao(new SimpleMeterRegistry()));
+    }
+}
@@ -0,0 +1,123 @@
+package com.izepon.calculadora_emprestimo.service;
+
+import com.izepon.calculadora_emprestimo.dto.Cronograma;
+import com.izepon.calculadora_emprestimo.dto.ResultadoProcessamentoEmMassa;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.service.impl.ArquivoContratos;
+import com.izepon.calculadora_emprestimo.service.impl.ArquivoCronogramas;
+import com.izepon.calculadora_emprestimo.service.impl.CalculadoraEmprestimoServiceImpl;
+import com.izepon.calculadora_emprestimo.service.impl.ExecutorLoteSimulacao;
+import com.izepon.calculadora_emprestimo.service.impl.FatorJurosCache;
+import com.izepon.calculadora_emprestimo.service.impl.LinhaDoTempoCache;
+import com.izepon.calculadora_emprestimo.service.impl.MetricasSimulacao;
+import com.izepon.calculadora_emprestimo.service.impl.ProcessamentoEmMassaServiceImpl;
+import com.izepon.calculadora_emprestimo.service.impl.SimulacaoInvalidaException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProcessamentoEmMassaServiceTest {
+
+    private final FatorJurosCache fatorJurosCache = new FatorJurosCache(1024);
+
+    private final LinhaDoTempoCache linhaDoTempoCache = new LinhaDoTempoCache(1024);
+    private final ExecutorLoteSimulacao executorLote = new ExecutorLoteSimulacao(2, 1000);
+    private final CalculadoraEmprestimoServiceImpl motor = new CalculadoraEmprestimoServiceImpl(
+            fatorJurosCache, linhaDoTempoCache, executorLote, new MetricasSimulacao(new SimpleMeterRegistry()));
+    private final ProcessamentoEmMassaService service = new ProcessamentoEmMassaServiceImpl(fatorJurosCache, executorLote);
+
+    @TempDir
+    Path diretorio;
+
+    @AfterEach
+    void encerrar() {
+        executorLote.encerrar();
+    }
+
+    @Test
+    void deveGravarOsMesmosCronogramasDoMotorEPermitirRetomada() throws Exception {
+        List<ArquivoContratos.Contrato> contratos = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            LocalDate dataInicial = LocalDate.of(2024, 1, 1).plusDays(i % 60);
+            BigDecimal taxa = i == 7 ? BigDecimal.ZERO : new BigDecimal("1.5").add(BigDecimal.valueOf(i % 9));
+            contratos.add(new ArquivoContratos.Contrato(1000 + i, new SimulacaoRequest(
+                    dataInicial,
+                    dataInicial.plusMonths(3 + i % 48),
+                    dataInicial.plusDays(20 + i % 15),
+                    new BigDecimal("25000.37").add(BigDecimal.valueOf(i)),
+                    taxa)));
+        }
+        Path entrada = diretorio.resolve("contratos.bin");
+        ArquivoContratos.escrever(entrada, contratos);
+        Path saida = diretorio.resolve("cronogramas");
+
+        ResultadoProcessamentoEmMassa resultado = service.processar(entrada, saida, 3);
+
+        Assertions.assertEquals(3, resultado.particoes());
+        Assertions.assertEquals(500, resultado.contratos());
+        Assertions.assertEquals(1, resultado.falhas());
+        int lidos = 0;
+        for (int particao = 0; particao < 3; particao++) {
+            try (ArquivoCronogramas.Leitor leitor = ArquivoCronogramas.Leitor.abrir(
+                    saida.resolve(String.format("parte-%05d.bin", particao)))) {
+                while (leitor.proximo()) {
+                    ArquivoContratos.Contrato contrato = contratos.get(lidos++);
+                    Assertions.assertEquals(contrato.id(), leitor.id());
+                    if (contrato.id() == 1007) {
+                        Assertions.assertEquals(SimulacaoInvalidaException.Regra.TAXA_JUROS, leitor.falha());
+                        continue;
+                    }
+                    Assertions.assertNull(leitor.falha());
+                    Cronograma esperado = Cronograma.de(motor.calcular(contrato.simulacao()));
+                    Assertions.assertEquals(esperado.paraLinhas(), leitor.cronograma().paraLinhas());
+                }
+            }
+        }
+        Assertions.assertEquals(500, lidos);
+
+        // Só a partição apagada é recalculada numa nova execução.
+        Files.delete(saida.resolve("parte-00001.bin"));
+        ResultadoProcessamentoEmMassa retomada = service.processar(entrada, saida, 3);
+        Assertions.assertEquals(2, retomada.particoesReaproveitadas());
+        Assertions.assertEquals(167, retomada.contratos());
+
+        Assertions.assertThrows(IllegalStateException.class, () -> service.processar(entrada, saida, 4));
+
+        // Outra entrada com o mesmo tamanho e a mesma quantidade de contratos não reaproveita as partições.
+        ArquivoContratos.Contrato primeiro = contratos.get(0);
+        contratos.set(0, new ArquivoContratos.Contrato(primeiro.id(), new SimulacaoRequest(
+                primeiro.simulacao().dataInicial(),
+                primeiro.simulacao().dataFinal(),
+                primeiro.simulacao().primeiroPagamento(),
+                primeiro.simulacao().valorEmprestimo().add(BigDecimal.ONE),
+                primeiro.simulacao().taxaJuros())));
+        ArquivoContratos.escrever(entrada, contratos);
+        Assertions.assertThrows(IllegalStateException.class, () -> service.processar(entrada, saida, 3));
+    }
+
+    @Test
+    void deveConverterCsvParaOFormatoBinario() throws Exception {
+        Path csv = diretorio.resolve("contratos.csv");
+        Files.writeString(csv, """
+                id,dataInicial,dataFinal,primeiroPagamento,valorEmprestimo,taxaJuros
+                1,2024-01-01,2025-01-01,2024-02-15,140000.00,7.5
+                2,2024-03-10,2030-03-10,2024-04-10,5000,12.125
+                """);
+        Path binario = diretorio.resolve("contratos.bin");
+
+        Assertions.assertEquals(2, ArquivoContratos.converterCsv(csv, binario));
+        ResultadoProcessamentoEmMassa resultado = service.processar(binario, diretorio.resolve("saida"), 8);
+        Assertions.assertEquals(2, resultado.particoes());
+        Assertions.assertEquals(2, resultado.contratos());
+        Assertions.assertEquals(0, resultado.falhas());
+    }
+}
@@ -0,0 +1,103 @@
+package com.izepon.calculadora_emprestimo.service;
+
+import com.izepon.calculadora_emprestimo.dto.LatenciaResumo;
+import com.izepon.calculadora_emprestimo.dto.RequisicaoLenta;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.service.impl.CalculadoraEmprestimoServiceImpl;
+import com.izepon.calculadora_emprestimo.service.impl.ExecutorLoteSimulacao;
+import com.izepon.calculadora_emprestimo.service.impl.FatorJurosCache;
+import com.izepon.calculadora_emprestimo.service.impl.MedicaoLatenciaService;
+import com.izepon.calculadora_emprestimo.service.impl.LinhaDoTempoCache;
+import com.izepon.calculadora_emprestimo.service.impl.MetricasSimulacao;
+import com.izepon.calculadora_emprestimo.service.impl.RegistroLatencia;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class RegistroLatenciaTest {
+
+    private static final LocalDate DATA_INICIAL = LocalDate.of(2024, 1, 10);
+
+    private final ExecutorLoteSimulacao executorLote = new ExecutorLoteSimulacao(1, 1);
+    private final CalculadoraEmprestimoServiceImpl motor = new CalculadoraEmprestimoServiceImpl(
+            new FatorJurosCache(16), new LinhaDoTempoCache(1024), executorLote,
+            new MetricasSimulacao(new SimpleMeterRegistry()));
+
+    @AfterEach
+    void encerrar() {
+        executorLote.encerrar();
+    }
+
+    @Test
+    void deveContarAsRequisicoesDeTodasAsThreadsComOsTemposPorEtapa() throws Exception {
+        RegistroLatencia registro = new RegistroLatencia(5, false);
+        CalculadoraEmprestimoService service = new MedicaoLatenciaService(motor, registro);
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 200; i++) {
+            int prazo = 3 + i % 120;
+            threads.submit(() -> service.calcular(request(prazo)));
+        }
+        threads.shutdown();
+        Assertions.assertTrue(threads.awaitTermination(1, TimeUnit.MINUTES));
+
+        LatenciaResumo resumo = registro.resumo();
+
+        Assertions.assertEquals(200, resumo.requisicoes());
+        Assertions.assertTrue(resumo.p50Ms() <= resumo.p99Ms() && resumo.p99Ms() <= resumo.maximoMs());
+        Assertions.assertEquals(5, resumo.maisLentas().size());
+        for (RequisicaoLenta lenta : resumo.maisLentas()) {
+            Assertions.assertNull(lenta.request());
+            Assertions.assertTrue(lenta.cronogramaMs() > 0);
+            Assertions.assertTrue(lenta.validacaoMs() + lenta.datasMs() + lenta.cronogramaMs() <= lenta.totalMs());
+        }
+
+        registro.limpar();
+        Assertions.assertEquals(0, registro.resumo().requisicoes());
+        Assertions.assertTrue(registro.resumo().maisLentas().isEmpty());
+    }
+
+    @Test
+    void deveGuardarSoAsMaisLentas() {
+        CalculadoraEmprestimoService lento = Mockito.mock(CalculadoraEmprestimoService.class);
+        Mockito.when(lento.calcular(Mockito.any())).thenAnswer(chamada -> {
+            SimulacaoRequest request = chamada.getArgument(0);
+            Thread.sleep(request.valorEmprestimo().longValue());
+            return List.of();
+        });
+        RegistroLatencia registro = new RegistroLatencia(3, true);
+        CalculadoraEmprestimoService service = new MedicaoLatenciaService(lento, registro);
+
+        // A primeira chamada ao mock carrega classes e pode demorar mais que as pausas. As pausas ficam
+        // 20 ms umas das outras para que a imprecisão do sleep não troque a ordem.
+        service.calcular(pausa(0));
+        registro.limpar();
+        for (long pausa : new long[]{100, 0, 160, 20, 120, 40, 140, 60, 80}) {
+            service.calcular(pausa(pausa));
+        }
+
+        List<BigDecimal> maisLentas = registro.resumo().maisLentas().stream()
+                .map(lenta -> lenta.request().valorEmprestimo())
+                .toList();
+        Assertions.assertEquals(List.of(BigDecimal.valueOf(160), BigDecimal.valueOf(140), BigDecimal.valueOf(120)),
+                maisLentas);
+    }
+
+    private static SimulacaoRequest pausa(long milissegundos) {
+        return new SimulacaoRequest(DATA_INICIAL, DATA_INICIAL.plusMonths(12), DATA_INICIAL.plusMonths(1),
+                BigDecimal.valueOf(milissegundos), BigDecimal.ONE);
+    }
+
+    private static SimulacaoRequest request(int prazo) {
+        return new SimulacaoRequest(DATA_INICIAL, DATA_INICIAL.plusMonths(prazo), DATA_INICIAL.plusMonths(1),
+                new BigDecimal("50000"), new BigDecimal("9.5"));
+    }
+}
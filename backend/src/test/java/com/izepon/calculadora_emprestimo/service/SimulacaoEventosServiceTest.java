@@ -0,0 +1,153 @@
+package com.izepon.calculadora_emprestimo.service;
+
+import com.izepon.calculadora_emprestimo.dto.EventoContrato;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.service.impl.CalculadoraEmprestimoServiceImpl;
+import com.izepon.calculadora_emprestimo.service.impl.ExecutorLoteSimulacao;
+import com.izepon.calculadora_emprestimo.service.impl.FatorJurosCache;
+import com.izepon.calculadora_emprestimo.service.impl.LinhaDoTempoCache;
+import com.izepon.calculadora_emprestimo.service.impl.MetricasSimulacao;
+import com.izepon.calculadora_emprestimo.service.impl.SimulacaoEventosServiceImpl;
+import com.izepon.calculadora_emprestimo.service.impl.SimulacaoInvalidaException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class SimulacaoEventosServiceTest {
+
+    private static final SimulacaoRequest REQUEST = new SimulacaoRequest(
+            LocalDate.of(2024, 1, 1),
+            LocalDate.of(2034, 1, 1),
+            LocalDate.of(2024, 2, 15),
+            new BigDecimal("140000"),
+            new BigDecimal("7"));
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final FatorJurosCache fatorJurosCache = new FatorJurosCache(1024);
+    private final LinhaDoTempoCache linhaDoTempoCache = new LinhaDoTempoCache(1024);
+    private final MetricasSimulacao metricas = new MetricasSimulacao(registry);
+    private final CalculadoraEmprestimoServiceImpl motor = new CalculadoraEmprestimoServiceImpl(
+            fatorJurosCache, linhaDoTempoCache, new ExecutorLoteSimulacao(1, 1000), metricas);
+    private final SimulacaoEventosService service = new SimulacaoEventosServiceImpl(
+            fatorJurosCache, linhaDoTempoCache, metricas, registry, DataSize.ofMegabytes(16));
+
+    @Test
+    void semEventosDeveDevolverOCronogramaBase() {
+        Assertions.assertEquals(motor.calcular(REQUEST), service.calcular(REQUEST, List.of()));
+    }
+
+    @Test
+    void retomadaDoCheckpointDeveReproduzirOCronogramaBase() {
+        List<SimulacaoResponse> base = motor.calcular(REQUEST);
+        LocalDate dataDaParcela = dataDaParcela(base, 60);
+
+        // A mesma taxa numa data que já existe no cronograma não muda nada: o sufixo recalculado é igual ao base.
+        List<SimulacaoResponse> resultado = service.calcular(REQUEST, List.of(
+                new EventoContrato(EventoContrato.Tipo.NOVA_TAXA, dataDaParcela, null, REQUEST.taxaJuros())));
+
+        Assertions.assertEquals(base, resultado);
+    }
+
+    @Test
+    void cadaEscalaDeveTerOProprioCronogramaBase() {
+        SimulacaoRequest comCentavos = new SimulacaoRequest(
+                REQUEST.dataInicial(),
+                REQUEST.dataFinal(),
+                REQUEST.primeiroPagamento(),
+                new BigDecimal("140000.00"),
+                new BigDecimal("7.0"));
+        List<SimulacaoResponse> base = motor.calcular(REQUEST);
+        List<EventoContrato> mesmaTaxa = List.of(
+                new EventoContrato(EventoContrato.Tipo.NOVA_TAXA, dataDaParcela(base, 60), null, REQUEST.taxaJuros()));
+
+        // A requisição com centavos preenche o cache primeiro; a outra não pode herdar a escala dela.
+        Assertions.assertEquals(motor.calcular(comCentavos), service.calcular(comCentavos, mesmaTaxa));
+        Assertions.assertEquals(base, service.calcular(REQUEST, mesmaTaxa));
+        Assertions.assertEquals(base, service.calcular(REQUEST, List.of()));
+    }
+
+    @Test
+    void amortizacaoExtraordinariaDeveReduzirAsParcelasSeguintesEQuitarNoPrazo() {
+        List<SimulacaoResponse> base = motor.calcular(REQUEST);
+        LocalDate dataDoEvento = dataDaParcela(base, 24).plusDays(3);
+
+        List<SimulacaoResponse> resultado = service.calcular(REQUEST, List.of(
+                new EventoContrato(EventoContrato.Tipo.AMORTIZACAO_EXTRAORDINARIA, dataDoEvento, new BigDecimal("20000"), null)));
+
+        int indiceDoEvento = indiceDaData(resultado, dataDoEvento);
+        Assertions.assertEquals(base.subList(0, indiceDoEvento), resultado.subList(0, indiceDoEvento));
+        Assertions.assertEquals(base.size() + 1, resultado.size());
+        Assertions.assertEquals(new BigDecimal("20000"), resultado.get(indiceDoEvento).amortizacao());
+
+        SimulacaoResponse parcelaSeguinteBase = base.get(indiceDaParcela(base, 25));
+        SimulacaoResponse parcelaSeguinte = resultado.get(indiceDaParcela(resultado, 25));
+        Assertions.assertTrue(parcelaSeguinte.amortizacao().compareTo(parcelaSeguinteBase.amortizacao()) < 0);
+        BigDecimal saldoFinal = resultado.get(resultado.size() - 1).saldo();
+        Assertions.assertTrue(saldoFinal.abs().compareTo(new BigDecimal("1.00")) <= 0, "Saldo final: " + saldoFinal);
+    }
+
+    @Test
+    void parcelaSuspensaDeveAcumularJurosAteAProximaParcela() {
+        List<SimulacaoResponse> base = motor.calcular(REQUEST);
+        LocalDate dataSuspensa = dataDaParcela(base, 12);
+
+        List<SimulacaoResponse> resultado = service.calcular(REQUEST, List.of(
+                new EventoContrato(EventoContrato.Tipo.PARCELA_SUSPENSA, dataSuspensa, null, null)));
+
+        SimulacaoResponse suspensa = resultado.get(indiceDaData(resultado, dataSuspensa));
+        Assertions.assertEquals("", suspensa.consolidada());
+        Assertions.assertEquals(BigDecimal.ZERO, suspensa.pago());
+        Assertions.assertEquals(base.size(), resultado.size());
+        Assertions.assertEquals(
+                base.stream().filter(linha -> !linha.consolidada().isEmpty()).count() - 1,
+                resultado.stream().filter(linha -> !linha.consolidada().isEmpty()).count());
+        Assertions.assertTrue(resultado.get(indiceDaParcela(resultado, 13)).total()
+                .compareTo(base.get(indiceDaParcela(base, 13)).total()) > 0);
+    }
+
+    @Test
+    void deveRecusarEventosInvalidos() {
+        List<SimulacaoResponse> base = motor.calcular(REQUEST);
+        LocalDate foraDePagamento = dataDaParcela(base, 3).plusDays(1);
+
+        SimulacaoInvalidaException suspensaForaDePagamento = Assertions.assertThrows(SimulacaoInvalidaException.class,
+                () -> service.calcular(REQUEST, List.of(
+                        new EventoContrato(EventoContrato.Tipo.PARCELA_SUSPENSA, foraDePagamento, null, null))));
+        Assertions.assertEquals(SimulacaoInvalidaException.Regra.EVENTO, suspensaForaDePagamento.regra());
+
+        Assertions.assertThrows(SimulacaoInvalidaException.class, () -> service.calcular(REQUEST, List.of(
+                new EventoContrato(EventoContrato.Tipo.AMORTIZACAO_EXTRAORDINARIA, foraDePagamento, new BigDecimal("1000000"), null))));
+        Assertions.assertThrows(SimulacaoInvalidaException.class, () -> service.calcular(REQUEST, List.of(
+                new EventoContrato(EventoContrato.Tipo.NOVA_TAXA, REQUEST.dataInicial(), null, BigDecimal.ONE))));
+        Assertions.assertEquals(3, registry.get("calculadora.simulacao.validacao.falhas")
+                .tag("regra", "evento").counter().count());
+    }
+
+    private static LocalDate dataDaParcela(List<SimulacaoResponse> linhas, int parcela) {
+        return linhas.get(indiceDaParcela(linhas, parcela)).data();
+    }
+
+    private static int indiceDaParcela(List<SimulacaoResponse> linhas, int parcela) {
+        for (int i = 0; i < linhas.size(); i++) {
+            if (linhas.get(i).consolidada().startsWith(parcela + "/")) {
+                return i;
+            }
+        }
+        throw new AssertionError("Parcela " + parcela + " não encontrada");
+    }
+
+    private static int indiceDaData(List<SimulacaoResponse> linhas, LocalDate data) {
+        for (int i = 0; i < linhas.size(); i++) {
+            if (linhas.get(i).data().equals(data)) {
+                return i;
+            }
+        }
+        throw new AssertionError("Data " + data + " não encontrada");
+    }
+}
@@ -0,0 +1,124 @@
+package com.izepon.calculadora_emprestimo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.izepon.calculadora_emprestimo.dto.EventoContrato;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.dto.SistemaAmortizacao;
+import com.izepon.calculadora_emprestimo.service.impl.CalculadoraEmprestimoServiceImpl;
+import com.izepon.calculadora_emprestimo.service.impl.ExecutorLoteSimulacao;
+import com.izepon.calculadora_emprestimo.service.impl.FatorJurosCache;
+import com.izepon.calculadora_emprestimo.service.impl.LinhaDoTempoCache;
+import com.izepon.calculadora_emprestimo.service.impl.MetricasSimulacao;
+import com.izepon.calculadora_emprestimo.service.impl.SimulacaoEventosServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class SistemaAmortizacaoTest {
+
+    private static final LocalDate DATA_INICIAL = LocalDate.of(2024, 1, 10);
+    private static final BigDecimal VALOR = new BigDecimal("140000.00");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final FatorJurosCache fatorJurosCache = new FatorJurosCache(1024);
+    private final LinhaDoTempoCache linhaDoTempoCache = new LinhaDoTempoCache(1024);
+    private final MetricasSimulacao metricas = new MetricasSimulacao(registry);
+    private final ExecutorLoteSimulacao executorLote = new ExecutorLoteSimulacao(1, 1);
+    private final CalculadoraEmprestimoServiceImpl motor =
+            new CalculadoraEmprestimoServiceImpl(fatorJurosCache, linhaDoTempoCache, executorLote, metricas);
+
+    @AfterEach
+    void encerrar() {
+        executorLote.encerrar();
+    }
+
+    @Test
+    void semSistemaInformadoDeveCalcularPeloSac() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        SimulacaoRequest semSistema = mapper.readValue("""
+                {"dataInicial":"2024-01-10","dataFinal":"2034-01-10","primeiroPagamento":"2024-02-15",
+                 "valorEmprestimo":140000,"taxaJuros":7}""", SimulacaoRequest.class);
+        SimulacaoRequest price = mapper.readValue("""
+                {"dataInicial":"2024-01-10","dataFinal":"2034-01-10","primeiroPagamento":"2024-02-15",
+                 "valorEmprestimo":140000,"taxaJuros":7,"sistemaAmortizacao":"PRICE"}""", SimulacaoRequest.class);
+
+        Assertions.assertEquals(SistemaAmortizacao.SAC, semSistema.sistemaAmortizacao());
+        Assertions.assertEquals(SistemaAmortizacao.PRICE, price.sistemaAmortizacao());
+        Assertions.assertEquals(motor.calcular(com(semSistema, SistemaAmortizacao.SAC)), motor.calcular(semSistema));
+    }
+
+    @Test
+    void priceDeveTerParcelasIguaisEQuitarOSaldoNaUltima() {
+        List<SimulacaoResponse> linhas = motor.calcular(request(120, SistemaAmortizacao.PRICE));
+        List<SimulacaoResponse> parcelas = parcelas(linhas);
+
+        BigDecimal parcela = parcelas.get(0).total();
+        for (SimulacaoResponse linha : parcelas.subList(0, parcelas.size() - 1)) {
+            Assertions.assertEquals(parcela, linha.total(), "Parcela " + linha.consolidada());
+        }
+        BigDecimal ultima = parcelas.get(parcelas.size() - 1).total();
+        Assertions.assertTrue(ultima.subtract(parcela).abs().compareTo(BigDecimal.ONE) <= 0, "Última parcela: " + ultima);
+        Assertions.assertEquals(0, linhas.get(linhas.size() - 1).saldo().signum());
+        // A amortização cresce conforme os juros caem.
+        Assertions.assertTrue(parcelas.get(0).amortizacao().compareTo(parcelas.get(parcelas.size() - 2).amortizacao()) < 0);
+    }
+
+    @Test
+    void bulletDevePagarSoJurosAteAUltimaParcela() {
+        List<SimulacaoResponse> linhas = motor.calcular(request(36, SistemaAmortizacao.BULLET));
+        List<SimulacaoResponse> parcelas = parcelas(linhas);
+
+        for (SimulacaoResponse linha : parcelas.subList(0, parcelas.size() - 1)) {
+            Assertions.assertEquals(new BigDecimal("0.00"), linha.amortizacao());
+            Assertions.assertEquals(VALOR, linha.saldo());
+        }
+        SimulacaoResponse ultima = parcelas.get(parcelas.size() - 1);
+        Assertions.assertEquals(VALOR, ultima.amortizacao());
+        Assertions.assertEquals(0, ultima.saldo().signum());
+        BigDecimal juros = linhas.stream().map(SimulacaoResponse::provisao).reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal pago = parcelas.stream().map(SimulacaoResponse::total).reduce(BigDecimal.ZERO, BigDecimal::add);
+        Assertions.assertEquals(VALOR.add(juros), pago);
+    }
+
+    @Test
+    void priceDeveRecalcularAParcelaDepoisDeUmaAmortizacaoExtraordinaria() {
+        SimulacaoRequest request = request(120, SistemaAmortizacao.PRICE);
+        SimulacaoEventosService eventos = new SimulacaoEventosServiceImpl(
+                fatorJurosCache, linhaDoTempoCache, metricas, registry, DataSize.ofMegabytes(16));
+        LocalDate dataDoEvento = parcelas(motor.calcular(request)).get(23).data().plusDays(3);
+
+        List<SimulacaoResponse> linhas = eventos.calcular(request, List.of(new EventoContrato(
+                EventoContrato.Tipo.AMORTIZACAO_EXTRAORDINARIA, dataDoEvento, new BigDecimal("30000"), null)));
+        List<SimulacaoResponse> parcelas = parcelas(linhas);
+
+        BigDecimal antes = parcelas.get(23).total();
+        BigDecimal depois = parcelas.get(25).total();
+        Assertions.assertTrue(depois.compareTo(antes) < 0);
+        for (SimulacaoResponse linha : parcelas.subList(25, parcelas.size() - 1)) {
+            Assertions.assertEquals(depois, linha.total(), "Parcela " + linha.consolidada());
+        }
+        Assertions.assertEquals(0, linhas.get(linhas.size() - 1).saldo().signum());
+    }
+
+    private static List<SimulacaoResponse> parcelas(List<SimulacaoResponse> linhas) {
+        return linhas.stream().filter(linha -> !linha.consolidada().isEmpty()).toList();
+    }
+
+    private static SimulacaoRequest request(int prazo, SistemaAmortizacao sistema) {
+        return new SimulacaoRequest(DATA_INICIAL, DATA_INICIAL.plusMonths(prazo), DATA_INICIAL.plusMonths(1).plusDays(5),
+                VALOR, new BigDecimal("9.5"), sistema);
+    }
+
+    private static SimulacaoRequest com(SimulacaoRequest request, SistemaAmortizacao sistema) {
+        return new SimulacaoRequest(request.dataInicial(), request.dataFinal(), request.primeiroPagamento(),
+                request.valorEmprestimo(), request.taxaJuros(), sistema);
+    }
+}
@@ -0,0 +1,151 @@
+package com.izepon.calculadora_emprestimo.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.izepon.calculadora_emprestimo.dto.CarteiraResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.service.AgregacaoCarteiraService;
+import com.izepon.calculadora_emprestimo.service.ArquivoSimulacoesService;
+import com.izepon.calculadora_emprestimo.service.CalculadoraEmprestimoService;
+import com.izepon.calculadora_emprestimo.service.CenariosService;
+import com.izepon.calculadora_emprestimo.service.SimulacaoEventosService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+@WebFluxTest(CalculadoraEmprestimoReativoController.class)
+public class CalculadoraEmprestimoReativoControllerTest {
+
+    private static final SimulacaoRequest REQUEST = new SimulacaoRequest(
+            LocalDate.of(2024, 1, 1),
+            LocalDate.of(2024, 12, 1),
+            LocalDate.of(2024, 1, 31),
+            new BigDecimal("10000"),
+            new BigDecimal("0.02"));
+    private static final String URL_TESTE = "/api/calculadora-emprestimo/calcular";
+    private static final String URL_STREAM = "/api/calculadora-emprestimo/calcular/stream";
+    private static final String URL_CARTEIRA = "/api/calculadora-emprestimo/carteira";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private CalculadoraEmprestimoService service;
+
+    @MockitoBean
+    private SimulacaoEventosService eventosService;
+
+    @MockitoBean
+    private AgregacaoCarteiraService carteiraService;
+
+    @MockitoBean
+    private CenariosService cenariosService;
+
+    @MockitoBean
+    private ArquivoSimulacoesService arquivoSimulacoes;
+
+    @Test
+    public void deveRetornarAsLinhasComoListaJson() {
+        Mockito.when(service.calcular(Mockito.eq(REQUEST))).thenReturn(List.of(linha(1), linha(2)));
+
+        webTestClient.post().uri(URL_TESTE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(REQUEST)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].consolidada").isEqualTo("2/2");
+    }
+
+    @Test
+    public void deveCalcularAsLinhasSobDemanda() {
+        AtomicInteger geradas = new AtomicInteger();
+        Mockito.when(service.calcularEmStream(Mockito.eq(REQUEST)))
+                .thenReturn(Stream.iterate(1, i -> i + 1).map(i -> linha(geradas.incrementAndGet())));
+
+        StepVerifier.create(webTestClient.post().uri(URL_STREAM)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(REQUEST)
+                        .exchange()
+                        .expectStatus().isOk()
+                        .returnResult(SimulacaoResponse.class)
+                        .getResponseBody()
+                        .take(3))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        // Um stream infinito só termina porque o cálculo acompanha a demanda do cliente.
+        Assertions.assertTrue(geradas.get() < 10_000, "linhas geradas: " + geradas.get());
+    }
+
+    @Test
+    public void deveContarLinhaIlegivelDaCarteiraComoFalha() throws Exception {
+        String corpo = objectMapper.writeValueAsString(REQUEST) + "\nnão é json\n\n"
+                + objectMapper.writeValueAsString(REQUEST) + "\n";
+        Mockito.when(carteiraService.agregar(Mockito.any())).thenAnswer(invocacao -> {
+            Iterator<SimulacaoRequest> requests = invocacao.getArgument(0);
+            long contratos = 0;
+            long falhas = 0;
+            while (requests.hasNext()) {
+                SimulacaoRequest lida = requests.next();
+                if (lida == null) {
+                    falhas++;
+                } else {
+                    Assertions.assertEquals(REQUEST, lida);
+                    contratos++;
+                }
+            }
+            return new CarteiraResponse(contratos, falhas, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                    BigDecimal.ZERO, List.of());
+        });
+
+        webTestClient.post().uri(URL_CARTEIRA)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(corpo)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.contratos").isEqualTo(2)
+                .jsonPath("$.falhas").isEqualTo(1);
+    }
+
+    @Test
+    public void deveRetornar400QuandoCorpoInvalido() {
+        webTestClient.post().uri(URL_TESTE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{ \"dataInicial\": \"2024-01-01\" }")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private static SimulacaoResponse linha(int parcela) {
+        return new SimulacaoResponse(
+                REQUEST.dataInicial().plusMonths(parcela),
+                BigDecimal.ZERO,
+                BigDecimal.ZERO,
+                parcela + "/2",
+                BigDecimal.ONE,
+                BigDecimal.ONE,
+                BigDecimal.ZERO,
+                BigDecimal.ZERO,
+                BigDecimal.ZERO,
+                BigDecimal.ONE);
+    }
+}
@@ -0,0 +1,35 @@
+package com.izepon.calculadora_emprestimo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Equivalente reativo do {@link GatewayConfig}. Também fixa o Netty como servidor, já que o Tomcat
+ * do Spring MVC continua no classpath e seria escolhido primeiro.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class GatewayReativoConfig {
+
+    @Bean
+    public WebFluxConfigurer gatewayReativoConfigurer() {
+        return new WebFluxConfigurer() {
+            @Override
+            public void addCorsMappings(CorsRegistry registry) {
+                registry.addMapping("/api/calculadora-emprestimo/**")
+                        .allowedMethods("POST", "OPTIONS")
+                        .allowedHeaders("*")
+                        .allowedOrigins("*");
+            }
+        };
+    }
+
+    @Bean
+    public NettyReactiveWebServerFactory servidorNetty() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,170 @@
+package com.izepon.calculadora_emprestimo.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.izepon.calculadora_emprestimo.dto.CarteiraResponse;
+import com.izepon.calculadora_emprestimo.dto.CenariosRequest;
+import com.izepon.calculadora_emprestimo.dto.CenariosResponse;
+import com.izepon.calculadora_emprestimo.dto.Cronograma;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoArquivada;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoEventosRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoLoteResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoRequest;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResponse;
+import com.izepon.calculadora_emprestimo.dto.SimulacaoResumo;
+import com.izepon.calculadora_emprestimo.service.AgregacaoCarteiraService;
+import com.izepon.calculadora_emprestimo.service.ArquivoSimulacoesService;
+import com.izepon.calculadora_emprestimo.service.CalculadoraEmprestimoService;
+import com.izepon.calculadora_emprestimo.service.CenariosService;
+import com.izepon.calculadora_emprestimo.service.SimulacaoEventosService;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Versão não bloqueante do {@link CalculadoraEmprestimoController}, com os mesmos caminhos, ativa quando a
+ * aplicação sobe na pilha reativa (perfil {@code webflux} do pom).
+ * <p>
+ * No {@code /calcular/stream} as linhas saem do stream sob demanda do serviço: só são calculadas quando o
+ * cliente pede mais, então um cliente lento segura o cálculo, não uma thread. Como o WebFlux descarrega a
+ * resposta a cada elemento de um tipo de streaming, as linhas são agrupadas em blocos de NDJSON, como no
+ * controller bloqueante. O {@code /calcular} devolve a lista inteira de uma vez: um {@code Flux} ali custaria
+ * a codificação do JSON elemento a elemento sem ganho para o cliente, que só lê o array completo.
+ * Os cálculos rodam no scheduler {@code parallel} para não ocupar as threads de I/O do Netty.
+ */
+@RestController
+@RequestMapping("/api/calculadora-emprestimo")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class CalculadoraEmprestimoReativoController {
+
+    static final String CABECALHO_ID_SIMULACAO = "X-Simulacao-Id";
+    private static final int LINHAS_POR_FLUSH = 64;
+    private static final int BYTES_POR_LINHA = 256;
+
+    private final CalculadoraEmprestimoService service;
+    private final SimulacaoEventosService eventosService;
+    private final AgregacaoCarteiraService carteiraService;
+    private final CenariosService cenariosService;
+    private final ArquivoSimulacoesService arquivoSimulacoes;
+    private final ObjectWriter linhaWriter;
+    private final ObjectReader requestReader;
+
+    public CalculadoraEmprestimoReativoController(CalculadoraEmprestimoService service,
+                                                  SimulacaoEventosService eventosService,
+                                                  AgregacaoCarteiraService carteiraService,
+                                                  CenariosService cenariosService,
+                                                  ArquivoSimulacoesService arquivoSimulacoes, ObjectMapper objectMapper) {
+        this.service = service;
+        this.eventosService = eventosService;
+        this.carteiraService = carteiraService;
+        this.cenariosService = cenariosService;
+        this.arquivoSimulacoes = arquivoSimulacoes;
+        this.linhaWriter = objectMapper.writerFor(SimulacaoResponse.class);
+        this.requestReader = objectMapper.readerFor(SimulacaoRequest.class);
+    }
+
+    @PostMapping("/calcular")
+    public Mono<ResponseEntity<List<SimulacaoResponse>>> calcular(@Valid @RequestBody Mono<SimulacaoRequest> request) {
+        return request.publishOn(Schedulers.parallel()).map(this::calcularEArquivar);
+    }
+
+    @GetMapping("/simulacoes/{id}")
+    public Mono<ResponseEntity<SimulacaoArquivada>> buscarSimulacao(@PathVariable long id) {
+        // A consulta lê o arquivo de simulações, então fica no scheduler de tarefas bloqueantes.
+        return Mono.fromCallable(() -> ResponseEntity.of(arquivoSimulacoes.buscar(id)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @PostMapping(value = "/calcular/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DataBuffer> calcularEmStream(@Valid @RequestBody Mono<SimulacaoRequest> request,
+                                            ServerWebExchange exchange) {
+        DataBufferFactory fabrica = exchange.getResponse().bufferFactory();
+        return request.flatMapMany(this::linhas)
+                .buffer(LINHAS_POR_FLUSH)
+                .map(bloco -> escreverBloco(bloco, fabrica));
+    }
+
+    @PostMapping("/calcular/colunar")
+    public Mono<Cronograma> calcularCronograma(@Valid @RequestBody Mono<SimulacaoRequest> request) {
+        return request.publishOn(Schedulers.parallel()).map(service::calcularCronograma);
+    }
+
+    @PostMapping("/calcular/resumo")
+    public Mono<SimulacaoResumo> calcularResumo(@Valid @RequestBody Mono<SimulacaoRequest> request) {
+        return request.publishOn(Schedulers.parallel()).map(service::calcularResumo);
+    }
+
+    @PostMapping("/calcular/eventos")
+    public Mono<List<SimulacaoResponse>> calcularComEventos(@Valid @RequestBody Mono<SimulacaoEventosRequest> request) {
+        return request.publishOn(Schedulers.parallel())
+                .map(eventos -> eventosService.calcular(eventos.simulacao(), eventos.eventos()));
+    }
+
+    @PostMapping("/calcular/cenarios")
+    public Mono<CenariosResponse> calcularCenarios(@Valid @RequestBody Mono<CenariosRequest> request) {
+        // As células são calculadas no pool do lote e esta thread espera o resultado, como no lote.
+        return request.publishOn(Schedulers.boundedElastic()).map(cenariosService::calcular);
+    }
+
+    @PostMapping("/lote")
+    public Mono<List<SimulacaoLoteResponse>> calcularLote(@RequestBody Mono<List<SimulacaoRequest>> requests) {
+        // O lote espera o próprio ForkJoinPool terminar, então fica no scheduler de tarefas bloqueantes.
+        return requests.publishOn(Schedulers.boundedElastic()).map(service::calcularLote);
+    }
+
+    @PostMapping(value = "/carteira", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<CarteiraResponse> agregarCarteira(@RequestBody Flux<String> linhas) {
+        // A agregação puxa as linhas pelo iterador bloqueante, com a demanda limitada ao que ela consome.
+        return Mono.fromCallable(() -> carteiraService.agregar(
+                        new SimulacoesNdjson(linhas.toIterable().iterator(), requestReader)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private ResponseEntity<List<SimulacaoResponse>> calcularEArquivar(SimulacaoRequest request) {
+        List<SimulacaoResponse> resultado = service.calcular(request);
+        long id = arquivoSimulacoes.registrar(request, resultado);
+        if (id == ArquivoSimulacoesService.SEM_ID) {
+            return ResponseEntity.ok(resultado);
+        }
+        return ResponseEntity.ok().header(CABECALHO_ID_SIMULACAO, Long.toString(id)).body(resultado);
+    }
+
+    private Flux<SimulacaoResponse> linhas(SimulacaoRequest request) {
+        return Flux.fromStream(() -> service.calcularEmStream(request))
+                .subscribeOn(Schedulers.parallel());
+    }
+
+    private DataBuffer escreverBloco(List<SimulacaoResponse> bloco, DataBufferFactory fabrica) {
+        DataBuffer buffer = fabrica.allocateBuffer(bloco.size() * BYTES_POR_LINHA);
+        try (OutputStream saida = buffer.asOutputStream()) {
+            for (SimulacaoResponse linha : bloco) {
+                saida.write(linhaWriter.writeValueAsBytes(linha));
+                saida.write('\n');
+            }
+            return buffer;
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            throw new UncheckedIOException(e);
+        }
+    }
+}